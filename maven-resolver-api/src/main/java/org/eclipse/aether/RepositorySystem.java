@@ -130,6 +130,38 @@ public interface RepositorySystem
     CollectResult collectDependencies( RepositorySystemSession session, CollectRequest request )
         throws DependencyCollectionException;
 
+    /**
+     * Collects the transitive dependencies of an artifact and builds a dependency graph, reusing unchanged parts of the
+     * graph from a previous collection. Subtrees of the previous graph are reused where the artifact, repositories and
+     * the derived dependency selector, manager, traverser and version filter of a node are equal to those of the new
+     * collection, all other subtrees are collected anew. This is meant for clients that repeatedly collect the same
+     * project with small edits in between.
+     * <p>
+     * The descriptors of the artifacts within a reused subtree are not read again. Subtrees containing snapshots or
+     * dependencies with version ranges are therefore never reused, but changes to the descriptor of a release version,
+     * e.g. an edited workspace artifact with a release version, are only picked up by a regular collection. Apart
+     * from that, the result is equivalent to a regular collection.
+     * <p>
+     * Only results produced by this method can serve as previous result for subsequent calls, results from
+     * {@link #collectDependencies(RepositorySystemSession, CollectRequest)} are not retained and lead to a full
+     * collection.
+     * 
+     * @param session The repository session, must not be {@code null}.
+     * @param request The collection request, must not be {@code null}.
+     * @param previousResult The result of a previous collection for the same project, may be {@code null} to perform a
+     *            full collection whose result can be used for later incremental collections.
+     * @return The collection result, never {@code null}.
+     * @throws DependencyCollectionException If the dependency tree could not be built.
+     * @see #collectDependencies(RepositorySystemSession, CollectRequest)
+     * @since 1.7.3
+     */
+    default CollectResult collectDependencies( RepositorySystemSession session, CollectRequest request,
+                                               CollectResult previousResult )
+        throws DependencyCollectionException
+    {
+        return collectDependencies( session, request );
+    }
+
     /**
      * Collects and resolves the transitive dependencies of an artifact. This operation is essentially a combination of
      * {@link #collectDependencies(RepositorySystemSession, CollectRequest)} and
@@ -276,4 +308,18 @@ public interface RepositorySystem
      */
     RemoteRepository newDeploymentRepository( RepositorySystemSession session, RemoteRepository repository );
 
+    /**
+     * Closes the repository connectors kept open for reuse by the specified session and the sessions sharing its
+     * session data. Connectors are only kept open if pooling is enabled via the configuration property
+     * {@code aether.connector.pool}, callers that enable pooling should invoke this method once they are done with the
+     * session. The session can still be used afterwards, new connectors are created as needed.
+     * 
+     * @param session The repository system session whose connectors should be closed, must not be {@code null}.
+     * @since 1.7.3
+     */
+    default void closeRepositoryConnectors( RepositorySystemSession session )
+    {
+        // nothing kept open by default
+    }
+
 }
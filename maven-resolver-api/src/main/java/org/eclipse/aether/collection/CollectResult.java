@@ -44,6 +44,8 @@ public final class CollectResult
 
     private DependencyNode root;
 
+    private CollectStats stats;
+
     /**
      * Creates a new result for the specified request.
      *
@@ -146,6 +148,29 @@ public final class CollectResult
         return this;
     }
 
+    /**
+     * Gets the counters and timers recorded while collecting the dependency graph. Stats are only recorded if enabled
+     * by the repository system, e.g. via its configuration or because some component consumes them.
+     * 
+     * @return The collection stats or {@code null} if none were recorded.
+     */
+    public CollectStats getStats()
+    {
+        return stats;
+    }
+
+    /**
+     * Sets the counters and timers recorded while collecting the dependency graph.
+     * 
+     * @param stats The collection stats, may be {@code null}.
+     * @return This result for chaining, never {@code null}.
+     */
+    public CollectResult setStats( CollectStats stats )
+    {
+        this.stats = stats;
+        return this;
+    }
+
     @Override
     public String toString()
     {
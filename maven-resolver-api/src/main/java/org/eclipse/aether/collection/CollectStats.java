@@ -0,0 +1,161 @@
+package org.eclipse.aether.collection;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Counters and timers recorded while collecting a dependency graph. Besides the well-known metrics named by the
+ * constants of this class, the timers also hold the times reported by the individual graph transformers, keyed by the
+ * transformer's name. All times are given in nanoseconds.
+ *
+ * @see CollectResult#getStats()
+ */
+public final class CollectStats
+{
+
+    /**
+     * The counter/timer for artifact descriptors that were read, i.e. not served from the collector's cache.
+     */
+    public static final String DESCRIPTOR_READS = "descriptorReads";
+
+    /**
+     * The counter for artifact descriptors served from the collector's cache.
+     */
+    public static final String DESCRIPTOR_CACHE_HITS = "descriptorCacheHits";
+
+    /**
+     * The counter/timer for version ranges that were resolved, i.e. not served from the collector's cache.
+     */
+    public static final String RANGE_RESOLUTIONS = "rangeResolutions";
+
+    /**
+     * The counter for version ranges served from the collector's cache.
+     */
+    public static final String RANGE_CACHE_HITS = "rangeCacheHits";
+
+    /**
+     * The counter for subtrees that were reused from the collector's graph cache.
+     */
+    public static final String GRAPH_CACHE_HITS = "graphCacheHits";
+
+    /**
+     * The counter for subtrees that had to be expanded because they were missing from the collector's graph cache.
+     */
+    public static final String GRAPH_CACHE_MISSES = "graphCacheMisses";
+
+    /**
+     * The counter for dependency nodes created during collection.
+     */
+    public static final String NODES = "nodes";
+
+    /**
+     * The counter for dependency cycles encountered during collection, including those beyond the reporting limit.
+     */
+    public static final String CYCLES = "cycles";
+
+    /**
+     * The timer for the construction of the dirty graph.
+     */
+    public static final String COLLECT = "collect";
+
+    /**
+     * The timer for the graph transformation.
+     */
+    public static final String TRANSFORM = "transform";
+
+    private final Map<String, Long> counters;
+
+    private final Map<String, Long> timers;
+
+    /**
+     * Creates new stats from the specified counters and timers.
+     *
+     * @param counters The counters, may be {@code null}.
+     * @param timers The timers in nanoseconds, may be {@code null}.
+     */
+    public CollectStats( Map<String, Long> counters, Map<String, Long> timers )
+    {
+        this.counters = copy( counters );
+        this.timers = copy( timers );
+    }
+
+    private static Map<String, Long> copy( Map<String, Long> map )
+    {
+        if ( map == null || map.isEmpty() )
+        {
+            return Collections.emptyMap();
+        }
+        return Collections.unmodifiableMap( new LinkedHashMap<>( map ) );
+    }
+
+    /**
+     * Gets the counters.
+     *
+     * @return The (read-only) counters, never {@code null}.
+     */
+    public Map<String, Long> getCounters()
+    {
+        return counters;
+    }
+
+    /**
+     * Gets the value of the specified counter.
+     *
+     * @param name The name of the counter, may be {@code null}.
+     * @return The value of the counter or {@code 0} if it was not recorded.
+     */
+    public long getCounter( String name )
+    {
+        Long value = counters.get( name );
+        return ( value != null ) ? value : 0L;
+    }
+
+    /**
+     * Gets the timers.
+     *
+     * @return The (read-only) timers in nanoseconds, never {@code null}.
+     */
+    public Map<String, Long> getTimers()
+    {
+        return timers;
+    }
+
+    /**
+     * Gets the value of the specified timer.
+     *
+     * @param name The name of the timer, may be {@code null}.
+     * @return The time in nanoseconds or {@code 0} if it was not recorded.
+     */
+    public long getTime( String name )
+    {
+        Long value = timers.get( name );
+        return ( value != null ) ? value : 0L;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "counters=" + counters + ", timers=" + timers;
+    }
+
+}
@@ -45,6 +45,8 @@ public final class TransferResource
 
     private long resumeOffset;
 
+    private long connectTime;
+
     /**
      * Creates a new transfer resource with the specified properties.
      *
@@ -218,6 +220,35 @@ public final class TransferResource
         return this;
     }
 
+    /**
+     * Gets the time spent to establish a new connection for the transfer of this resource, including any name
+     * resolution and TLS handshake. Like the content length, this time is generally not known until the transfer has
+     * {@link TransferListener#transferStarted(TransferEvent) started}.
+     *
+     * @return The connection setup time in milliseconds or {@code 0} if an existing connection was reused or the time
+     *         is unknown.
+     */
+    public long getConnectTime()
+    {
+        return connectTime;
+    }
+
+    /**
+     * Sets the time spent to establish a new connection for the transfer of this resource.
+     *
+     * @param connectTime The connection setup time in milliseconds or {@code 0} if unknown, must not be negative.
+     * @return This resource for chaining, never {@code null}.
+     */
+    public TransferResource setConnectTime( long connectTime )
+    {
+        if ( connectTime < 0L )
+        {
+            throw new IllegalArgumentException( "connect time cannot be negative" );
+        }
+        this.connectTime = connectTime;
+        return this;
+    }
+
     /**
      * Gets the timestamp when the transfer of this resource was started.
      *
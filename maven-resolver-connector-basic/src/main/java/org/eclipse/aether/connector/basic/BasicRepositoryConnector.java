@@ -26,17 +26,20 @@ import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executor;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.LinkedBlockingQueue;
-import java.util.concurrent.ThreadPoolExecutor;
-import java.util.concurrent.TimeUnit;
 
 import org.eclipse.aether.ConfigurationProperties;
 import org.eclipse.aether.RepositorySystemSession;
@@ -47,6 +50,7 @@ import org.eclipse.aether.spi.connector.ArtifactUpload;
 import org.eclipse.aether.spi.connector.MetadataDownload;
 import org.eclipse.aether.spi.connector.MetadataUpload;
 import org.eclipse.aether.spi.connector.RepositoryConnector;
+import org.eclipse.aether.spi.connector.checksum.ChecksumAlgorithmFactory;
 import org.eclipse.aether.spi.connector.checksum.ChecksumPolicy;
 import org.eclipse.aether.spi.connector.checksum.ChecksumPolicyProvider;
 import org.eclipse.aether.spi.connector.layout.RepositoryLayout;
@@ -61,13 +65,13 @@ import org.eclipse.aether.transfer.ChecksumFailureException;
 import org.eclipse.aether.transfer.NoRepositoryConnectorException;
 import org.eclipse.aether.transfer.NoRepositoryLayoutException;
 import org.eclipse.aether.transfer.NoTransporterException;
+import org.eclipse.aether.transfer.TransferCancelledException;
 import org.eclipse.aether.transfer.TransferEvent;
 import org.eclipse.aether.transfer.TransferResource;
 import org.eclipse.aether.transform.FileTransformer;
 import org.eclipse.aether.util.ChecksumUtils;
 import org.eclipse.aether.util.ConfigUtils;
 import org.eclipse.aether.util.concurrency.RunnableErrorForwarder;
-import org.eclipse.aether.util.concurrency.WorkerThreadFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -79,14 +83,60 @@ final class BasicRepositoryConnector
 
     private static final String CONFIG_PROP_THREADS = "aether.connector.basic.threads";
 
+    static final String CONFIG_PROP_MAX_TRANSFERS = "aether.connector.basic.maxTransfers";
+
+    private static final int DEFAULT_MAX_TRANSFERS = 50;
+
+    static final String CONFIG_PROP_MAX_TRANSFERS_PER_HOST = "aether.connector.basic.maxTransfersPerHost";
+
+    private static final int DEFAULT_MAX_TRANSFERS_PER_HOST = 20;
+
     private static final String CONFIG_PROP_RESUME = "aether.connector.resumeDownloads";
 
     private static final String CONFIG_PROP_RESUME_THRESHOLD = "aether.connector.resumeThreshold";
 
     private static final String CONFIG_PROP_SMART_CHECKSUMS = "aether.connector.smartChecksums";
 
+    static final String CONFIG_PROP_SINGLE_FLIGHT = "aether.connector.basic.singleFlight";
+
+    static final String CONFIG_PROP_SKIP_IDENTICAL_UPLOADS = "aether.connector.skipIdenticalUploads";
+
+    static final String CONFIG_PROP_PARALLEL_CHECKSUM_THRESHOLD = "aether.connector.basic.parallelChecksumThreshold";
+
+    private static final long DEFAULT_PARALLEL_CHECKSUM_THRESHOLD = 8L * 1024L * 1024L;
+
+    /**
+     * The checksum algorithms which are trusted to detect identical remote content, in order of preference.
+     */
+    private static final String[] IDENTITY_ALGORITHMS = { "SHA-256", "SHA-1" };
+
+    /**
+     * The extensions of artifacts that are usually small and needed to proceed with the resolution, like POMs, or to
+     * complete other transfers, like signatures and checksums.
+     */
+    private static final Set<String> SMALL_EXTENSIONS =
+        new HashSet<>( Arrays.asList( "pom", "asc", "md5", "sha1", "sha256", "sha512" ) );
+
+    /**
+     * The number of distinct values returned by {@link #getSizeClass(ArtifactDownload)}.
+     */
+    private static final int SIZE_CLASSES = 3;
+
+    /**
+     * The order in which artifact downloads are handed to the executor, i.e. by their rank. Downloads of equal rank
+     * retain their request order. The scheduler orders the pending downloads of a session by the same rank.
+     */
+    private static final Comparator<ArtifactDownload> DOWNLOAD_ORDER =
+        Comparator.comparingLong( BasicRepositoryConnector::getRank );
+
     private static final Logger LOGGER = LoggerFactory.getLogger( BasicRepositoryConnector.class );
 
+    /**
+     * The downloads currently performed by any connector of this JVM, concurrent requests for the same download join
+     * the transfer in flight instead of starting their own.
+     */
+    private static final ConcurrentMap<Object, CompletableFuture<Void>> IN_FLIGHT = new ConcurrentHashMap<>();
+
     private final FileProcessor fileProcessor;
 
     private final RemoteRepository repository;
@@ -99,21 +149,36 @@ final class BasicRepositoryConnector
 
     private final ChecksumPolicyProvider checksumPolicyProvider;
 
+    private final Map<String, ChecksumAlgorithmFactory> checksumAlgorithmFactories;
+
     private final PartialFile.Factory partialFileFactory;
 
+    private final TransferScheduler scheduler;
+
     private final int maxThreads;
 
+    private final int maxTransfers;
+
+    private final int maxTransfersPerHost;
+
     private final boolean smartChecksums;
 
     private final boolean persistedChecksums;
 
-    private Executor executor;
+    private final boolean skipIdenticalUploads;
+
+    private final boolean singleFlight;
+
+    private final long parallelChecksumThreshold;
 
     private boolean closed;
 
+    @SuppressWarnings( "checkstyle:parameternumber" )
     BasicRepositoryConnector( RepositorySystemSession session, RemoteRepository repository,
                                      TransporterProvider transporterProvider, RepositoryLayoutProvider layoutProvider,
-                                     ChecksumPolicyProvider checksumPolicyProvider, FileProcessor fileProcessor )
+                                     ChecksumPolicyProvider checksumPolicyProvider,
+                                     Map<String, ChecksumAlgorithmFactory> checksumAlgorithmFactories,
+                                     FileProcessor fileProcessor, TransferScheduler scheduler )
         throws NoRepositoryConnectorException
     {
         try
@@ -133,16 +198,27 @@ final class BasicRepositoryConnector
             throw new NoRepositoryConnectorException( repository, e.getMessage(), e );
         }
         this.checksumPolicyProvider = checksumPolicyProvider;
+        this.checksumAlgorithmFactories = checksumAlgorithmFactories;
 
         this.session = session;
         this.repository = repository;
         this.fileProcessor = fileProcessor;
+        this.scheduler = scheduler;
 
         maxThreads = ConfigUtils.getInteger( session, 5, CONFIG_PROP_THREADS, "maven.artifact.threads" );
+        maxTransfers = ConfigUtils.getInteger( session, DEFAULT_MAX_TRANSFERS, CONFIG_PROP_MAX_TRANSFERS );
+        maxTransfersPerHost = ConfigUtils.getInteger( session, DEFAULT_MAX_TRANSFERS_PER_HOST,
+                                                   CONFIG_PROP_MAX_TRANSFERS_PER_HOST );
         smartChecksums = ConfigUtils.getBoolean( session, true, CONFIG_PROP_SMART_CHECKSUMS );
         persistedChecksums =
             ConfigUtils.getBoolean( session, ConfigurationProperties.DEFAULT_PERSISTED_CHECKSUMS,
                                     ConfigurationProperties.PERSISTED_CHECKSUMS );
+        singleFlight = ConfigUtils.getBoolean( session, false, CONFIG_PROP_SINGLE_FLIGHT );
+        parallelChecksumThreshold = ConfigUtils.getLong( session, DEFAULT_PARALLEL_CHECKSUM_THRESHOLD,
+                                                         CONFIG_PROP_PARALLEL_CHECKSUM_THRESHOLD );
+        skipIdenticalUploads =
+            ConfigUtils.getBoolean( session, false, CONFIG_PROP_SKIP_IDENTICAL_UPLOADS + '.' + repository.getId(),
+                                    CONFIG_PROP_SKIP_IDENTICAL_UPLOADS );
 
         boolean resumeDownloads =
             ConfigUtils.getBoolean( session, true, CONFIG_PROP_RESUME + '.' + repository.getId(), CONFIG_PROP_RESUME );
@@ -156,26 +232,14 @@ final class BasicRepositoryConnector
         partialFileFactory = new PartialFile.Factory( resumeDownloads, resumeThreshold, requestTimeout );
     }
 
-    private Executor getExecutor( Collection<?> artifacts, Collection<?> metadatas )
+    private TransferScheduler.ClientExecutor getExecutor( Collection<?> artifacts, Collection<?> metadatas )
     {
-        if ( maxThreads <= 1 )
-        {
-            return DirectExecutor.INSTANCE;
-        }
         int tasks = safe( artifacts ).size() + safe( metadatas ).size();
-        if ( tasks <= 1 )
+        if ( maxThreads <= 1 || tasks <= 1 )
         {
-            return DirectExecutor.INSTANCE;
+            return scheduler.newInlineExecutor( session, repository.getHost(), maxTransfersPerHost, maxTransfers );
         }
-        if ( executor == null )
-        {
-            executor =
-                new ThreadPoolExecutor( maxThreads, maxThreads, 3L, TimeUnit.SECONDS,
-                                        new LinkedBlockingQueue<Runnable>(),
-                                        new WorkerThreadFactory( getClass().getSimpleName() + '-'
-                                            + repository.getHost() + '-' ) );
-        }
-        return executor;
+        return scheduler.newExecutor( session, repository.getHost(), maxThreads, maxTransfersPerHost, maxTransfers );
     }
 
     @Override
@@ -197,10 +261,6 @@ final class BasicRepositoryConnector
         if ( !closed )
         {
             closed = true;
-            if ( executor instanceof ExecutorService )
-            {
-                ( (ExecutorService) executor ).shutdown();
-            }
             transporter.close();
         }
     }
@@ -213,7 +273,7 @@ final class BasicRepositoryConnector
             throw new IllegalStateException( "connector closed" );
         }
 
-        Executor executor = getExecutor( artifactDownloads, metadataDownloads );
+        TransferScheduler.ClientExecutor executor = getExecutor( artifactDownloads, metadataDownloads );
         RunnableErrorForwarder errorForwarder = new RunnableErrorForwarder();
 
         for ( MetadataDownload transfer : safe( metadataDownloads ) )
@@ -231,11 +291,13 @@ final class BasicRepositoryConnector
                 checksums = layout.getChecksums( transfer.getMetadata(), false, location );
             }
 
-            Runnable task = new GetTaskRunner( location, transfer.getFile(), checksumPolicy, checksums, listener );
-            executor.execute( errorForwarder.wrap( task ) );
+            Runnable task = new GetTaskRunner( location, transfer.getFile(), checksumPolicy, checksums, listener,
+                                               getFlightKey( location, transfer.getFile(),
+                                                             transfer.getChecksumPolicy() ) );
+            executor.execute( errorForwarder.wrap( task ), getRank( 0, 0 ) );
         }
 
-        for ( ArtifactDownload transfer : safe( artifactDownloads ) )
+        for ( ArtifactDownload transfer : sort( artifactDownloads ) )
         {
             URI location = layout.getLocation( transfer.getArtifact(), false );
 
@@ -257,9 +319,11 @@ final class BasicRepositoryConnector
                     checksums = layout.getChecksums( transfer.getArtifact(), false, location );
                 }
 
-                task = new GetTaskRunner( location, transfer.getFile(), checksumPolicy, checksums, listener );
+                task = new GetTaskRunner( location, transfer.getFile(), checksumPolicy, checksums, listener,
+                                          getFlightKey( location, transfer.getFile(),
+                                                        transfer.getChecksumPolicy() ) );
             }
-            executor.execute( errorForwarder.wrap( task ) );
+            executor.execute( errorForwarder.wrap( task ), getRank( transfer ) );
         }
 
         errorForwarder.await();
@@ -273,8 +337,22 @@ final class BasicRepositoryConnector
             throw new IllegalStateException( "connector closed" );
         }
 
+        List<PutTaskRunner> tasks = new ArrayList<>();
+        Set<ArtifactUpload> identicalUploads = Collections.emptySet();
+        if ( skipIdenticalUploads )
+        {
+            identicalUploads = findIdenticalUploads( safe( artifactUploads ) );
+        }
+
         for ( ArtifactUpload transfer : safe( artifactUploads ) )
         {
+            if ( identicalUploads.contains( transfer ) )
+            {
+                LOGGER.info( "Skipping upload of {} to {}, identical content already exists", transfer.getFile(),
+                             repository.getUrl() );
+                continue;
+            }
+
             URI location = layout.getLocation( transfer.getArtifact(), true );
 
             TransferResource resource = newTransferResource( location, transfer.getFile(), transfer.getTrace() );
@@ -283,9 +361,8 @@ final class BasicRepositoryConnector
 
             List<RepositoryLayout.Checksum> checksums = layout.getChecksums( transfer.getArtifact(), true, location );
 
-            Runnable task = new PutTaskRunner( location, transfer.getFile(), transfer.getFileTransformer(), checksums,
-                    listener );
-            task.run();
+            tasks.add( new PutTaskRunner( location, transfer.getFile(), transfer.getFileTransformer(), checksums,
+                    listener ) );
         }
 
         for ( MetadataUpload transfer : safe( metadataUploads ) )
@@ -298,9 +375,142 @@ final class BasicRepositoryConnector
 
             List<RepositoryLayout.Checksum> checksums = layout.getChecksums( transfer.getMetadata(), true, location );
 
-            Runnable task = new PutTaskRunner( location, transfer.getFile(), checksums, listener );
-            task.run();
+            tasks.add( new PutTaskRunner( location, transfer.getFile(), checksums, listener ) );
         }
+
+        upload( tasks );
+    }
+
+    /**
+     * Runs the specified uploads and reports their success only after the transporter published them, such that a
+     * failure to publish deferred uploads is reported for each of them.
+     */
+    private void upload( List<PutTaskRunner> tasks )
+    {
+        if ( tasks.isEmpty() )
+        {
+            return;
+        }
+        List<PutTaskRunner> uploaded = new ArrayList<>( tasks.size() );
+        for ( PutTaskRunner task : tasks )
+        {
+            if ( task.start() )
+            {
+                uploaded.add( task );
+            }
+        }
+        Exception error = null;
+        try
+        {
+            transporter.flush();
+        }
+        catch ( Exception e )
+        {
+            LOGGER.debug( "Failed to publish uploads to {}", repository.getUrl(), e );
+            error = e;
+        }
+        for ( PutTaskRunner task : uploaded )
+        {
+            task.finish( error );
+        }
+    }
+
+    /**
+     * Determines the uploads whose files are already present in the remote repository, by comparing the remote
+     * checksum with the checksum of the local file. The remote checksums are fetched in parallel.
+     */
+    private Set<ArtifactUpload> findIdenticalUploads( Collection<? extends ArtifactUpload> artifactUploads )
+    {
+        final Set<ArtifactUpload> identicalUploads =
+            Collections.newSetFromMap( new ConcurrentHashMap<ArtifactUpload, Boolean>() );
+
+        Executor executor = getExecutor( artifactUploads, null );
+        RunnableErrorForwarder errorForwarder = new RunnableErrorForwarder();
+
+        for ( final ArtifactUpload transfer : artifactUploads )
+        {
+            if ( transfer.getFileTransformer() != null || transfer.getFile() == null )
+            {
+                // transformed content is only known once the upload is performed
+                continue;
+            }
+
+            URI location = layout.getLocation( transfer.getArtifact(), true );
+            final RepositoryLayout.Checksum checksum =
+                getIdentityChecksum( layout.getChecksums( transfer.getArtifact(), true, location ) );
+            if ( checksum == null )
+            {
+                continue;
+            }
+
+            Runnable task = () ->
+            {
+                if ( isIdenticalToRemote( transfer.getFile(), checksum ) )
+                {
+                    identicalUploads.add( transfer );
+                }
+            };
+            executor.execute( errorForwarder.wrap( task ) );
+        }
+
+        errorForwarder.await();
+
+        return identicalUploads;
+    }
+
+    private static RepositoryLayout.Checksum getIdentityChecksum( List<RepositoryLayout.Checksum> checksums )
+    {
+        for ( String algorithm : IDENTITY_ALGORITHMS )
+        {
+            for ( RepositoryLayout.Checksum checksum : safe( checksums ) )
+            {
+                if ( algorithm.equalsIgnoreCase( checksum.getAlgorithm() ) )
+                {
+                    return checksum;
+                }
+            }
+        }
+        return null;
+    }
+
+    private boolean isIdenticalToRemote( File file, RepositoryLayout.Checksum checksum )
+    {
+        GetTask task = new GetTask( checksum.getLocation() );
+        try
+        {
+            transporter.get( task );
+        }
+        catch ( Exception e )
+        {
+            if ( transporter.classify( e ) != Transporter.ERROR_NOT_FOUND )
+            {
+                LOGGER.debug( "Failed to fetch remote checksum {}, uploading {}", checksum.getLocation(), file, e );
+            }
+            return false;
+        }
+
+        try
+        {
+            String expected = ChecksumUtils.parse( task.getDataString() );
+            Object actual = ChecksumUtils.calc( file, Collections.singleton( checksum.getAlgorithm() ) )
+                .get( checksum.getAlgorithm() );
+            return !( actual instanceof Exception ) && expected.equalsIgnoreCase( String.valueOf( actual ) );
+        }
+        catch ( IOException e )
+        {
+            LOGGER.debug( "Failed to compare {} with remote checksum {}", file, checksum.getLocation(), e );
+            return false;
+        }
+    }
+
+    private Object getFlightKey( URI location, File file, String checksumPolicy )
+    {
+        if ( !singleFlight || file == null )
+        {
+            return null;
+        }
+        return Arrays.asList( repository.getUrl(), repository.getAuthentication(), repository.getProxy(), location,
+                              file.getAbsoluteFile(), checksumPolicy );
     }
 
     private static <T> Collection<T> safe( Collection<T> items )
@@ -308,6 +518,38 @@ final class BasicRepositoryConnector
         return ( items != null ) ? items : Collections.<T>emptyList();
     }
 
+    private static List<ArtifactDownload> sort( Collection<? extends ArtifactDownload> downloads )
+    {
+        List<ArtifactDownload> sorted = new ArrayList<>( safe( downloads ) );
+        sorted.sort( DOWNLOAD_ORDER );
+        return sorted;
+    }
+
+    /**
+     * Ranks downloads with higher priority first, then existence checks, then small files. Metadata ranks like an
+     * existence check of default priority.
+     */
+    private static long getRank( ArtifactDownload download )
+    {
+        return getRank( download.getPriority(), getSizeClass( download ) );
+    }
+
+    private static long getRank( int priority, int sizeClass )
+    {
+        return -(long) priority * SIZE_CLASSES + sizeClass;
+    }
+
+    private static int getSizeClass( ArtifactDownload download )
+    {
+        if ( download.isExistenceCheck() )
+        {
+            return 0;
+        }
+        String extension = download.getArtifact().getExtension();
+        extension = extension.substring( extension.lastIndexOf( '.' ) + 1 );
+        return SMALL_EXTENSIONS.contains( extension ) ? 1 : 2;
+    }
+
     private TransferResource newTransferResource( URI path, File file, RequestTrace trace )
     {
         return new TransferResource( repository.getId(), repository.getUrl(), path.toString(), file, trace );
@@ -357,16 +599,47 @@ final class BasicRepositoryConnector
         }
 
         public void run()
+        {
+            if ( start() )
+            {
+                finish( null );
+            }
+        }
+
+        /**
+         * Performs the task without reporting its success yet.
+         *
+         * @return {@code true} if the task succeeded, {@code false} if it failed and the failure was reported.
+         */
+        boolean start()
         {
             try
             {
                 listener.transferInitiated();
                 runTask();
-                listener.transferSucceeded();
+                return true;
             }
             catch ( Exception e )
             {
                 listener.transferFailed( e, transporter.classify( e ) );
+                return false;
+            }
+        }
+
+        /**
+         * Reports the outcome of a task that {@link #start() succeeded}.
+         *
+         * @param error The error that occurred after the task itself succeeded, {@code null} if none.
+         */
+        void finish( Exception error )
+        {
+            if ( error == null )
+            {
+                listener.transferSucceeded();
+            }
+            else
+            {
+                listener.transferFailed( error, transporter.classify( error ) );
             }
         }
 
@@ -401,11 +674,15 @@ final class BasicRepositoryConnector
 
         private final ChecksumValidator checksumValidator;
 
+        private final Object flightKey;
+
         GetTaskRunner( URI path, File file, ChecksumPolicy checksumPolicy,
-                              List<RepositoryLayout.Checksum> checksums, TransferTransportListener<?> listener )
+                              List<RepositoryLayout.Checksum> checksums, TransferTransportListener<?> listener,
+                              Object flightKey )
         {
             super( path, listener );
             this.file = requireNonNull( file, "destination file cannot be null" );
+            this.flightKey = flightKey;
             checksumValidator =
                 new ChecksumValidator( file, fileProcessor, this, checksumPolicy, safe( checksums ) );
         }
@@ -434,8 +711,64 @@ final class BasicRepositoryConnector
             return true;
         }
 
+        @SuppressWarnings( "checkstyle:innerassignment" )
         protected void runTask()
             throws Exception
+        {
+            if ( flightKey == null )
+            {
+                download();
+                return;
+            }
+
+            CompletableFuture<Void> flight = new CompletableFuture<>();
+            boolean checked = false;
+            for ( CompletableFuture<Void> inFlight; ( inFlight = IN_FLIGHT.putIfAbsent( flightKey, flight ) ) != null; )
+            {
+                if ( !checked )
+                {
+                    // the other requester might use different credentials, so ensure we can access the file as well
+                    checkRemoteAccess();
+                    checked = true;
+                }
+                LOGGER.debug( "Concurrent download of {} in progress, joining it", file );
+                try
+                {
+                    inFlight.get();
+                    return;
+                }
+                catch ( ExecutionException e )
+                {
+                    if ( !( e.getCause() instanceof TransferCancelledException ) )
+                    {
+                        throw (Exception) e.getCause();
+                    }
+                    // cancelled by the listener of the other requester, download on our own behalf
+                }
+            }
+
+            try
+            {
+                download();
+                flight.complete( null );
+            }
+            catch ( Exception e )
+            {
+                flight.completeExceptionally( e );
+                throw e;
+            }
+            finally
+            {
+                IN_FLIGHT.remove( flightKey, flight );
+                if ( !flight.isDone() )
+                {
+                    flight.completeExceptionally( new IllegalStateException( "Download of " + file + " failed" ) );
+                }
+            }
+        }
+
+        private void download()
+            throws Exception
         {
             fileProcessor.mkdirs( file.getParentFile() );
 
@@ -449,16 +782,31 @@ final class BasicRepositoryConnector
             try
             {
                 File tmp = partFile.getFile();
-                listener.setChecksumCalculator( checksumValidator.newChecksumCalculator( tmp ) );
+                ChecksumCalculator checksumCalculator =
+                    checksumValidator.newChecksumCalculator( tmp, checksumAlgorithmFactories,
+                                                             parallelChecksumThreshold );
+                listener.setChecksumCalculator( checksumCalculator );
                 for ( int firstTrial = 0, lastTrial = 1, trial = firstTrial;; trial++ )
                 {
                     boolean resume = partFile.isResume() && trial <= firstTrial;
                     GetTask task = new GetTask( path ).setDataFile( tmp, resume ).setListener( listener );
-                    transporter.get( task );
                     try
                     {
-                        checksumValidator.validate( listener.getChecksums(), smartChecksums ? task.getChecksums()
-                                        : null );
+                        transporter.get( task );
+                    }
+                    catch ( Exception e )
+                    {
+                        if ( checksumCalculator != null )
+                        {
+                            checksumCalculator.checkpoint();
+                        }
+                        throw e;
+                    }
+                    try
+                    {
+                        Map<String, String> linkedChecksums = task.isLinked() ? task.getChecksums() : null;
+                        checksumValidator.validate( listener.getChecksums( linkedChecksums ),
+                                                    smartChecksums ? task.getChecksums() : null );
                         break;
                     }
                     catch ( ChecksumFailureException e )
@@ -616,17 +964,4 @@ final class BasicRepositoryConnector
 
     }
 
-    private static class DirectExecutor
-        implements Executor
-    {
-
-        static final Executor INSTANCE = new DirectExecutor();
-
-        public void execute( Runnable command )
-        {
-            command.run();
-        }
-
-    }
-
 }
@@ -24,10 +24,17 @@ import javax.inject.Named;
 
 import static java.util.Objects.requireNonNull;
 
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
 import org.eclipse.aether.RepositorySystemSession;
 import org.eclipse.aether.repository.RemoteRepository;
 import org.eclipse.aether.spi.connector.RepositoryConnector;
 import org.eclipse.aether.spi.connector.RepositoryConnectorFactory;
+import org.eclipse.aether.spi.connector.checksum.ChecksumAlgorithmFactory;
 import org.eclipse.aether.spi.connector.checksum.ChecksumPolicyProvider;
 import org.eclipse.aether.spi.connector.layout.RepositoryLayoutProvider;
 import org.eclipse.aether.spi.connector.transport.TransporterProvider;
@@ -53,8 +60,12 @@ public final class BasicRepositoryConnectorFactory
 
     private FileProcessor fileProcessor;
 
+    private Map<String, ChecksumAlgorithmFactory> checksumAlgorithmFactories = Collections.emptyMap();
+
     private float priority;
 
+    private final TransferScheduler scheduler = new TransferScheduler();
+
     /**
      * Creates an (uninitialized) instance of this connector factory. <em>Note:</em> In case of manual instantiation by
      * clients, the new factory needs to be configured via its various mutators before first use or runtime errors will
@@ -67,12 +78,14 @@ public final class BasicRepositoryConnectorFactory
 
     @Inject
     BasicRepositoryConnectorFactory( TransporterProvider transporterProvider, RepositoryLayoutProvider layoutProvider,
-                                     ChecksumPolicyProvider checksumPolicyProvider, FileProcessor fileProcessor )
+                                     ChecksumPolicyProvider checksumPolicyProvider, FileProcessor fileProcessor,
+                                     Set<ChecksumAlgorithmFactory> checksumAlgorithmFactories )
     {
         setTransporterProvider( transporterProvider );
         setRepositoryLayoutProvider( layoutProvider );
         setChecksumPolicyProvider( checksumPolicyProvider );
         setFileProcessor( fileProcessor );
+        setChecksumAlgorithmFactories( checksumAlgorithmFactories );
     }
 
     public void initService( ServiceLocator locator )
@@ -81,6 +94,7 @@ public final class BasicRepositoryConnectorFactory
         setRepositoryLayoutProvider( locator.getService( RepositoryLayoutProvider.class ) );
         setChecksumPolicyProvider( locator.getService( ChecksumPolicyProvider.class ) );
         setFileProcessor( locator.getService( FileProcessor.class ) );
+        setChecksumAlgorithmFactories( locator.getServices( ChecksumAlgorithmFactory.class ) );
     }
 
     /**
@@ -132,6 +146,43 @@ public final class BasicRepositoryConnectorFactory
         return this;
     }
 
+    /**
+     * Adds the specified checksum algorithm factory to use for this component. A factory replaces any previously added
+     * factory for the same algorithm.
+     *
+     * @param factory The checksum algorithm factory to add, must not be {@code null}.
+     * @return This component for chaining, never {@code null}.
+     */
+    public BasicRepositoryConnectorFactory addChecksumAlgorithmFactory( ChecksumAlgorithmFactory factory )
+    {
+        requireNonNull( factory, "checksum algorithm factory cannot be null" );
+        Map<String, ChecksumAlgorithmFactory> factories = new LinkedHashMap<>( checksumAlgorithmFactories );
+        factories.put( factory.getName(), factory );
+        checksumAlgorithmFactories = Collections.unmodifiableMap( factories );
+        return this;
+    }
+
+    /**
+     * Sets the checksum algorithm factories to use for this component. Algorithms without a factory are computed with
+     * the message digests of the Java Cryptography Architecture.
+     *
+     * @param factories The checksum algorithm factories to use, may be {@code null}.
+     * @return This component for chaining, never {@code null}.
+     */
+    public BasicRepositoryConnectorFactory setChecksumAlgorithmFactories(
+            Collection<ChecksumAlgorithmFactory> factories )
+    {
+        checksumAlgorithmFactories = Collections.emptyMap();
+        if ( factories != null )
+        {
+            for ( ChecksumAlgorithmFactory factory : factories )
+            {
+                addChecksumAlgorithmFactory( factory );
+            }
+        }
+        return this;
+    }
+
     public float getPriority()
     {
         return priority;
@@ -156,7 +207,8 @@ public final class BasicRepositoryConnectorFactory
         requireNonNull( "repository", "repository cannot be null" );
 
         return new BasicRepositoryConnector( session, repository, transporterProvider, layoutProvider,
-                                             checksumPolicyProvider, fileProcessor );
+                                             checksumPolicyProvider, checksumAlgorithmFactories, fileProcessor,
+                                             scheduler );
     }
 
 }
@@ -22,21 +22,30 @@ package org.eclipse.aether.connector.basic;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
-import java.io.InputStream;
 import java.nio.Buffer;
 import java.nio.ByteBuffer;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import org.eclipse.aether.spi.connector.checksum.ChecksumAlgorithm;
+import org.eclipse.aether.spi.connector.checksum.ChecksumAlgorithmFactory;
 import org.eclipse.aether.spi.connector.layout.RepositoryLayout;
 import org.eclipse.aether.util.ChecksumUtils;
+import org.eclipse.aether.util.concurrency.WorkerThreadFactory;
 
 /**
  * Calculates checksums for a downloaded file.
@@ -48,45 +57,75 @@ final class ChecksumCalculator
     {
         final String algorithm;
 
-        final MessageDigest digest;
+        private final ChecksumAlgorithmFactory factory;
+
+        ChecksumAlgorithm impl;
 
         Exception error;
 
-        Checksum( String algorithm )
+        /**
+         * The completion of the updates handed to helper threads, only used if computing checksums in parallel.
+         */
+        CompletableFuture<Void> lane = CompletableFuture.completedFuture( null );
+
+        Checksum( String algorithm, ChecksumAlgorithmFactory factory )
         {
             this.algorithm = algorithm;
-            MessageDigest digest = null;
+            this.factory = factory;
             try
             {
-                digest = MessageDigest.getInstance( algorithm );
+                impl = newAlgorithm();
             }
             catch ( NoSuchAlgorithmException e )
             {
                 error = e;
             }
-            this.digest = digest;
+        }
+
+        private ChecksumAlgorithm newAlgorithm()
+            throws NoSuchAlgorithmException
+        {
+            if ( factory != null )
+            {
+                return factory.getAlgorithm();
+            }
+            return new DigestAlgorithm( MessageDigest.getInstance( algorithm ) );
         }
 
         public void update( ByteBuffer buffer )
         {
-            if ( digest != null )
+            if ( impl != null )
             {
-                digest.update( buffer );
+                try
+                {
+                    impl.update( buffer );
+                }
+                catch ( RuntimeException e )
+                {
+                    error( e );
+                }
             }
         }
 
         public void reset()
         {
-            if ( digest != null )
+            if ( impl != null )
             {
-                digest.reset();
-                error = null;
+                try
+                {
+                    impl = newAlgorithm();
+                    error = null;
+                }
+                catch ( NoSuchAlgorithmException e )
+                {
+                    error = e;
+                }
             }
         }
 
         public void error( Exception error )
         {
-            if ( digest != null )
+            if ( impl != null )
             {
                 this.error = error;
             }
@@ -98,25 +137,158 @@ final class ChecksumCalculator
             {
                 return error;
             }
+            try
+            {
+                return impl.checksum();
+            }
+            catch ( RuntimeException e )
+            {
+                return e;
+            }
+        }
+
+        /**
+         * Copies the current state of the algorithm if supported.
+         *
+         * @return The copy or {@code null} if the algorithm cannot be copied.
+         */
+        ChecksumAlgorithm copy()
+        {
+            if ( error == null && impl instanceof DigestAlgorithm )
+            {
+                try
+                {
+                    return ( (DigestAlgorithm) impl ).copy();
+                }
+                catch ( CloneNotSupportedException e )
+                {
+                    return null;
+                }
+            }
+            return null;
+        }
+
+    }
+
+    /**
+     * The checksum algorithm for algorithms without factory, backed by a {@link MessageDigest}.
+     */
+    private static final class DigestAlgorithm
+        implements ChecksumAlgorithm
+    {
+
+        private final MessageDigest digest;
+
+        DigestAlgorithm( MessageDigest digest )
+        {
+            this.digest = digest;
+        }
+
+        public void update( ByteBuffer input )
+        {
+            digest.update( input );
+        }
+
+        public String checksum()
+        {
             return ChecksumUtils.toHexString( digest.digest() );
         }
 
+        DigestAlgorithm copy()
+            throws CloneNotSupportedException
+        {
+            return new DigestAlgorithm( (MessageDigest) digest.clone() );
+        }
+
     }
 
+    private static final class Checkpoint
+    {
+
+        final long offset;
+
+        final long length;
+
+        final long lastModified;
+
+        final Map<String, ChecksumAlgorithm> digests;
+
+        Checkpoint( long offset, File file, Map<String, ChecksumAlgorithm> digests )
+        {
+            this.offset = offset;
+            this.length = file.length();
+            this.lastModified = file.lastModified();
+            this.digests = digests;
+        }
+
+        boolean isValid( File file, long dataOffset )
+        {
+            return offset <= dataOffset && length == file.length() && lastModified == file.lastModified();
+        }
+
+    }
+
+    private static final int MAX_CHECKPOINTS = 64;
+
+    /**
+     * The maximum number of buffers copied for helper threads that have not been digested yet, bounds the memory used
+     * if the transport delivers data faster than it can be digested.
+     */
+    private static final int MAX_PENDING_BUFFERS = 16;
+
+    private static final Executor HELPERS =
+        Executors.newCachedThreadPool( new WorkerThreadFactory( ChecksumCalculator.class.getSimpleName() + '-' ) );
+
+    /**
+     * The digest states of interrupted downloads, keyed by target file. The state of a JDK message digest cannot be
+     * serialized, so checkpoints only help resumptions within the same JVM, e.g. retries or later builds in a daemon.
+     * A download resumed by another process still re-reads the partial file.
+     */
+    private static final Map<File, Checkpoint> CHECKPOINTS = new ConcurrentHashMap<>();
+
     private final List<Checksum> checksums;
 
     private final File targetFile;
 
+    private long pendingOffset;
+
+    private long offset;
+
+    private final long parallelThreshold;
+
+    private final Semaphore pendingBuffers = new Semaphore( MAX_PENDING_BUFFERS );
+
+    private boolean parallel;
+
     public static ChecksumCalculator newInstance( File targetFile, Collection<RepositoryLayout.Checksum> checksums )
+    {
+        return newInstance( targetFile, checksums, Collections.<String, ChecksumAlgorithmFactory>emptyMap(), -1L );
+    }
+
+    /**
+     * Creates a new checksum calculator.
+     *
+     * @param targetFile The file the downloaded data is written to, must not be {@code null}.
+     * @param checksums The checksums to calculate, may be {@code null}.
+     * @param algorithmFactories The factories of the checksum algorithms keyed by algorithm name, must not be
+     *            {@code null}. Algorithms without a factory are computed with a {@link MessageDigest}.
+     * @param parallelThreshold The length a resource needs to have at least for several checksums to be computed in
+     *            parallel on helper threads, a negative value to always compute them on the transfer thread.
+     * @return The new calculator or {@code null} if no checksums are to be calculated.
+     */
+    public static ChecksumCalculator newInstance( File targetFile, Collection<RepositoryLayout.Checksum> checksums,
+                                                  Map<String, ChecksumAlgorithmFactory> algorithmFactories,
+                                                  long parallelThreshold )
     {
         if ( checksums == null || checksums.isEmpty() )
         {
             return null;
         }
-        return new ChecksumCalculator( targetFile, checksums );
+        return new ChecksumCalculator( targetFile, checksums, algorithmFactories, parallelThreshold );
     }
 
-    private ChecksumCalculator( File targetFile, Collection<RepositoryLayout.Checksum> checksums )
+    private ChecksumCalculator( File targetFile, Collection<RepositoryLayout.Checksum> checksums,
+                                Map<String, ChecksumAlgorithmFactory> algorithmFactories, long parallelThreshold )
     {
         this.checksums = new ArrayList<>();
         Set<String> algos = new HashSet<>();
@@ -125,28 +297,121 @@ final class ChecksumCalculator
             String algo = checksum.getAlgorithm();
             if ( algos.add( algo ) )
             {
-                this.checksums.add( new Checksum( algo ) );
+                this.checksums.add( new Checksum( algo, algorithmFactories.get( algo ) ) );
             }
         }
         this.targetFile = targetFile;
+        this.parallelThreshold = parallelThreshold;
     }
 
     public void init( long dataOffset )
     {
+        init( dataOffset, -1L );
+    }
+
+    /**
+     * Starts a new calculation.
+     *
+     * @param dataOffset The number of bytes already present in the target file, to be hashed before any new data.
+     * @param dataLength The total length of the resource or {@code -1} if unknown.
+     */
+    public void init( long dataOffset, long dataLength )
+    {
+        awaitHelpers();
         for ( Checksum checksum : checksums )
         {
             checksum.reset();
         }
+        parallel = checksums.size() > 1 && parallelThreshold >= 0L && dataLength >= parallelThreshold;
+        offset = 0L;
+        pendingOffset = dataOffset;
+        if ( dataOffset <= 0L )
+        {
+            CHECKPOINTS.remove( targetFile.getAbsoluteFile() );
+        }
+    }
+
+    /**
+     * Records the current digest state for the target file such that a later resumption of the download only needs to
+     * hash the data that was appended to the file since. Meant to be called when the transport failed.
+     */
+    public void checkpoint()
+    {
+        if ( pendingOffset > 0L || offset <= 0L )
+        {
+            return;
+        }
+        awaitHelpers();
+        Map<String, ChecksumAlgorithm> digests = new HashMap<>();
+        for ( Checksum checksum : checksums )
+        {
+            ChecksumAlgorithm copy = checksum.copy();
+            if ( copy == null )
+            {
+                return;
+            }
+            digests.put( checksum.algorithm, copy );
+        }
+        File file = targetFile.getAbsoluteFile();
+        if ( CHECKPOINTS.size() < MAX_CHECKPOINTS || CHECKPOINTS.containsKey( file ) )
+        {
+            CHECKPOINTS.put( file, new Checkpoint( offset, file, digests ) );
+        }
+    }
+
+    /**
+     * Restores the digest state recorded for the target file if the file was not modified since.
+     *
+     * @return The offset up to which the data is reflected by the restored digests, {@code 0} if no state was restored.
+     */
+    private long restoreCheckpoint( long dataOffset )
+    {
+        File file = targetFile.getAbsoluteFile();
+        Checkpoint checkpoint = CHECKPOINTS.remove( file );
+        if ( checkpoint == null || !checkpoint.isValid( file, dataOffset )
+            || !checkpoint.digests.keySet().containsAll( getAlgorithms() ) )
+        {
+            return 0L;
+        }
+        for ( Checksum checksum : checksums )
+        {
+            checksum.impl = checkpoint.digests.get( checksum.algorithm );
+        }
+        offset = checkpoint.offset;
+        return offset;
+    }
+
+    private Set<String> getAlgorithms()
+    {
+        Set<String> algorithms = new HashSet<>();
+        for ( Checksum checksum : checksums )
+        {
+            algorithms.add( checksum.algorithm );
+        }
+        return algorithms;
+    }
+
+    /**
+     * Hashes the data that was already present in the target file when the transport started. This is deferred until
+     * the first update or retrieval of the checksums such that it can be skipped if the transport supplied checksums
+     * for a file that was complete from the start.
+     */
+    private void hashPendingData()
+    {
+        long dataOffset = pendingOffset;
+        pendingOffset = 0L;
         if ( dataOffset <= 0L )
         {
             return;
         }
 
-        InputStream in = null;
+        long start = restoreCheckpoint( dataOffset );
+        FileInputStream in = null;
         try
         {
             in = new FileInputStream( targetFile );
-            long total = 0;
+            in.getChannel().position( start );
+            long total = start;
             ByteBuffer buffer = ByteBuffer.allocate( 1024 * 32 );
             for ( byte[] array = buffer.array(); total < dataOffset; )
             {
@@ -194,6 +459,13 @@ final class ChecksumCalculator
 
     public void update( ByteBuffer data )
     {
+        hashPendingData();
+        offset += data.remaining();
+        if ( parallel )
+        {
+            updateInParallel( data );
+            return;
+        }
         for ( Checksum checksum : checksums )
         {
             ( (Buffer) data ).mark();
@@ -202,8 +474,73 @@ final class ChecksumCalculator
         }
     }
 
+    /**
+     * Hands a copy of the specified data to helper threads, one per algorithm, such that the checksums are computed in
+     * parallel to each other and to the transport. The updates of each algorithm are applied in order.
+     */
+    private void updateInParallel( ByteBuffer data )
+    {
+        pendingBuffers.acquireUninterruptibly();
+        ByteBuffer copy = ByteBuffer.allocate( data.remaining() );
+        copy.put( data.duplicate() );
+        ( (Buffer) copy ).flip();
+        AtomicInteger remaining = new AtomicInteger( checksums.size() );
+        for ( Checksum checksum : checksums )
+        {
+            checksum.lane = checksum.lane.thenRunAsync( () ->
+            {
+                checksum.update( copy.duplicate() );
+                if ( remaining.decrementAndGet() <= 0 )
+                {
+                    pendingBuffers.release();
+                }
+            }, HELPERS );
+        }
+    }
+
+    private void awaitHelpers()
+    {
+        for ( Checksum checksum : checksums )
+        {
+            checksum.lane.join();
+        }
+    }
+
     public Map<String, Object> get()
     {
+        return get( null );
+    }
+
+    /**
+     * Gets the checksums of the target file. If the transport linked the target file to the resource instead of
+     * transferring its data and supplied checksums for all algorithms, those are returned instead of hashing the file.
+     *
+     * @param linkedChecksums The checksums supplied by the transport for a target file it linked to the resource,
+     *            {@code null} if the transport did not link the target file.
+     * @return The checksums keyed by algorithm, never {@code null}.
+     */
+    public Map<String, Object> get( Map<String, String> linkedChecksums )
+    {
+        if ( linkedChecksums != null && pendingOffset > 0L && pendingOffset == targetFile.length() )
+        {
+            Map<String, Object> results = new HashMap<>();
+            for ( Checksum checksum : checksums )
+            {
+                String supplied = linkedChecksums.get( checksum.algorithm );
+                if ( supplied == null )
+                {
+                    results = null;
+                    break;
+                }
+                results.put( checksum.algorithm, supplied );
+            }
+            if ( results != null )
+            {
+                return results;
+            }
+        }
+        hashPendingData();
+        awaitHelpers();
         Map<String, Object> results = new HashMap<>();
         for ( Checksum checksum : checksums )
         {
@@ -29,6 +29,7 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.UUID;
 
+import org.eclipse.aether.spi.connector.checksum.ChecksumAlgorithmFactory;
 import org.eclipse.aether.spi.connector.checksum.ChecksumPolicy;
 import org.eclipse.aether.spi.connector.layout.RepositoryLayout.Checksum;
 import org.eclipse.aether.spi.io.FileProcessor;
@@ -80,11 +81,13 @@ final class ChecksumValidator
         checksumFiles = new HashMap<>();
     }
 
-    public ChecksumCalculator newChecksumCalculator( File targetFile )
+    public ChecksumCalculator newChecksumCalculator( File targetFile,
+                                                     Map<String, ChecksumAlgorithmFactory> algorithmFactories,
+                                                     long parallelThreshold )
     {
         if ( checksumPolicy != null )
         {
-            return ChecksumCalculator.newInstance( targetFile, checksums );
+            return ChecksumCalculator.newInstance( targetFile, checksums, algorithmFactories, parallelThreshold );
         }
         return null;
     }
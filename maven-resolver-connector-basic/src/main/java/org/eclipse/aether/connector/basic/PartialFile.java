@@ -19,6 +19,7 @@ package org.eclipse.aether.connector.basic;
  * under the License.
  */
 
+import org.eclipse.aether.util.concurrency.WorkerThreadFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -26,11 +27,23 @@ import java.io.Closeable;
 import java.io.File;
 import java.io.IOException;
 import java.io.RandomAccessFile;
+import java.nio.channels.AsynchronousCloseException;
 import java.nio.channels.Channel;
 import java.nio.channels.FileLock;
 import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Objects;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * A partially downloaded file with optional support for resume. If resume is enabled, a well-known location is used for
@@ -56,8 +69,20 @@ final class PartialFile
     static class LockFile
     {
 
+        private static final long CHECK_INTERVAL = 1000L;
+
+        /**
+         * The lock files currently in use by this JVM. Threads contending for the same file wait on its permit and
+         * are woken as soon as the owner is done, only other processes need to be awaited via the file lock.
+         */
+        private static final ConcurrentMap<String, InFlight> IN_FLIGHT = new ConcurrentHashMap<>();
+
         private final File lockFile;
 
+        private final String key;
+
+        private final InFlight inFlight;
+
         private final FileLock lock;
 
         private final AtomicBoolean concurrent;
@@ -66,49 +91,93 @@ final class PartialFile
             throws Exception
         {
             lockFile = new File( partFile.getPath() + EXT_LOCK );
+            key = lockFile.getAbsolutePath();
             concurrent = new AtomicBoolean( false );
-            lock = lock( lockFile, partFile, requestTimeout, checker, concurrent );
+            inFlight = IN_FLIGHT.compute( key, ( k, v ) -> ( v != null ) ? v.join() : new InFlight() );
+            try
+            {
+                lock = lock( partFile, new Progress( partFile, requestTimeout ), checker );
+            }
+            catch ( Exception e )
+            {
+                leave();
+                throw e;
+            }
+        }
+
+        private FileLock lock( File partFile, Progress progress, RemoteAccessChecker checker )
+            throws Exception
+        {
+            boolean interrupted = false;
+            try
+            {
+                if ( !inFlight.permit.tryAcquire() )
+                {
+                    awaitConcurrent( partFile, checker );
+                    while ( true )
+                    {
+                        try
+                        {
+                            if ( inFlight.permit.tryAcquire( CHECK_INTERVAL, TimeUnit.MILLISECONDS ) )
+                            {
+                                break;
+                            }
+                        }
+                        catch ( InterruptedException e )
+                        {
+                            interrupted = true;
+                        }
+                        progress.check();
+                    }
+                }
+
+                try
+                {
+                    return lockFile( partFile, progress, checker );
+                }
+                catch ( Exception e )
+                {
+                    inFlight.permit.release();
+                    throw e;
+                }
+            }
+            finally
+            {
+                if ( interrupted )
+                {
+                    Thread.currentThread().interrupt();
+                }
+            }
         }
 
-        private static FileLock lock( File lockFile, File partFile, int requestTimeout, RemoteAccessChecker checker,
-                                      AtomicBoolean concurrent )
+        private FileLock lockFile( File partFile, Progress progress, RemoteAccessChecker checker )
             throws Exception
         {
             boolean interrupted = false;
+            boolean blocking = true;
             try
             {
-                for ( long lastLength = -1L, lastTime = 0L;; )
+                while ( true )
                 {
                     FileLock lock = tryLock( lockFile );
                     if ( lock != null )
                     {
                         return lock;
                     }
+                    awaitConcurrent( partFile, checker );
 
-                    long currentLength = partFile.length();
-                    long currentTime = System.currentTimeMillis();
-                    if ( currentLength != lastLength )
+                    if ( blocking )
                     {
-                        if ( lastLength < 0L )
+                        lock = awaitLock( lockFile, partFile, progress );
+                        if ( lock != null )
                         {
-                            concurrent.set( true );
-                            /*
-                             * NOTE: We're going with the optimistic assumption that the other thread is downloading the
-                             * file from an equivalent repository. As a bare minimum, ensure the repository we are given
-                             * at least knows about the file and is accessible to us.
-                             */
-                            checker.checkRemoteAccess();
-                            LOGGER.debug( "Concurrent download of {} in progress, awaiting completion", partFile );
+                            return lock;
                         }
-                        lastLength = currentLength;
-                        lastTime = currentTime;
-                    }
-                    else if ( requestTimeout > 0 && currentTime - lastTime > Math.max( requestTimeout, 3 * 1000 ) )
-                    {
-                        throw new IOException( "Timeout while waiting for concurrent download of " + partFile
-                                                   + " to progress" );
+                        // the lock is held within this JVM but outside of this class, e.g. by another class loader
+                        blocking = false;
                     }
 
+                    progress.check();
                     try
                     {
                         Thread.sleep( 100 );
@@ -128,54 +197,140 @@ final class PartialFile
             }
         }
 
-        private static FileLock tryLock( File lockFile )
-            throws IOException
+        private void awaitConcurrent( File partFile, RemoteAccessChecker checker )
+            throws Exception
         {
-            RandomAccessFile raf = null;
-            FileLock lock = null;
-            try
+            if ( concurrent.compareAndSet( false, true ) )
             {
-                raf = new RandomAccessFile( lockFile, "rw" );
-                lock = raf.getChannel().tryLock( 0, 1, false );
+                /*
+                 * NOTE: We're going with the optimistic assumption that the other thread is downloading the
+                 * file from an equivalent repository. As a bare minimum, ensure the repository we are given
+                 * at least knows about the file and is accessible to us.
+                 */
+                checker.checkRemoteAccess();
+                LOGGER.debug( "Concurrent download of {} in progress, awaiting completion", partFile );
+            }
+        }
 
-                if ( lock == null )
+        /**
+         * Blocks until the lock held by another process is released. A watchdog closes the channel if the concurrent
+         * download stops to make progress, which aborts the wait. As the previous owner deletes the lock file, the
+         * lock is only kept if the lock file at the path is still the one that got locked, otherwise the current lock
+         * file is awaited.
+         *
+         * @return The lock or {@code null} if the lock is held within this JVM and cannot be awaited.
+         */
+        private static FileLock awaitLock( File lockFile, File partFile, Progress progress )
+            throws IOException
+        {
+            final AtomicReference<RandomAccessFile> opened = new AtomicReference<>();
+            ScheduledFuture<?> watchdog = Watchdog.INSTANCE.scheduleWithFixedDelay( () ->
+            {
+                if ( progress.isStalled() )
                 {
-                    raf.close();
-                    raf = null;
+                    close( opened.get() );
                 }
-            }
-            catch ( OverlappingFileLockException e )
-            {
-                close( raf );
-                raf = null;
-                lock = null;
-            }
-            catch ( RuntimeException | IOException e )
+            }, CHECK_INTERVAL, CHECK_INTERVAL, TimeUnit.MILLISECONDS );
+            try
             {
-                close( raf );
-                raf = null;
-                if ( !lockFile.delete() )
+                while ( true )
                 {
-                    lockFile.deleteOnExit();
+                    Handle handle = Handle.open( lockFile );
+                    opened.set( handle.raf );
+                    if ( progress.isStalled() )
+                    {
+                        close( handle.raf );
+                        throw progress.newTimeoutException();
+                    }
+                    FileLock lock;
+                    try
+                    {
+                        lock = handle.raf.getChannel().lock( 0, 1, false );
+                    }
+                    catch ( OverlappingFileLockException e )
+                    {
+                        close( handle.raf );
+                        return null;
+                    }
+                    catch ( AsynchronousCloseException e )
+                    {
+                        close( handle.raf );
+                        if ( progress.isStalled() )
+                        {
+                            throw progress.newTimeoutException();
+                        }
+                        throw e;
+                    }
+                    catch ( RuntimeException | IOException e )
+                    {
+                        close( handle.raf );
+                        throw e;
+                    }
+                    boolean current = false;
+                    try
+                    {
+                        current = handle.isCurrent( lockFile );
+                    }
+                    finally
+                    {
+                        if ( !current )
+                        {
+                            close( handle.raf );
+                        }
+                    }
+                    if ( current )
+                    {
+                        return lock;
+                    }
                 }
-                throw e;
             }
             finally
             {
+                watchdog.cancel( false );
+            }
+        }
+
+        private static FileLock tryLock( File lockFile )
+            throws IOException
+        {
+            while ( true )
+            {
+                Handle handle = null;
+                FileLock lock = null;
                 try
                 {
-                    if ( lock == null && raf != null )
+                    handle = Handle.open( lockFile );
+                    lock = handle.raf.getChannel().tryLock( 0, 1, false );
+                    if ( lock != null && !handle.isCurrent( lockFile ) )
                     {
-                        raf.close();
+                        // locked a lock file its previous owner deleted meanwhile, retry with the current one
+                        lock = null;
+                        continue;
                     }
+                    return lock;
                 }
-                catch ( final IOException e )
+                catch ( OverlappingFileLockException e )
                 {
-                    // Suppressed due to an exception already thrown in the try block.
+                    return null;
+                }
+                catch ( RuntimeException | IOException e )
+                {
+                    close( handle );
+                    handle = null;
+                    if ( !lockFile.delete() )
+                    {
+                        lockFile.deleteOnExit();
+                    }
+                    throw e;
+                }
+                finally
+                {
+                    if ( lock == null )
+                    {
+                        close( handle );
+                    }
                 }
             }
-
-            return lock;
         }
 
         private static void close( Closeable file )
@@ -201,9 +356,12 @@ final class PartialFile
         public void close() throws IOException
         {
             Channel channel = null;
+            boolean deleted = false;
             try
             {
                 channel = lock.channel();
+                // delete while still holding the lock, so a waiter that gets the lock next can tell it is stale
+                deleted = lockFile.delete();
                 lock.release();
                 channel.close();
                 channel = null;
@@ -223,14 +381,21 @@ final class PartialFile
                 }
                 finally
                 {
-                    if ( !lockFile.delete() )
+                    if ( !deleted && !lockFile.delete() )
                     {
                         lockFile.deleteOnExit();
                     }
+                    inFlight.permit.release();
+                    leave();
                 }
             }
         }
 
+        private void leave()
+        {
+            IN_FLIGHT.computeIfPresent( key, ( k, v ) -> ( v == inFlight && v.leave() ) ? null : v );
+        }
+
         @Override
         public String toString()
         {
@@ -239,6 +404,184 @@ final class PartialFile
 
     }
 
+    /**
+     * An open lock file along with the key of the opened file.
+     */
+    private static final class Handle
+        implements Closeable
+    {
+
+        private static final Object MISSING = new Object();
+
+        final RandomAccessFile raf;
+
+        /**
+         * The key of the opened file, {@code null} if the file system does not provide file keys.
+         */
+        private final Object fileKey;
+
+        private Handle( RandomAccessFile raf, Object fileKey )
+        {
+            this.raf = raf;
+            this.fileKey = fileKey;
+        }
+
+        /**
+         * Opens the lock file. The file key is read before and after opening the file, the file is reopened if the
+         * keys differ as the key might then not belong to the opened file.
+         */
+        static Handle open( File lockFile )
+            throws IOException
+        {
+            while ( true )
+            {
+                Object before = getFileKey( lockFile );
+                RandomAccessFile raf = new RandomAccessFile( lockFile, "rw" );
+                Object after;
+                try
+                {
+                    after = getFileKey( lockFile );
+                }
+                catch ( IOException | RuntimeException e )
+                {
+                    LockFile.close( raf );
+                    throw e;
+                }
+                if ( after != MISSING && ( before == MISSING || Objects.equals( before, after ) ) )
+                {
+                    return new Handle( raf, after );
+                }
+                LockFile.close( raf );
+            }
+        }
+
+        /**
+         * Tells whether the opened file is still the lock file at the specified path, i.e. was not deleted.
+         */
+        boolean isCurrent( File lockFile )
+            throws IOException
+        {
+            return fileKey == null || fileKey.equals( getFileKey( lockFile ) );
+        }
+
+        private static Object getFileKey( File file )
+            throws IOException
+        {
+            try
+            {
+                return Files.readAttributes( file.toPath(), BasicFileAttributes.class ).fileKey();
+            }
+            catch ( NoSuchFileException e )
+            {
+                return MISSING;
+            }
+        }
+
+        public void close()
+            throws IOException
+        {
+            raf.close();
+        }
+
+    }
+
+    /**
+     * The in-JVM coordination of the threads using the same lock file. Only modified within the atomic operations of
+     * the map holding it.
+     */
+    private static final class InFlight
+    {
+
+        final Semaphore permit = new Semaphore( 1 );
+
+        private int users = 1;
+
+        InFlight join()
+        {
+            users++;
+            return this;
+        }
+
+        /**
+         * @return {@code true} if this was the last user.
+         */
+        boolean leave()
+        {
+            return --users <= 0;
+        }
+
+    }
+
+    /**
+     * Tracks the progress of a concurrent download to detect when it stalls.
+     */
+    private static final class Progress
+    {
+
+        private final File partFile;
+
+        private final long timeout;
+
+        private long lastLength = -1L;
+
+        private long lastTime;
+
+        private boolean stalled;
+
+        Progress( File partFile, int requestTimeout )
+        {
+            this.partFile = partFile;
+            this.timeout = ( requestTimeout > 0 ) ? Math.max( requestTimeout, 3 * 1000 ) : 0L;
+        }
+
+        synchronized boolean isStalled()
+        {
+            long currentLength = partFile.length();
+            long currentTime = System.currentTimeMillis();
+            if ( currentLength != lastLength )
+            {
+                lastLength = currentLength;
+                lastTime = currentTime;
+            }
+            else if ( timeout > 0L && currentTime - lastTime > timeout )
+            {
+                stalled = true;
+            }
+            return stalled;
+        }
+
+        void check()
+            throws IOException
+        {
+            if ( isStalled() )
+            {
+                throw newTimeoutException();
+            }
+        }
+
+        IOException newTimeoutException()
+        {
+            return new IOException( "Timeout while waiting for concurrent download of " + partFile + " to progress" );
+        }
+
+    }
+
+    private static final class Watchdog
+    {
+
+        static final ScheduledThreadPoolExecutor INSTANCE;
+
+        static
+        {
+            INSTANCE = new ScheduledThreadPoolExecutor( 1, new WorkerThreadFactory( PartialFile.class.getSimpleName()
+                + "-watchdog-" ) );
+            INSTANCE.setKeepAliveTime( 3L, TimeUnit.SECONDS );
+            INSTANCE.allowCoreThreadTimeOut( true );
+            INSTANCE.setRemoveOnCancelPolicy( true );
+        }
+
+    }
+
     static class Factory
     {
 
@@ -0,0 +1,325 @@
+package org.eclipse.aether.connector.basic;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.aether.util.concurrency.WorkerThreadFactory;
+
+/**
+ * Schedules the transfers of all connectors created by one factory on a shared pool of worker threads. The number of
+ * concurrent transfers is bounded in total, per host and per connector call. Pending transfers are queued per client
+ * (i.e. repository session) and the queues are served in round-robin fashion such that a session with many transfers
+ * cannot starve the others. Within a queue, transfers are started by rank and then in submission order, regardless of
+ * the connector call that submitted them. Transfers that are not worth a worker thread run on the thread of the
+ * caller but still take a slot from the same limits.
+ */
+final class TransferScheduler
+{
+
+    private static final long KEEP_ALIVE = 60L;
+
+    private static final Comparator<Task> TASK_ORDER =
+        Comparator.<Task>comparingLong( task -> task.rank ).thenComparingLong( task -> task.sequence );
+
+    private final Executor workers;
+
+    private final Object lock = new Object();
+
+    /**
+     * The pending tasks per client, ordered by {@link #TASK_ORDER}. The queues are sorted sets rather than heaps since
+     * a queue is scanned in order for the first task whose limits allow it to start.
+     */
+    private final Map<Object, NavigableSet<Task>> queues = new LinkedHashMap<>();
+
+    private final Map<String, Integer> runningPerHost = new HashMap<>();
+
+    private int running;
+
+    private long sequence;
+
+    TransferScheduler()
+    {
+        workers = new ThreadPoolExecutor( 0, Integer.MAX_VALUE, KEEP_ALIVE, TimeUnit.SECONDS,
+                                          new SynchronousQueue<Runnable>(),
+                                          new WorkerThreadFactory( getClass().getSimpleName() + '-' ) );
+    }
+
+    /**
+     * Creates an executor that submits its tasks to this scheduler.
+     *
+     * @param client The client whose transfers share one queue, must not be {@code null}.
+     * @param host The host the transfers go to, must not be {@code null}.
+     * @param maxThreads The maximum number of tasks of the new executor to run concurrently.
+     * @param maxPerHost The maximum number of transfers to run concurrently for the host, including those of other
+     *            executors.
+     * @param maxTotal The maximum number of transfers to run concurrently, including those of other executors.
+     * @return The executor, never {@code null}.
+     */
+    ClientExecutor newExecutor( Object client, String host, int maxThreads, int maxPerHost, int maxTotal )
+    {
+        return new ClientExecutor( client, host, Math.max( 1, maxThreads ), Math.max( 1, maxPerHost ),
+                                   Math.max( 1, maxTotal ), false );
+    }
+
+    /**
+     * Creates an executor that runs its tasks one at a time on the calling thread, each once this scheduler granted it
+     * a slot within the limits.
+     *
+     * @param client The client whose transfers share one queue, must not be {@code null}.
+     * @param host The host the transfers go to, must not be {@code null}.
+     * @param maxPerHost The maximum number of transfers to run concurrently for the host, including those of other
+     *            executors.
+     * @param maxTotal The maximum number of transfers to run concurrently, including those of other executors.
+     * @return The executor, never {@code null}.
+     */
+    ClientExecutor newInlineExecutor( Object client, String host, int maxPerHost, int maxTotal )
+    {
+        return new ClientExecutor( client, host, 1, Math.max( 1, maxPerHost ), Math.max( 1, maxTotal ), true );
+    }
+
+    int getRunning()
+    {
+        synchronized ( lock )
+        {
+            return running;
+        }
+    }
+
+    private void submit( Task task )
+    {
+        synchronized ( lock )
+        {
+            task.sequence = sequence++;
+            queues.computeIfAbsent( task.executor.client, k -> new TreeSet<>( TASK_ORDER ) ).add( task );
+        }
+        dispatch();
+    }
+
+    private void dispatch()
+    {
+        List<Task> ready = new ArrayList<>();
+        synchronized ( lock )
+        {
+            for ( boolean started = true; started; )
+            {
+                started = false;
+                for ( Object client : new ArrayList<>( queues.keySet() ) )
+                {
+                    Task task = poll( queues.get( client ) );
+                    if ( task != null )
+                    {
+                        started = true;
+                        ready.add( task );
+                        // served queues move to the end
+                        NavigableSet<Task> queue = queues.remove( client );
+                        if ( !queue.isEmpty() )
+                        {
+                            queues.put( client, queue );
+                        }
+                    }
+                }
+            }
+        }
+        for ( Task task : ready )
+        {
+            if ( task.executor.inline )
+            {
+                task.granted.countDown();
+            }
+            else
+            {
+                workers.execute( task );
+            }
+        }
+    }
+
+    private Task poll( NavigableSet<Task> queue )
+    {
+        for ( Iterator<Task> it = queue.iterator(); it.hasNext(); )
+        {
+            Task task = it.next();
+            ClientExecutor executor = task.executor;
+            int host = runningPerHost.getOrDefault( executor.host, 0 );
+            if ( running < executor.maxTotal && host < executor.maxPerHost && executor.running < executor.maxThreads )
+            {
+                it.remove();
+                running++;
+                runningPerHost.put( executor.host, host + 1 );
+                executor.running++;
+                return task;
+            }
+        }
+        return null;
+    }
+
+    private void finished( Task task )
+    {
+        synchronized ( lock )
+        {
+            ClientExecutor executor = task.executor;
+            running--;
+            int host = runningPerHost.get( executor.host ) - 1;
+            if ( host > 0 )
+            {
+                runningPerHost.put( executor.host, host );
+            }
+            else
+            {
+                runningPerHost.remove( executor.host );
+            }
+            executor.running--;
+        }
+        dispatch();
+    }
+
+    /**
+     * An executor whose tasks take slots from the limits of its scheduler.
+     */
+    final class ClientExecutor
+        implements Executor
+    {
+
+        final Object client;
+
+        final String host;
+
+        final int maxThreads;
+
+        final int maxPerHost;
+
+        final int maxTotal;
+
+        final boolean inline;
+
+        int running;
+
+        ClientExecutor( Object client, String host, int maxThreads, int maxPerHost, int maxTotal, boolean inline )
+        {
+            this.client = client;
+            this.host = host;
+            this.maxThreads = maxThreads;
+            this.maxPerHost = maxPerHost;
+            this.maxTotal = maxTotal;
+            this.inline = inline;
+        }
+
+        public void execute( Runnable command )
+        {
+            execute( command, 0L );
+        }
+
+        /**
+         * Executes the specified command once all pending tasks of the same client with a lower rank or submitted
+         * earlier with the same rank have been started.
+         *
+         * @param command The command to execute, must not be {@code null}.
+         * @param rank The rank of the command, tasks with lower ranks start first.
+         */
+        void execute( Runnable command, long rank )
+        {
+            Task task = new Task( this, command, rank );
+            submit( task );
+            if ( inline )
+            {
+                task.awaitGranted();
+                task.run();
+            }
+        }
+
+    }
+
+    private final class Task
+        implements Runnable
+    {
+
+        final ClientExecutor executor;
+
+        private final Runnable command;
+
+        final long rank;
+
+        /**
+         * The order of submission to the scheduler, guarded by the lock of the scheduler.
+         */
+        long sequence;
+
+        /**
+         * Released once an inline task may run on the calling thread.
+         */
+        final CountDownLatch granted = new CountDownLatch( 1 );
+
+        Task( ClientExecutor executor, Runnable command, long rank )
+        {
+            this.executor = executor;
+            this.command = command;
+            this.rank = rank;
+        }
+
+        void awaitGranted()
+        {
+            boolean interrupted = false;
+            while ( true )
+            {
+                try
+                {
+                    granted.await();
+                    break;
+                }
+                catch ( InterruptedException e )
+                {
+                    // the slot is taken anyway once granted, so finish waiting for it
+                    interrupted = true;
+                }
+            }
+            if ( interrupted )
+            {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        public void run()
+        {
+            try
+            {
+                command.run();
+            }
+            finally
+            {
+                finished( this );
+            }
+        }
+
+    }
+
+}
@@ -42,6 +42,8 @@ class TransferTransportListener<T extends Transfer>
 
     private ChecksumCalculator checksumCalculator;
 
+    private long connectTime;
+
     protected TransferTransportListener( T transfer, TransferEvent.Builder eventBuilder )
     {
         this.transfer = transfer;
@@ -64,19 +66,26 @@ class TransferTransportListener<T extends Transfer>
         }
     }
 
+    @Override
+    public void transportConnected( long connectTime )
+    {
+        this.connectTime = connectTime;
+    }
+
     @Override
     public void transportStarted( long dataOffset, long dataLength )
         throws TransferCancelledException
     {
         if ( checksumCalculator != null )
         {
-            checksumCalculator.init( dataOffset );
+            checksumCalculator.init( dataOffset, dataLength );
         }
         if ( listener != null )
         {
             eventBuilder.resetType( EventType.STARTED ).setTransferredBytes( dataOffset );
             TransferEvent event = eventBuilder.build();
-            event.getResource().setContentLength( dataLength ).setResumeOffset( dataOffset );
+            event.getResource().setContentLength( dataLength ).setResumeOffset( dataOffset )
+                .setConnectTime( connectTime );
             listener.transferStarted( event );
         }
     }
@@ -125,13 +134,13 @@ class TransferTransportListener<T extends Transfer>
         }
     }
 
-    public Map<String, Object> getChecksums()
+    public Map<String, Object> getChecksums( Map<String, String> linkedChecksums )
     {
         if ( checksumCalculator == null )
         {
             return Collections.emptyMap();
         }
-        return checksumCalculator.get();
+        return checksumCalculator.get( linkedChecksums );
     }
 
     public void setChecksumCalculator( ChecksumCalculator checksumCalculator )
@@ -0,0 +1,461 @@
+package org.eclipse.aether.connector.basic;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+
+import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.internal.test.util.TestFileProcessor;
+import org.eclipse.aether.internal.test.util.TestFileUtils;
+import org.eclipse.aether.internal.test.util.TestUtils;
+import org.eclipse.aether.metadata.Metadata;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.spi.connector.ArtifactDownload;
+import org.eclipse.aether.spi.connector.ArtifactUpload;
+import org.eclipse.aether.spi.connector.checksum.ChecksumPolicy;
+import org.eclipse.aether.spi.connector.checksum.ChecksumPolicyProvider;
+import org.eclipse.aether.spi.connector.layout.RepositoryLayout;
+import org.eclipse.aether.spi.connector.transport.AbstractTransporter;
+import org.eclipse.aether.spi.connector.transport.GetTask;
+import org.eclipse.aether.spi.connector.transport.PeekTask;
+import org.eclipse.aether.spi.connector.transport.PutTask;
+import org.eclipse.aether.transfer.AbstractTransferListener;
+import org.eclipse.aether.transfer.TransferEvent;
+import org.eclipse.aether.transfer.TransferResource;
+import org.eclipse.aether.util.ChecksumUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class BasicRepositoryConnectorTest
+{
+
+    private static class MemoryTransporter
+        extends AbstractTransporter
+    {
+
+        final Map<String, byte[]> resources = new ConcurrentHashMap<>();
+
+        final Map<String, Integer> puts = new ConcurrentHashMap<>();
+
+        final Map<String, Integer> gets = new ConcurrentHashMap<>();
+
+        final List<String> getOrder = new CopyOnWriteArrayList<>();
+
+        volatile CountDownLatch getGate;
+
+        volatile boolean denyPeeks;
+
+        volatile Exception flushError;
+
+        public int classify( Throwable error )
+        {
+            return ( error instanceof ResourceNotFoundException ) ? ERROR_NOT_FOUND : ERROR_OTHER;
+        }
+
+        @Override
+        protected void implPeek( PeekTask task )
+            throws Exception
+        {
+            if ( denyPeeks || !resources.containsKey( task.getLocation().toString() ) )
+            {
+                throw new ResourceNotFoundException();
+            }
+        }
+
+        @Override
+        protected void implGet( GetTask task )
+            throws Exception
+        {
+            gets.merge( task.getLocation().toString(), 1, Integer::sum );
+            getOrder.add( task.getLocation().toString() );
+            byte[] bytes = resources.get( task.getLocation().toString() );
+            if ( bytes == null )
+            {
+                throw new ResourceNotFoundException();
+            }
+            if ( getGate != null )
+            {
+                getGate.await();
+            }
+            utilGet( task, new ByteArrayInputStream( bytes ), true, bytes.length, false );
+        }
+
+        @Override
+        protected void implPut( PutTask task )
+            throws Exception
+        {
+            ByteArrayOutputStream baos = new ByteArrayOutputStream();
+            utilPut( task, baos, true );
+            resources.put( task.getLocation().toString(), baos.toByteArray() );
+            puts.merge( task.getLocation().toString(), 1, Integer::sum );
+        }
+
+        @Override
+        public void flush()
+            throws Exception
+        {
+            if ( flushError != null )
+            {
+                throw flushError;
+            }
+        }
+
+        @Override
+        protected void implClose()
+        {
+        }
+
+    }
+
+    private static class ResourceNotFoundException
+        extends Exception
+    {
+
+        private static final long serialVersionUID = 1L;
+
+    }
+
+    private static class FlatLayout
+        implements RepositoryLayout
+    {
+
+        public URI getLocation( Artifact artifact, boolean upload )
+        {
+            return URI.create( artifact.getArtifactId() + '.' + artifact.getExtension() );
+        }
+
+        public URI getLocation( Metadata metadata, boolean upload )
+        {
+            return URI.create( metadata.getType() );
+        }
+
+        public List<Checksum> getChecksums( Artifact artifact, boolean upload, URI location )
+        {
+            return Arrays.asList( Checksum.forLocation( location, "SHA-1" ), Checksum.forLocation( location, "MD5" ) );
+        }
+
+        public List<Checksum> getChecksums( Metadata metadata, boolean upload, URI location )
+        {
+            return Collections.emptyList();
+        }
+
+    }
+
+    private static class NoChecksumPolicyProvider
+        implements ChecksumPolicyProvider
+    {
+
+        public ChecksumPolicy newChecksumPolicy( RepositorySystemSession session, RemoteRepository repository,
+                                                 TransferResource resource, String policy )
+        {
+            return null;
+        }
+
+        public String getEffectiveChecksumPolicy( RepositorySystemSession session, String policy1, String policy2 )
+        {
+            return policy1;
+        }
+
+    }
+
+    private static class RecordingTransferListener
+        extends AbstractTransferListener
+    {
+
+        final List<TransferEvent.EventType> events = new CopyOnWriteArrayList<>();
+
+        final CountDownLatch initiated = new CountDownLatch( 1 );
+
+        @Override
+        public void transferInitiated( TransferEvent event )
+        {
+            events.add( event.getType() );
+            initiated.countDown();
+        }
+
+        @Override
+        public void transferSucceeded( TransferEvent event )
+        {
+            events.add( event.getType() );
+        }
+
+        @Override
+        public void transferFailed( TransferEvent event )
+        {
+            events.add( event.getType() );
+        }
+
+    }
+
+    private DefaultRepositorySystemSession session;
+
+    private RemoteRepository repository;
+
+    private MemoryTransporter transporter;
+
+    private BasicRepositoryConnector connector;
+
+    @Before
+    public void init()
+    {
+        session = TestUtils.newSession();
+        repository = new RemoteRepository.Builder( "test", "default", "memory:test" ).build();
+        transporter = new MemoryTransporter();
+    }
+
+    @After
+    public void exit()
+    {
+        if ( connector != null )
+        {
+            connector.close();
+        }
+    }
+
+    private BasicRepositoryConnector newConnector()
+        throws Exception
+    {
+        connector = newConnector( session );
+        return connector;
+    }
+
+    private static RepositorySystemSession newSingleFlightSession()
+    {
+        DefaultRepositorySystemSession session = TestUtils.newSession();
+        session.setConfigProperty( BasicRepositoryConnector.CONFIG_PROP_SINGLE_FLIGHT, true );
+        return session;
+    }
+
+    private BasicRepositoryConnector newConnector( RepositorySystemSession session )
+        throws Exception
+    {
+        return new BasicRepositoryConnector( session, repository, ( s, r ) -> transporter,
+                                             ( s, r ) -> new FlatLayout(), new NoChecksumPolicyProvider(),
+                                             Collections.emptyMap(), new TestFileProcessor(),
+                                             new TransferScheduler() );
+    }
+
+    private ArtifactUpload newUpload( String artifactId, String content )
+        throws Exception
+    {
+        Artifact artifact = new DefaultArtifact( "gid", artifactId, "jar", "1.0" );
+        File file = TestFileUtils.createTempFile( content );
+        return new ArtifactUpload( artifact, file );
+    }
+
+    private void putRemote( String artifactId, String content )
+        throws Exception
+    {
+        byte[] bytes = content.getBytes( StandardCharsets.UTF_8 );
+        transporter.resources.put( artifactId + ".jar", bytes );
+        String sha1 = String.valueOf( ChecksumUtils.calc( bytes, Collections.singleton( "SHA-1" ) ).get( "SHA-1" ) );
+        transporter.resources.put( artifactId + ".jar.sha1", sha1.getBytes( StandardCharsets.UTF_8 ) );
+    }
+
+    @Test
+    public void testIdenticalUploadsAreNotSkippedByDefault()
+        throws Exception
+    {
+        putRemote( "a", "content-a" );
+        ArtifactUpload upload = newUpload( "a", "content-a" );
+
+        newConnector().put( Collections.singletonList( upload ), null );
+
+        assertNull( upload.getException() );
+        assertEquals( Integer.valueOf( 1 ), transporter.puts.get( "a.jar" ) );
+    }
+
+    @Test
+    public void testUploadsFailIfTransporterCannotPublishThem()
+        throws Exception
+    {
+        transporter.flushError = new IOException( "publish failed" );
+        ArtifactUpload a = newUpload( "a", "content-a" );
+        ArtifactUpload b = newUpload( "b", "content-b" );
+        RecordingTransferListener listener = new RecordingTransferListener();
+        a.setListener( listener );
+
+        newConnector().put( Arrays.asList( a, b ), null );
+
+        assertNotNull( a.getException() );
+        assertSame( transporter.flushError, a.getException().getCause() );
+        assertNotNull( b.getException() );
+        assertEquals( TransferEvent.EventType.FAILED, listener.events.get( listener.events.size() - 1 ) );
+        assertFalse( listener.events.contains( TransferEvent.EventType.SUCCEEDED ) );
+    }
+
+    @Test
+    public void testSkipIdenticalUploads()
+        throws Exception
+    {
+        session.setConfigProperty( BasicRepositoryConnector.CONFIG_PROP_SKIP_IDENTICAL_UPLOADS, "true" );
+        putRemote( "same", "content-same" );
+        putRemote( "changed", "content-old" );
+        ArtifactUpload same = newUpload( "same", "content-same" );
+        ArtifactUpload changed = newUpload( "changed", "content-new" );
+        ArtifactUpload missing = newUpload( "missing", "content-missing" );
+
+        newConnector().put( Arrays.asList( same, changed, missing ), null );
+
+        assertNull( same.getException() );
+        assertNull( changed.getException() );
+        assertNull( missing.getException() );
+        assertNull( transporter.puts.get( "same.jar" ) );
+        assertNull( transporter.puts.get( "same.jar.sha1" ) );
+        assertEquals( Integer.valueOf( 1 ), transporter.puts.get( "changed.jar" ) );
+        assertEquals( Integer.valueOf( 1 ), transporter.puts.get( "changed.jar.sha1" ) );
+        assertEquals( Integer.valueOf( 1 ), transporter.puts.get( "missing.jar" ) );
+    }
+
+    @Test( timeout = 10000L )
+    public void testConcurrentDownloadsOfSameFileAreJoined()
+        throws Exception
+    {
+        putRemote( "a", "content-a" );
+        transporter.getGate = new CountDownLatch( 1 );
+        final File file = new File( TestFileUtils.createTempDir(), "a.jar" );
+        final Artifact artifact = new DefaultArtifact( "gid", "a", "jar", "1.0" );
+
+        final RecordingTransferListener listener1 = new RecordingTransferListener();
+        final ArtifactDownload download1 = new ArtifactDownload( artifact, null, file, null );
+        download1.setListener( listener1 );
+        final BasicRepositoryConnector connector1 = newConnector( newSingleFlightSession() );
+        Thread thread = new Thread( () -> connector1.get( Collections.singletonList( download1 ), null ) );
+        thread.start();
+
+        RecordingTransferListener listener2 = new RecordingTransferListener();
+        ArtifactDownload download2 = new ArtifactDownload( artifact, null, file, null );
+        download2.setListener( listener2 );
+        BasicRepositoryConnector connector2 = newConnector( newSingleFlightSession() );
+        Thread releaser = new Thread( () ->
+        {
+            try
+            {
+                listener2.initiated.await();
+                Thread.sleep( 200 );
+            }
+            catch ( InterruptedException e )
+            {
+                // release the gate anyway
+            }
+            transporter.getGate.countDown();
+        } );
+        releaser.start();
+        listener1.initiated.await();
+        connector2.get( Collections.singletonList( download2 ), null );
+        thread.join();
+        releaser.join();
+        connector1.close();
+        connector2.close();
+
+        assertNull( download1.getException() );
+        assertNull( download2.getException() );
+        assertEquals( "content-a", TestFileUtils.readString( file ) );
+        assertEquals( Integer.valueOf( 1 ), transporter.gets.get( "a.jar" ) );
+        assertEquals( Arrays.asList( TransferEvent.EventType.INITIATED, TransferEvent.EventType.SUCCEEDED ),
+                      listener2.events );
+        assertEquals( TransferEvent.EventType.SUCCEEDED, listener1.events.get( listener1.events.size() - 1 ) );
+    }
+
+    @Test( timeout = 10000L )
+    public void testJoiningDownloadChecksRemoteAccess()
+        throws Exception
+    {
+        putRemote( "a", "content-a" );
+        transporter.getGate = new CountDownLatch( 1 );
+        final File file = new File( TestFileUtils.createTempDir(), "a.jar" );
+        final Artifact artifact = new DefaultArtifact( "gid", "a", "jar", "1.0" );
+
+        final RecordingTransferListener listener1 = new RecordingTransferListener();
+        final ArtifactDownload download1 = new ArtifactDownload( artifact, null, file, null );
+        download1.setListener( listener1 );
+        final BasicRepositoryConnector connector1 = newConnector( newSingleFlightSession() );
+        Thread thread = new Thread( () -> connector1.get( Collections.singletonList( download1 ), null ) );
+        thread.start();
+        while ( transporter.gets.get( "a.jar" ) == null )
+        {
+            Thread.sleep( 10L );
+        }
+
+        transporter.denyPeeks = true;
+        ArtifactDownload download2 = new ArtifactDownload( artifact, null, file, null );
+        BasicRepositoryConnector connector2 = newConnector( newSingleFlightSession() );
+        try
+        {
+            connector2.get( Collections.singletonList( download2 ), null );
+        }
+        finally
+        {
+            transporter.getGate.countDown();
+            thread.join();
+            connector1.close();
+            connector2.close();
+        }
+
+        assertNull( download1.getException() );
+        assertNotNull( download2.getException() );
+    }
+
+    @Test
+    public void testDownloadsAreOrderedByPriority()
+        throws Exception
+    {
+        session.setConfigProperty( "aether.connector.basic.threads", "1" );
+        File dir = TestFileUtils.createTempDir();
+        List<ArtifactDownload> downloads = new ArrayList<>();
+        for ( String name : new String[] { "big.jar", "a.pom", "b.jar.asc", "urgent.zip", "c.pom" } )
+        {
+            transporter.resources.put( name, name.getBytes( StandardCharsets.UTF_8 ) );
+            String[] parts = name.split( "\\.", 2 );
+            Artifact artifact = new DefaultArtifact( "gid", parts[0], parts[1], "1.0" );
+            downloads.add( new ArtifactDownload( artifact, null, new File( dir, name ), null ) );
+        }
+        downloads.get( 3 ).setPriority( 1 );
+
+        newConnector().get( downloads, null );
+
+        for ( ArtifactDownload download : downloads )
+        {
+            assertNull( download.getException() );
+        }
+        assertEquals( Arrays.asList( "urgent.zip", "a.pom", "b.jar.asc", "c.pom", "big.jar" ),
+                      transporter.getOrder );
+    }
+
+}
@@ -28,10 +28,15 @@ import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.zip.CRC32;
 
 import org.eclipse.aether.internal.test.util.TestFileUtils;
+import org.eclipse.aether.spi.connector.checksum.ChecksumAlgorithm;
+import org.eclipse.aether.spi.connector.checksum.ChecksumAlgorithmFactory;
 import org.eclipse.aether.spi.connector.layout.RepositoryLayout;
 import org.junit.Before;
 import org.junit.Test;
@@ -47,16 +52,54 @@ public class ChecksumCalculatorTest
 
     private static final String MD5 = "MD5";
 
+    private static final String CRC32 = "CRC32";
+
     private File file;
 
+    private static class Crc32Factory
+        implements ChecksumAlgorithmFactory
+    {
+
+        public String getName()
+        {
+            return CRC32;
+        }
+
+        public ChecksumAlgorithm getAlgorithm()
+        {
+            final CRC32 crc = new CRC32();
+            return new ChecksumAlgorithm()
+            {
+                public void update( ByteBuffer input )
+                {
+                    while ( input.hasRemaining() )
+                    {
+                        crc.update( input.get() );
+                    }
+                }
+
+                public String checksum()
+                {
+                    return String.format( "%08x", crc.getValue() );
+                }
+            };
+        }
+
+    }
+
     private ChecksumCalculator newCalculator( String... algos )
+    {
+        return ChecksumCalculator.newInstance( file, newChecksums( algos ) );
+    }
+
+    private List<RepositoryLayout.Checksum> newChecksums( String... algos )
     {
         List<RepositoryLayout.Checksum> checksums = new ArrayList<>();
         for ( String algo : algos )
         {
             checksums.add( new RepositoryLayout.Checksum( algo, URI.create( "irrelevant" ) ) );
         }
-        return ChecksumCalculator.newInstance( file, checksums );
+        return checksums;
     }
 
     private ByteBuffer toBuffer( String data )
@@ -176,4 +219,112 @@ public class ChecksumCalculatorTest
         assertEquals( 4, digests.size() );
     }
 
+    @Test
+    public void testLinkedChecksumsForCompleteFile()
+    {
+        ChecksumCalculator calculator = newCalculator( SHA1, MD5 );
+        calculator.init( 12 );
+        Map<String, String> supplied = new HashMap<>();
+        supplied.put( SHA1, "supplied-sha1" );
+        supplied.put( MD5, "supplied-md5" );
+        Map<String, Object> digests = calculator.get( supplied );
+        assertNotNull( digests );
+        assertEquals( "supplied-sha1", digests.get( SHA1 ) );
+        assertEquals( "supplied-md5", digests.get( MD5 ) );
+        assertEquals( 2, digests.size() );
+    }
+
+    @Test
+    public void testLinkedChecksumsIncomplete()
+    {
+        ChecksumCalculator calculator = newCalculator( SHA1, MD5 );
+        calculator.init( 12 );
+        Map<String, Object> digests = calculator.get( Collections.singletonMap( SHA1, "supplied-sha1" ) );
+        assertNotNull( digests );
+        assertEquals( "2ef7bde608ce5404e97d5f042f95f89f1c232871", digests.get( SHA1 ) );
+        assertEquals( "ed076287532e86365e841e92bfc50d8c", digests.get( MD5 ) );
+        assertEquals( 2, digests.size() );
+    }
+
+    @Test
+    public void testLinkedChecksumsIgnoredAfterTransport()
+    {
+        ChecksumCalculator calculator = newCalculator( SHA1 );
+        calculator.init( 6 );
+        calculator.update( toBuffer( "World!" ) );
+        Map<String, Object> digests = calculator.get( Collections.singletonMap( SHA1, "supplied-sha1" ) );
+        assertNotNull( digests );
+        assertEquals( "2ef7bde608ce5404e97d5f042f95f89f1c232871", digests.get( SHA1 ) );
+    }
+
+    @Test
+    public void testResumeFromCheckpoint()
+    {
+        ChecksumCalculator calculator = newCalculator( SHA1 );
+        calculator.init( 0 );
+        // a digest state that does not match the file content reveals that the state was restored
+        calculator.update( toBuffer( "Howdy " ) );
+        calculator.checkpoint();
+
+        calculator = newCalculator( SHA1 );
+        calculator.init( 12 );
+        Map<String, Object> digests = calculator.get();
+        assertEquals( "556cf0de40102f34ef3bd2895d88d8ed24c9b2aa", digests.get( SHA1 ) );
+
+        calculator = newCalculator( SHA1 );
+        calculator.init( 12 );
+        digests = calculator.get();
+        assertEquals( "2ef7bde608ce5404e97d5f042f95f89f1c232871", digests.get( SHA1 ) );
+    }
+
+    @Test
+    public void testCheckpointIgnoredAfterModification()
+        throws Exception
+    {
+        ChecksumCalculator calculator = newCalculator( SHA1 );
+        calculator.init( 0 );
+        calculator.update( toBuffer( "Howdy " ) );
+        calculator.checkpoint();
+        TestFileUtils.writeString( file, "Hello World!!" );
+
+        calculator = newCalculator( SHA1 );
+        calculator.init( 12 );
+        Map<String, Object> digests = calculator.get();
+        assertEquals( "2ef7bde608ce5404e97d5f042f95f89f1c232871", digests.get( SHA1 ) );
+    }
+
+    @Test
+    public void testAlgorithmFactory()
+    {
+        ChecksumCalculator calculator =
+            ChecksumCalculator.newInstance( file, newChecksums( CRC32, SHA1 ),
+                                            Collections.singletonMap( CRC32, new Crc32Factory() ), -1L );
+        calculator.init( 0 );
+        calculator.update( toBuffer( "Hello World!" ) );
+        Map<String, Object> digests = calculator.get();
+        assertNotNull( digests );
+        assertEquals( "1c291ca3", digests.get( CRC32 ) );
+        assertEquals( "2ef7bde608ce5404e97d5f042f95f89f1c232871", digests.get( SHA1 ) );
+        assertEquals( 2, digests.size() );
+    }
+
+    @Test
+    public void testParallel()
+    {
+        Map<String, ChecksumAlgorithmFactory> factories = Collections.singletonMap( CRC32, new Crc32Factory() );
+        ChecksumCalculator calculator =
+            ChecksumCalculator.newInstance( file, newChecksums( SHA512, SHA256, SHA1, MD5, CRC32 ), factories, 0L );
+        calculator.init( 6, 12 );
+        calculator.update( toBuffer( "Wor" ) );
+        calculator.update( toBuffer( "ld!" ) );
+        Map<String, Object> digests = calculator.get();
+        assertNotNull( digests );
+        assertEquals( "861844d6704e8573fec34d967e20bcfef3d424cf48be04e6dc08f2bd58c729743371015ead891cc3cf1c9d34b49264b510751b1ff9e537937bc46b5d6ff4ecc8", digests.get( SHA512 ) );
+        assertEquals( "7f83b1657ff1fc53b92dc18148a1d65dfc2d4b1fa3d677284addd200126d9069", digests.get( SHA256 ) );
+        assertEquals( "2ef7bde608ce5404e97d5f042f95f89f1c232871", digests.get( SHA1 ) );
+        assertEquals( "ed076287532e86365e841e92bfc50d8c", digests.get( MD5 ) );
+        assertEquals( "1c291ca3", digests.get( CRC32 ) );
+        assertEquals( 5, digests.size() );
+    }
+
 }
@@ -33,6 +33,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.eclipse.aether.internal.test.util.TestFileUtils;
 import org.junit.After;
@@ -346,6 +347,39 @@ public class PartialFileTest
         assertEquals( 1, remoteAccessChecker.invocations );
     }
 
+    @Test( timeout = 10000L )
+    public void testResumeConcurrently_SameJvm_AwaitCompletion()
+        throws Exception
+    {
+        assertTrue( dstFile.setLastModified( System.currentTimeMillis() - 60L * 1000L ) );
+        final PartialFile owner = newPartialFile( 0, 500 );
+        assertNotNull( owner );
+        closeables.remove( owner );
+        final AtomicReference<Exception> error = new AtomicReference<>();
+        Thread completer = new Thread( () ->
+        {
+            try
+            {
+                Thread.sleep( 300 );
+                if ( !dstFile.setLastModified( System.currentTimeMillis() ) )
+                {
+                    throw new IOException( "Could not update destination file" );
+                }
+                owner.close();
+            }
+            catch ( Exception e )
+            {
+                error.set( e );
+            }
+        } );
+        completer.start();
+        assertNull( newPartialFile( 0, 500 ) );
+        completer.join();
+        assertNull( error.get() );
+        assertEquals( 1, remoteAccessChecker.invocations );
+        assertFalse( lockFile.exists() );
+    }
+
     @Test( timeout = 10000L )
     public void testResumeConcurrently_CheckRemoteAccess()
         throws Exception
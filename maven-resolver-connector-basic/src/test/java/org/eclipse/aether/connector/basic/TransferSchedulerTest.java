@@ -0,0 +1,223 @@
+package org.eclipse.aether.connector.basic;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static org.junit.Assert.*;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+public class TransferSchedulerTest
+{
+
+    private static class Probe
+    {
+
+        final AtomicInteger running = new AtomicInteger();
+
+        final AtomicInteger maxRunning = new AtomicInteger();
+
+        final CountDownLatch release = new CountDownLatch( 1 );
+
+        final List<String> started = new CopyOnWriteArrayList<>();
+
+        Runnable newTask( final String name, final CountDownLatch done )
+        {
+            return () ->
+            {
+                int current = running.incrementAndGet();
+                maxRunning.accumulateAndGet( current, Math::max );
+                started.add( name );
+                try
+                {
+                    release.await();
+                }
+                catch ( InterruptedException e )
+                {
+                    Thread.currentThread().interrupt();
+                }
+                running.decrementAndGet();
+                done.countDown();
+            };
+        }
+
+    }
+
+    private static void awaitRunning( TransferScheduler scheduler, int expected )
+        throws InterruptedException
+    {
+        for ( int i = 0; i < 500 && scheduler.getRunning() < expected; i++ )
+        {
+            Thread.sleep( 10 );
+        }
+    }
+
+    @Test( timeout = 10000L )
+    public void testPerHostLimitAcrossExecutors()
+        throws Exception
+    {
+        TransferScheduler scheduler = new TransferScheduler();
+        Probe probe = new Probe();
+        CountDownLatch done = new CountDownLatch( 10 );
+        Executor executor1 = scheduler.newExecutor( "session1", "host", 5, 3, 50 );
+        Executor executor2 = scheduler.newExecutor( "session2", "host", 5, 3, 50 );
+        for ( int i = 0; i < 5; i++ )
+        {
+            executor1.execute( probe.newTask( "a" + i, done ) );
+            executor2.execute( probe.newTask( "b" + i, done ) );
+        }
+        awaitRunning( scheduler, 3 );
+        Thread.sleep( 100 );
+        assertEquals( 3, scheduler.getRunning() );
+        probe.release.countDown();
+        assertTrue( done.await( 5, TimeUnit.SECONDS ) );
+        assertEquals( 3, probe.maxRunning.get() );
+    }
+
+    @Test( timeout = 10000L )
+    public void testHostsAreLimitedIndependently()
+        throws Exception
+    {
+        TransferScheduler scheduler = new TransferScheduler();
+        Probe probe = new Probe();
+        CountDownLatch done = new CountDownLatch( 4 );
+        Executor executor1 = scheduler.newExecutor( "session", "host1", 5, 2, 50 );
+        Executor executor2 = scheduler.newExecutor( "session", "host2", 5, 2, 50 );
+        for ( int i = 0; i < 2; i++ )
+        {
+            executor1.execute( probe.newTask( "a" + i, done ) );
+            executor2.execute( probe.newTask( "b" + i, done ) );
+        }
+        awaitRunning( scheduler, 4 );
+        assertEquals( 4, scheduler.getRunning() );
+        probe.release.countDown();
+        assertTrue( done.await( 5, TimeUnit.SECONDS ) );
+    }
+
+    @Test( timeout = 10000L )
+    public void testQueuesAreServedRoundRobin()
+        throws Exception
+    {
+        TransferScheduler scheduler = new TransferScheduler();
+        Probe blocker = new Probe();
+        CountDownLatch blocked = new CountDownLatch( 1 );
+        scheduler.newExecutor( "other", "host", 1, 1, 50 ).execute( blocker.newTask( "blocker", blocked ) );
+        awaitRunning( scheduler, 1 );
+
+        final List<String> order = new CopyOnWriteArrayList<>();
+        CountDownLatch done = new CountDownLatch( 6 );
+        Executor executor1 = scheduler.newExecutor( "session1", "host", 5, 1, 50 );
+        Executor executor2 = scheduler.newExecutor( "session2", "host", 5, 1, 50 );
+        for ( int i = 0; i < 3; i++ )
+        {
+            final String name = "a" + i;
+            executor1.execute( () ->
+            {
+                order.add( name );
+                done.countDown();
+            } );
+        }
+        for ( int i = 0; i < 3; i++ )
+        {
+            final String name = "b" + i;
+            executor2.execute( () ->
+            {
+                order.add( name );
+                done.countDown();
+            } );
+        }
+        blocker.release.countDown();
+        assertTrue( done.await( 5, TimeUnit.SECONDS ) );
+        assertEquals( "[a0, b0, a1, b1, a2, b2]", order.toString() );
+    }
+
+    @Test( timeout = 10000L )
+    public void testInlineTasksTakeASlot()
+        throws Exception
+    {
+        TransferScheduler scheduler = new TransferScheduler();
+        Probe probe = new Probe();
+        CountDownLatch done = new CountDownLatch( 2 );
+        Executor executor = scheduler.newExecutor( "session1", "host", 5, 5, 2 );
+        executor.execute( probe.newTask( "a0", done ) );
+        executor.execute( probe.newTask( "a1", done ) );
+        awaitRunning( scheduler, 2 );
+
+        final List<Thread> ranOn = new CopyOnWriteArrayList<>();
+        final AtomicInteger runningInline = new AtomicInteger( -1 );
+        final CountDownLatch inlineDone = new CountDownLatch( 1 );
+        Thread thread = new Thread( () ->
+        {
+            scheduler.newInlineExecutor( "session2", "other", 5, 2 ).execute( () ->
+            {
+                runningInline.set( probe.running.get() );
+                ranOn.add( Thread.currentThread() );
+            } );
+            inlineDone.countDown();
+        } );
+        thread.start();
+        assertFalse( inlineDone.await( 200, TimeUnit.MILLISECONDS ) );
+        assertEquals( -1, runningInline.get() );
+
+        probe.release.countDown();
+        assertTrue( inlineDone.await( 5, TimeUnit.SECONDS ) );
+        assertTrue( done.await( 5, TimeUnit.SECONDS ) );
+        assertTrue( runningInline.get() < 2 );
+        thread.join();
+        assertEquals( thread, ranOn.get( 0 ) );
+        assertEquals( 0, scheduler.getRunning() );
+    }
+
+    @Test( timeout = 10000L )
+    public void testTasksOfOneClientStartByRankAcrossExecutors()
+        throws Exception
+    {
+        TransferScheduler scheduler = new TransferScheduler();
+        Probe blocker = new Probe();
+        CountDownLatch blocked = new CountDownLatch( 1 );
+        scheduler.newExecutor( "other", "host", 1, 1, 50 ).execute( blocker.newTask( "blocker", blocked ) );
+        awaitRunning( scheduler, 1 );
+
+        final List<String> order = new CopyOnWriteArrayList<>();
+        CountDownLatch done = new CountDownLatch( 4 );
+        TransferScheduler.ClientExecutor executor1 = scheduler.newExecutor( "session", "host", 5, 1, 50 );
+        TransferScheduler.ClientExecutor executor2 = scheduler.newExecutor( "session", "host", 5, 1, 50 );
+        String[][] tasks = { { "a", "2" }, { "b", "1" }, { "c", "2" }, { "d", "0" } };
+        for ( int i = 0; i < tasks.length; i++ )
+        {
+            final String name = tasks[i][0];
+            ( i % 2 == 0 ? executor1 : executor2 ).execute( () ->
+            {
+                order.add( name );
+                done.countDown();
+            }, Long.parseLong( tasks[i][1] ) );
+        }
+        blocker.release.countDown();
+        assertTrue( done.await( 5, TimeUnit.SECONDS ) );
+        assertEquals( "[d, b, a, c]", order.toString() );
+    }
+
+}
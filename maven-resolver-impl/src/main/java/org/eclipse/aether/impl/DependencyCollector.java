@@ -56,4 +56,25 @@ public interface DependencyCollector
     CollectResult collectDependencies( RepositorySystemSession session, CollectRequest request )
         throws DependencyCollectionException;
 
+    /**
+     * Collects the transitive dependencies of some artifacts and builds a dependency graph, reusing the subtrees of a
+     * previous collection whose graph keys are unchanged. Subtrees containing snapshots or version ranges are not
+     * reused, the descriptors of the release versions in a reused subtree are not read again. The default
+     * implementation performs a regular collection.
+     * 
+     * @param session The repository session, must not be {@code null}.
+     * @param request The collection request, must not be {@code null}.
+     * @param previousResult The result of a previous incremental collection, may be {@code null}.
+     * @return The collection result, never {@code null}.
+     * @throws DependencyCollectionException If the dependency tree could not be built.
+     * @see RepositorySystem#collectDependencies(RepositorySystemSession, CollectRequest, CollectResult)
+     * @since 1.7.3
+     */
+    default CollectResult collectDependencies( RepositorySystemSession session, CollectRequest request,
+                                               CollectResult previousResult )
+        throws DependencyCollectionException
+    {
+        return collectDependencies( session, request );
+    }
+
 }
@@ -46,4 +46,16 @@ public interface RepositoryConnectorProvider
     RepositoryConnector newRepositoryConnector( RepositorySystemSession session, RemoteRepository repository )
         throws NoRepositoryConnectorException;
 
+    /**
+     * Closes the repository connectors this provider keeps open for reuse by the specified session and the sessions
+     * sharing its session data. Connectors still in use are closed once they are released.
+     * 
+     * @param session The repository system session whose connectors should be closed, must not be {@code null}.
+     * @since 1.7.3
+     */
+    default void closeRepositoryConnectors( RepositorySystemSession session )
+    {
+        // nothing kept open by default
+    }
+
 }
@@ -19,6 +19,8 @@ package org.eclipse.aether.impl;
  * under the License.
  */
 
+import java.util.Collection;
+
 import org.eclipse.aether.RepositorySystemSession;
 import org.eclipse.aether.artifact.Artifact;
 import org.eclipse.aether.metadata.Metadata;
@@ -43,6 +45,25 @@ public interface UpdateCheckManager
      */
     void checkArtifact( RepositorySystemSession session, UpdateCheck<Artifact, ArtifactTransferException> check );
 
+    /**
+     * Checks whether artifacts have to be updated from remote repositories. The result of each check is the same as if
+     * it had been passed to {@link #checkArtifact(RepositorySystemSession, UpdateCheck)} but state shared by the checks
+     * like the tracking files of a directory may only be evaluated once. The default implementation performs each check
+     * on its own.
+     * 
+     * @param session The repository system session during which the request is made, must not be {@code null}.
+     * @param checks The update check requests, must not be {@code null}.
+     * @since 1.7.3
+     */
+    default void checkArtifacts( RepositorySystemSession session,
+                                 Collection<? extends UpdateCheck<Artifact, ArtifactTransferException>> checks )
+    {
+        for ( UpdateCheck<Artifact, ArtifactTransferException> check : checks )
+        {
+            checkArtifact( session, check );
+        }
+    }
+
     /**
      * Updates the timestamp for the artifact contained in the update check.
      * 
@@ -75,6 +75,8 @@ import org.eclipse.aether.internal.impl.Maven2RepositoryLayoutFactory;
 import org.eclipse.aether.internal.impl.SimpleLocalRepositoryManagerFactory;
 import org.eclipse.aether.internal.impl.slf4j.Slf4jLoggerFactory;
 import org.eclipse.aether.named.providers.NoopNamedLockFactory;
+import org.eclipse.aether.spi.collection.CollectStatsSink;
+import org.eclipse.aether.spi.connector.checksum.ChecksumAlgorithmFactory;
 import org.eclipse.aether.spi.connector.checksum.ChecksumPolicyProvider;
 import org.eclipse.aether.spi.connector.layout.RepositoryLayoutFactory;
 import org.eclipse.aether.spi.connector.layout.RepositoryLayoutProvider;
@@ -82,7 +84,9 @@ import org.eclipse.aether.spi.connector.transport.TransporterProvider;
 import org.eclipse.aether.spi.io.FileProcessor;
 import org.eclipse.aether.spi.localrepo.LocalRepositoryManagerFactory;
 import org.eclipse.aether.spi.log.LoggerFactory;
+import org.eclipse.aether.spi.synccontext.LockWaitSink;
 import org.eclipse.aether.spi.synccontext.SyncContextFactory;
+import org.eclipse.aether.spi.update.UpdateCheckSink;
 import org.slf4j.ILoggerFactory;
 
 import com.google.inject.AbstractModule;
@@ -229,6 +233,13 @@ public class AetherModule
         return Collections.unmodifiableSet( factories );
     }
 
+    @Provides
+    @Singleton
+    Set<ChecksumAlgorithmFactory> provideChecksumAlgorithmFactories()
+    {
+        return Collections.emptySet();
+    }
+
     @Provides
     @Singleton
     Set<RepositoryListener> providesRepositoryListeners()
@@ -236,6 +247,27 @@ public class AetherModule
         return Collections.emptySet();
     }
 
+    @Provides
+    @Singleton
+    Set<CollectStatsSink> providesCollectStatsSinks()
+    {
+        return Collections.emptySet();
+    }
+
+    @Provides
+    @Singleton
+    Set<LockWaitSink> providesLockWaitSinks()
+    {
+        return Collections.emptySet();
+    }
+
+    @Provides
+    @Singleton
+    Set<UpdateCheckSink> providesUpdateCheckSinks()
+    {
+        return Collections.emptySet();
+    }
+
     private static class Slf4jModule
         extends AbstractModule
     {
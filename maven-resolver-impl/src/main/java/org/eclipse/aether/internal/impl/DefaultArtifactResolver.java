@@ -534,7 +534,8 @@ public class DefaultArtifactResolver
     private List<ArtifactDownload> gatherDownloads( RepositorySystemSession session, ResolutionGroup group )
     {
         LocalRepositoryManager lrm = session.getLocalRepositoryManager();
-        List<ArtifactDownload> downloads = new ArrayList<>();
+        List<ResolutionItem> items = new ArrayList<>();
+        List<UpdateCheck<Artifact, ArtifactTransferException>> checks = new ArrayList<>();
 
         for ( ResolutionItem item : group.items )
         {
@@ -577,20 +578,33 @@ public class DefaultArtifactResolver
                 check.setRepository( group.repository );
                 check.setPolicy( policy.getUpdatePolicy() );
                 item.updateCheck = check;
-                updateCheckManager.checkArtifact( session, check );
-                if ( !check.isRequired() )
-                {
-                    item.result.addException( check.getException() );
-                    continue;
-                }
+                checks.add( check );
             }
 
             download.setChecksumPolicy( policy.getChecksumPolicy() );
             download.setRepositories( item.repository.getMirroredRepositories() );
-            downloads.add( download );
+            items.add( item );
             item.download = download;
         }
 
+        if ( !checks.isEmpty() )
+        {
+            updateCheckManager.checkArtifacts( session, checks );
+        }
+
+        List<ArtifactDownload> downloads = new ArrayList<>( items.size() );
+        for ( ResolutionItem item : items )
+        {
+            UpdateCheck<Artifact, ArtifactTransferException> check = item.updateCheck;
+            if ( check != null && !check.isRequired() )
+            {
+                item.result.addException( check.getException() );
+                item.download = null;
+                continue;
+            }
+            downloads.add( item.download );
+        }
+
         return downloads;
     }
 
@@ -24,8 +24,10 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import static java.util.Objects.requireNonNull;
 
 import java.util.ListIterator;
@@ -257,9 +259,11 @@ public class DefaultDeployer
 
             syncContext.acquire( artifacts, Utils.combine( request.getMetadata(), metadatas ) );
 
+            Map<Metadata, MetadataDownload> downloads =
+                download( session, metadatas, repository, connector, catapult );
             for ( Metadata metadata : metadatas )
             {
-                upload( metadataUploads, session, metadata, repository, connector, catapult );
+                upload( metadataUploads, session, metadata, repository, connector, catapult, downloads );
                 processedMetadata.put( metadata, null );
             }
 
@@ -314,21 +318,29 @@ public class DefaultDeployer
 
             syncContext.acquire( null, metadatas );
 
+            downloads = download( session, metadatas, repository, connector, catapult );
             for ( Metadata metadata : metadatas )
             {
-                upload( metadataUploads, session, metadata, repository, connector, catapult );
+                upload( metadataUploads, session, metadata, repository, connector, catapult, downloads );
                 processedMetadata.put( metadata, null );
             }
 
+            metadatas = new ArrayList<>();
             for ( Metadata metadata : request.getMetadata() )
             {
                 if ( !processedMetadata.containsKey( metadata ) )
                 {
-                    upload( metadataUploads, session, metadata, repository, connector, catapult );
+                    metadatas.add( metadata );
                     processedMetadata.put( metadata, null );
                 }
             }
 
+            downloads = download( session, metadatas, repository, connector, catapult );
+            for ( Metadata metadata : metadatas )
+            {
+                upload( metadataUploads, session, metadata, repository, connector, catapult, downloads );
+            }
+
             connector.put( null, metadataUploads );
 
             for ( MetadataUpload upload : metadataUploads )
@@ -369,64 +381,119 @@ public class DefaultDeployer
         return generators;
     }
 
-    private void upload( Collection<MetadataUpload> metadataUploads, RepositorySystemSession session,
-                         Metadata metadata, RemoteRepository repository, RepositoryConnector connector,
-                         EventCatapult catapult )
-        throws DeploymentException
+    /**
+     * Downloads the remote copies of the specified metadata that need to be merged before their upload, using a
+     * single connector call for all of them.
+     *
+     * @return The downloads by metadata (compared by identity), never {@code null}.
+     */
+    private Map<Metadata, MetadataDownload> download( RepositorySystemSession session,
+                                                      Collection<? extends Metadata> metadatas,
+                                                      RemoteRepository repository, RepositoryConnector connector,
+                                                      EventCatapult catapult )
+    {
+        Map<Metadata, MetadataDownload> downloads = new IdentityHashMap<>();
+        Set<File> dstFiles = new HashSet<>();
+        for ( Metadata metadata : metadatas )
+        {
+            if ( !( metadata instanceof MergeableMetadata ) || ( (MergeableMetadata) metadata ).isMerged() )
+            {
+                continue;
+            }
+            File dstFile = getDstFile( session, metadata, repository );
+            if ( !dstFiles.add( dstFile ) )
+            {
+                // metadata sharing the file with an earlier one is downloaded after the earlier one got merged
+                continue;
+            }
+
+            RepositoryEvent.Builder event = new RepositoryEvent.Builder( session, EventType.METADATA_RESOLVING );
+            event.setTrace( catapult.getTrace() );
+            event.setMetadata( metadata );
+            event.setRepository( repository );
+            repositoryEventDispatcher.dispatch( event.build() );
+
+            event = new RepositoryEvent.Builder( session, EventType.METADATA_DOWNLOADING );
+            event.setTrace( catapult.getTrace() );
+            event.setMetadata( metadata );
+            event.setRepository( repository );
+            repositoryEventDispatcher.dispatch( event.build() );
+
+            RepositoryPolicy policy = getPolicy( session, repository, metadata.getNature() );
+            MetadataDownload download = new MetadataDownload();
+            download.setMetadata( metadata );
+            download.setFile( dstFile );
+            download.setChecksumPolicy( policy.getChecksumPolicy() );
+            download.setListener( SafeTransferListener.wrap( session ) );
+            download.setTrace( catapult.getTrace() );
+            downloads.put( metadata, download );
+        }
+
+        if ( downloads.isEmpty() )
+        {
+            return downloads;
+        }
+
+        connector.get( null, downloads.values() );
+
+        for ( MetadataDownload download : downloads.values() )
+        {
+            Metadata metadata = download.getMetadata();
+            File dstFile = download.getFile();
+            Exception error = download.getException();
+
+            if ( error instanceof MetadataNotFoundException )
+            {
+                dstFile.delete();
+            }
+
+            RepositoryEvent.Builder event = new RepositoryEvent.Builder( session, EventType.METADATA_DOWNLOADED );
+            event.setTrace( catapult.getTrace() );
+            event.setMetadata( metadata );
+            event.setRepository( repository );
+            event.setException( error );
+            event.setFile( dstFile );
+            repositoryEventDispatcher.dispatch( event.build() );
+
+            event = new RepositoryEvent.Builder( session, EventType.METADATA_RESOLVED );
+            event.setTrace( catapult.getTrace() );
+            event.setMetadata( metadata );
+            event.setRepository( repository );
+            event.setException( error );
+            event.setFile( dstFile );
+            repositoryEventDispatcher.dispatch( event.build() );
+        }
+
+        return downloads;
+    }
+
+    private File getDstFile( RepositorySystemSession session, Metadata metadata, RemoteRepository repository )
     {
         LocalRepositoryManager lrm = session.getLocalRepositoryManager();
         File basedir = lrm.getRepository().getBasedir();
+        return new File( basedir, lrm.getPathForRemoteMetadata( metadata, repository, "" ) );
+    }
 
-        File dstFile = new File( basedir, lrm.getPathForRemoteMetadata( metadata, repository, "" ) );
+    @SuppressWarnings( "checkstyle:parameternumber" )
+    private void upload( Collection<MetadataUpload> metadataUploads, RepositorySystemSession session,
+                         Metadata metadata, RemoteRepository repository, RepositoryConnector connector,
+                         EventCatapult catapult, Map<Metadata, MetadataDownload> downloads )
+        throws DeploymentException
+    {
+        File dstFile = getDstFile( session, metadata, repository );
 
         if ( metadata instanceof MergeableMetadata )
         {
             if ( !( (MergeableMetadata) metadata ).isMerged() )
             {
-                RepositoryEvent.Builder event = new RepositoryEvent.Builder( session, EventType.METADATA_RESOLVING );
-                event.setTrace( catapult.getTrace() );
-                event.setMetadata( metadata );
-                event.setRepository( repository );
-                repositoryEventDispatcher.dispatch( event.build() );
-
-                event = new RepositoryEvent.Builder( session, EventType.METADATA_DOWNLOADING );
-                event.setTrace( catapult.getTrace() );
-                event.setMetadata( metadata );
-                event.setRepository( repository );
-                repositoryEventDispatcher.dispatch( event.build() );
-
-                RepositoryPolicy policy = getPolicy( session, repository, metadata.getNature() );
-                MetadataDownload download = new MetadataDownload();
-                download.setMetadata( metadata );
-                download.setFile( dstFile );
-                download.setChecksumPolicy( policy.getChecksumPolicy() );
-                download.setListener( SafeTransferListener.wrap( session ) );
-                download.setTrace( catapult.getTrace() );
-                connector.get( null, Collections.singletonList( download ) );
-
-                Exception error = download.getException();
-
-                if ( error instanceof MetadataNotFoundException )
+                MetadataDownload download = downloads.get( metadata );
+                if ( download == null )
                 {
-                    dstFile.delete();
+                    download = download( session, Collections.singletonList( metadata ), repository, connector,
+                                         catapult ).get( metadata );
                 }
 
-                event = new RepositoryEvent.Builder( session, EventType.METADATA_DOWNLOADED );
-                event.setTrace( catapult.getTrace() );
-                event.setMetadata( metadata );
-                event.setRepository( repository );
-                event.setException( error );
-                event.setFile( dstFile );
-                repositoryEventDispatcher.dispatch( event.build() );
-
-                event = new RepositoryEvent.Builder( session, EventType.METADATA_RESOLVED );
-                event.setTrace( catapult.getTrace() );
-                event.setMetadata( metadata );
-                event.setRepository( repository );
-                event.setException( error );
-                event.setFile( dstFile );
-                repositoryEventDispatcher.dispatch( event.build() );
-
+                Exception error = download.getException();
                 if ( error != null && !( error instanceof MetadataNotFoundException ) )
                 {
                     throw new DeploymentException( "Failed to retrieve remote metadata " + metadata + ": "
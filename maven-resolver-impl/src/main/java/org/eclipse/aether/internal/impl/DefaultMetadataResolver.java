@@ -24,12 +24,14 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
 import static java.util.Objects.requireNonNull;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.Executor;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.SynchronousQueue;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 
@@ -95,6 +97,11 @@ public class DefaultMetadataResolver
 
     private OfflineController offlineController;
 
+    /**
+     * The executor shared by all resolutions, its idle threads time out so it never needs to be shut down.
+     */
+    private volatile Executor executor;
+
     public DefaultMetadataResolver()
     {
         // enables default constructor
@@ -344,40 +351,38 @@ public class DefaultMetadataResolver
 
         if ( !tasks.isEmpty() )
         {
-            int threads = ConfigUtils.getInteger( session, 4, CONFIG_PROP_THREADS );
-            Executor executor = getExecutor( Math.min( tasks.size(), threads ) );
-            try
+            Map<RemoteRepository, ResolveGroupTask> groups = new LinkedHashMap<>();
+            for ( ResolveTask task : tasks )
             {
-                RunnableErrorForwarder errorForwarder = new RunnableErrorForwarder();
-
-                for ( ResolveTask task : tasks )
+                RemoteRepository repository = task.request.getRepository();
+                ResolveGroupTask group = groups.get( repository );
+                if ( group == null )
                 {
-                    executor.execute( errorForwarder.wrap( task ) );
+                    group = new ResolveGroupTask( session, repository );
+                    groups.put( repository, group );
                 }
+                group.tasks.add( task );
+            }
 
-                errorForwarder.await();
+            int threads = ConfigUtils.getInteger( session, 4, CONFIG_PROP_THREADS );
+            execute( groups.values(), threads );
 
-                for ( ResolveTask task : tasks )
+            for ( ResolveTask task : tasks )
+            {
+                /*
+                 * NOTE: Touch after registration with local repo to ensure concurrent resolution is not
+                 * rejected with "already updated" via session data when actual update to local repo is
+                 * still pending.
+                 */
+                for ( UpdateCheck<Metadata, MetadataTransferException> check : task.checks )
                 {
-                    /*
-                     * NOTE: Touch after registration with local repo to ensure concurrent resolution is not
-                     * rejected with "already updated" via session data when actual update to local repo is
-                     * still pending.
-                     */
-                    for ( UpdateCheck<Metadata, MetadataTransferException> check : task.checks )
-                    {
-                        updateCheckManager.touchMetadata( task.session, check.setException( task.exception ) );
-                    }
+                    updateCheckManager.touchMetadata( task.session, check.setException( task.exception ) );
+                }
 
-                    metadataDownloaded( session, task.trace, task.request.getMetadata(), task.request.getRepository(),
-                            task.metadataFile, task.exception );
+                metadataDownloaded( session, task.trace, task.request.getMetadata(), task.request.getRepository(),
+                        task.metadataFile, task.exception );
 
-                    task.result.setException( task.exception );
-                }
-            }
-            finally
-            {
-                shutdown( executor );
+                task.result.setException( task.exception );
             }
             for ( ResolveTask task : tasks )
             {
@@ -501,32 +506,108 @@ public class DefaultMetadataResolver
         repositoryEventDispatcher.dispatch( event.build() );
     }
 
-    private Executor getExecutor( int threads )
+    /**
+     * Runs the specified tasks using up to the given number of threads, the calling thread being one of them.
+     */
+    private void execute( Collection<? extends Runnable> tasks, int threads )
     {
-        if ( threads <= 1 )
+        final Queue<Runnable> queue = new ConcurrentLinkedQueue<>( tasks );
+        Runnable worker = () ->
         {
-            return command -> command.run();
+            for ( Runnable task = queue.poll(); task != null; task = queue.poll() )
+            {
+                task.run();
+            }
+        };
+
+        RunnableErrorForwarder errorForwarder = new RunnableErrorForwarder();
+        int workers = Math.min( tasks.size(), threads );
+        for ( int i = 1; i < workers; i++ )
+        {
+            getExecutor().execute( errorForwarder.wrap( worker ) );
+        }
+        try
+        {
+            worker.run();
         }
-        else
+        finally
         {
-            return new ThreadPoolExecutor( threads, threads, 3, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(),
-                                           new WorkerThreadFactory( null ) );
+            errorForwarder.await();
         }
     }
 
-    private void shutdown( Executor executor )
+    private Executor getExecutor()
     {
-        if ( executor instanceof ExecutorService )
+        Executor executor = this.executor;
+        if ( executor == null )
         {
-            ( (ExecutorService) executor ).shutdown();
+            synchronized ( this )
+            {
+                executor = this.executor;
+                if ( executor == null )
+                {
+                    executor = new ThreadPoolExecutor( 0, Integer.MAX_VALUE, 3, TimeUnit.SECONDS,
+                                                       new SynchronousQueue<Runnable>(),
+                                                       new WorkerThreadFactory( null ) );
+                    this.executor = executor;
+                }
+            }
         }
+        return executor;
     }
 
-    class ResolveTask
+    /**
+     * Downloads the metadata of several resolve tasks from the same repository with a single connector call, leaving
+     * the parallelism to the connector.
+     */
+    class ResolveGroupTask
         implements Runnable
     {
         final RepositorySystemSession session;
 
+        final RemoteRepository repository;
+
+        final List<ResolveTask> tasks = new ArrayList<>();
+
+        ResolveGroupTask( RepositorySystemSession session, RemoteRepository repository )
+        {
+            this.session = session;
+            this.repository = repository;
+        }
+
+        public void run()
+        {
+            List<MetadataDownload> downloads = new ArrayList<>( tasks.size() );
+            for ( ResolveTask task : tasks )
+            {
+                downloads.add( task.newDownload() );
+            }
+
+            try ( RepositoryConnector connector =
+                          repositoryConnectorProvider.newRepositoryConnector( session, repository ) )
+            {
+                connector.get( null, downloads );
+            }
+            catch ( NoRepositoryConnectorException e )
+            {
+                for ( ResolveTask task : tasks )
+                {
+                    task.exception = new MetadataTransferException( task.request.getMetadata(), repository, e );
+                }
+                return;
+            }
+
+            for ( ResolveTask task : tasks )
+            {
+                task.downloaded();
+            }
+        }
+    }
+
+    class ResolveTask
+    {
+        final RepositorySystemSession session;
+
         final RequestTrace trace;
 
         final MetadataResult result;
@@ -539,6 +620,8 @@ public class DefaultMetadataResolver
 
         final List<UpdateCheck<Metadata, MetadataTransferException>> checks;
 
+        MetadataDownload download;
+
         volatile MetadataTransferException exception;
 
         ResolveTask( RepositorySystemSession session, RequestTrace trace, MetadataResult result,
@@ -554,53 +637,41 @@ public class DefaultMetadataResolver
             this.checks = checks;
         }
 
-        public void run()
+        MetadataDownload newDownload()
         {
-            Metadata metadata = request.getMetadata();
-            RemoteRepository requestRepository = request.getRepository();
-
-            try
+            List<RemoteRepository> repositories = new ArrayList<>();
+            for ( UpdateCheck<Metadata, MetadataTransferException> check : checks )
             {
-                List<RemoteRepository> repositories = new ArrayList<>();
-                for ( UpdateCheck<Metadata, MetadataTransferException> check : checks )
-                {
-                    repositories.add( check.getAuthoritativeRepository() );
-                }
+                repositories.add( check.getAuthoritativeRepository() );
+            }
 
-                MetadataDownload download = new MetadataDownload();
-                download.setMetadata( metadata );
-                download.setRequestContext( request.getRequestContext() );
-                download.setFile( metadataFile );
-                download.setChecksumPolicy( policy );
-                download.setRepositories( repositories );
-                download.setListener( SafeTransferListener.wrap( session ) );
-                download.setTrace( trace );
-
-                try ( RepositoryConnector connector =
-                              repositoryConnectorProvider.newRepositoryConnector( session, requestRepository ) )
-                {
-                    connector.get( null, Collections.singletonList( download ) );
-                }
+            download = new MetadataDownload();
+            download.setMetadata( request.getMetadata() );
+            download.setRequestContext( request.getRequestContext() );
+            download.setFile( metadataFile );
+            download.setChecksumPolicy( policy );
+            download.setRepositories( repositories );
+            download.setListener( SafeTransferListener.wrap( session ) );
+            download.setTrace( trace );
+            return download;
+        }
 
-                exception = download.getException();
+        void downloaded()
+        {
+            exception = download.getException();
 
-                if ( exception == null )
-                {
+            if ( exception == null )
+            {
 
-                    List<String> contexts = Collections.singletonList( request.getRequestContext() );
-                    LocalMetadataRegistration registration =
-                        new LocalMetadataRegistration( metadata, requestRepository, contexts );
+                List<String> contexts = Collections.singletonList( request.getRequestContext() );
+                LocalMetadataRegistration registration =
+                    new LocalMetadataRegistration( request.getMetadata(), request.getRepository(), contexts );
 
-                    session.getLocalRepositoryManager().add( session, registration );
-                }
-                else if ( request.isDeleteLocalCopyIfMissing() && exception instanceof MetadataNotFoundException )
-                {
-                    download.getFile().delete();
-                }
+                session.getLocalRepositoryManager().add( session, registration );
             }
-            catch ( NoRepositoryConnectorException e )
+            else if ( request.isDeleteLocalCopyIfMissing() && exception instanceof MetadataNotFoundException )
             {
-                exception = new MetadataTransferException( metadata, requestRepository, e );
+                download.getFile().delete();
             }
         }
     }
@@ -30,6 +30,7 @@ import javax.inject.Named;
 import javax.inject.Singleton;
 
 import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.SessionData;
 import org.eclipse.aether.impl.RepositoryConnectorProvider;
 import org.eclipse.aether.repository.Authentication;
 import org.eclipse.aether.repository.Proxy;
@@ -39,6 +40,7 @@ import org.eclipse.aether.spi.connector.RepositoryConnectorFactory;
 import org.eclipse.aether.spi.locator.Service;
 import org.eclipse.aether.spi.locator.ServiceLocator;
 import org.eclipse.aether.transfer.NoRepositoryConnectorException;
+import org.eclipse.aether.util.ConfigUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -52,6 +54,10 @@ public class DefaultRepositoryConnectorProvider
 
     private static final Logger LOGGER = LoggerFactory.getLogger( DefaultRepositoryConnectorProvider.class );
 
+    static final String CONFIG_PROP_POOL = "aether.connector.pool";
+
+    private static final String SESSION_POOL = RepositoryConnectorPool.class.getName();
+
     private Collection<RepositoryConnectorFactory> connectorFactories = new ArrayList<>();
 
     public DefaultRepositoryConnectorProvider()
@@ -95,18 +101,54 @@ public class DefaultRepositoryConnectorProvider
     {
         requireNonNull( repository, "remote repository cannot be null" );
 
-        PrioritizedComponents<RepositoryConnectorFactory> factories = new PrioritizedComponents<>( session );
-        for ( RepositoryConnectorFactory factory : this.connectorFactories )
+        if ( ConfigUtils.getBoolean( session, false, CONFIG_PROP_POOL ) )
+        {
+            return getPool( session ).acquire( session, repository, this::newConnector );
+        }
+        return newConnector( session, repository );
+    }
+
+    public void closeRepositoryConnectors( RepositorySystemSession session )
+    {
+        SessionData data = session.getData();
+        Object pool = data.get( SESSION_POOL );
+        if ( pool instanceof RepositoryConnectorPool && data.set( SESSION_POOL, pool, null ) )
+        {
+            ( (RepositoryConnectorPool) pool ).close();
+        }
+    }
+
+    private RepositoryConnectorPool getPool( RepositorySystemSession session )
+    {
+        SessionData data = session.getData();
+        Object pool = data.get( SESSION_POOL );
+        while ( !( pool instanceof RepositoryConnectorPool ) )
         {
-            factories.add( factory, factory.getPriority() );
+            Object old = pool;
+            pool = new RepositoryConnectorPool();
+            if ( data.set( SESSION_POOL, old, pool ) )
+            {
+                break;
+            }
+            pool = data.get( SESSION_POOL );
         }
+        return (RepositoryConnectorPool) pool;
+    }
+
+    private RepositoryConnector newConnector( RepositorySystemSession session, RemoteRepository repository )
+        throws NoRepositoryConnectorException
+    {
+        PrioritizedComponents<RepositoryConnectorFactory> factories =
+            PrioritizedComponents.reuse( session, RepositoryConnectorFactory.class.getName(), this.connectorFactories,
+                                         RepositoryConnectorFactory::getPriority );
 
         List<NoRepositoryConnectorException> errors = new ArrayList<>();
-        for ( PrioritizedComponent<RepositoryConnectorFactory> factory : factories.getEnabled() )
+        for ( PrioritizedComponent<RepositoryConnectorFactory> factory : factories.getEnabled( repository ) )
         {
             try
             {
                 RepositoryConnector connector = factory.getComponent().newInstance( session, repository );
+                factories.setPreferred( repository, factory );
 
                 if ( LOGGER.isDebugEnabled() )
                 {
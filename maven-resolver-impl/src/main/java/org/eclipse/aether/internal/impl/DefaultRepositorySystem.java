@@ -49,6 +49,7 @@ import org.eclipse.aether.impl.Installer;
 import org.eclipse.aether.impl.LocalRepositoryProvider;
 import org.eclipse.aether.impl.MetadataResolver;
 import org.eclipse.aether.impl.RemoteRepositoryManager;
+import org.eclipse.aether.impl.RepositoryConnectorProvider;
 import org.eclipse.aether.spi.synccontext.SyncContextFactory;
 import org.eclipse.aether.impl.VersionRangeResolver;
 import org.eclipse.aether.impl.VersionResolver;
@@ -113,6 +114,8 @@ public class DefaultRepositorySystem
 
     private RemoteRepositoryManager remoteRepositoryManager;
 
+    private RepositoryConnectorProvider repositoryConnectorProvider;
+
     public DefaultRepositorySystem()
     {
         // enables default constructor
@@ -125,7 +128,8 @@ public class DefaultRepositorySystem
                              ArtifactDescriptorReader artifactDescriptorReader,
                              DependencyCollector dependencyCollector, Installer installer, Deployer deployer,
                              LocalRepositoryProvider localRepositoryProvider, SyncContextFactory syncContextFactory,
-                             RemoteRepositoryManager remoteRepositoryManager )
+                             RemoteRepositoryManager remoteRepositoryManager,
+                             RepositoryConnectorProvider repositoryConnectorProvider )
     {
         setVersionResolver( versionResolver );
         setVersionRangeResolver( versionRangeResolver );
@@ -138,6 +142,7 @@ public class DefaultRepositorySystem
         setLocalRepositoryProvider( localRepositoryProvider );
         setSyncContextFactory( syncContextFactory );
         setRemoteRepositoryManager( remoteRepositoryManager );
+        setRepositoryConnectorProvider( repositoryConnectorProvider );
     }
 
     public void initService( ServiceLocator locator )
@@ -153,6 +158,7 @@ public class DefaultRepositorySystem
         setLocalRepositoryProvider( locator.getService( LocalRepositoryProvider.class ) );
         setRemoteRepositoryManager( locator.getService( RemoteRepositoryManager.class ) );
         setSyncContextFactory( locator.getService( SyncContextFactory.class ) );
+        setRepositoryConnectorProvider( locator.getService( RepositoryConnectorProvider.class ) );
     }
 
     /**
@@ -235,6 +241,14 @@ public class DefaultRepositorySystem
         return this;
     }
 
+    public DefaultRepositorySystem setRepositoryConnectorProvider(
+            RepositoryConnectorProvider repositoryConnectorProvider )
+    {
+        this.repositoryConnectorProvider = requireNonNull(
+                repositoryConnectorProvider, "repository connector provider cannot be null" );
+        return this;
+    }
+
     public VersionResult resolveVersion( RepositorySystemSession session, VersionRequest request )
         throws VersionResolutionException
     {
@@ -300,6 +314,16 @@ public class DefaultRepositorySystem
         return dependencyCollector.collectDependencies( session, request );
     }
 
+    public CollectResult collectDependencies( RepositorySystemSession session, CollectRequest request,
+                                              CollectResult previousResult )
+        throws DependencyCollectionException
+    {
+        validateSession( session );
+        requireNonNull( request, "request cannot be null" );
+
+        return dependencyCollector.collectDependencies( session, request, previousResult );
+    }
+
     public DependencyResult resolveDependencies( RepositorySystemSession session, DependencyRequest request )
         throws DependencyResolutionException
     {
@@ -454,6 +478,12 @@ public class DefaultRepositorySystem
         return builder.build();
     }
 
+    public void closeRepositoryConnectors( RepositorySystemSession session )
+    {
+        requireNonNull( session, "repository system session cannot be null" );
+        repositoryConnectorProvider.closeRepositoryConnectors( session );
+    }
+
     private void validateSession( RepositorySystemSession session )
     {
         requireNonNull( session, "repository system session cannot be null" );
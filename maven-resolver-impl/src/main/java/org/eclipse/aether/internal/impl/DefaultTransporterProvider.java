@@ -93,18 +93,17 @@ public final class DefaultTransporterProvider
         requireNonNull( "session", "session cannot be null" );
         requireNonNull( "repository", "repository cannot be null" );
 
-        PrioritizedComponents<TransporterFactory> factories = new PrioritizedComponents<>( session );
-        for ( TransporterFactory factory : this.factories )
-        {
-            factories.add( factory, factory.getPriority() );
-        }
+        PrioritizedComponents<TransporterFactory> factories =
+            PrioritizedComponents.reuse( session, TransporterFactory.class.getName(), this.factories,
+                                         TransporterFactory::getPriority );
 
         List<NoTransporterException> errors = new ArrayList<>();
-        for ( PrioritizedComponent<TransporterFactory> factory : factories.getEnabled() )
+        for ( PrioritizedComponent<TransporterFactory> factory : factories.getEnabled( repository ) )
         {
             try
             {
                 Transporter transporter = factory.getComponent().newInstance( session, repository );
+                factories.setPreferred( repository, factory );
 
                 if ( LOGGER.isDebugEnabled() )
                 {
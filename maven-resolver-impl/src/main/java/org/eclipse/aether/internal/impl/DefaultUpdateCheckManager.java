@@ -20,14 +20,19 @@ package org.eclipse.aether.internal.impl;
  */
 
 import java.io.File;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Map;
 import static java.util.Objects.requireNonNull;
 import java.util.Properties;
 import java.util.Set;
 import java.util.TreeSet;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import javax.inject.Inject;
 import javax.inject.Named;
@@ -46,6 +51,7 @@ import org.eclipse.aether.repository.RemoteRepository;
 import org.eclipse.aether.resolution.ResolutionErrorPolicy;
 import org.eclipse.aether.spi.locator.Service;
 import org.eclipse.aether.spi.locator.ServiceLocator;
+import org.eclipse.aether.spi.update.UpdateCheckSink;
 import org.eclipse.aether.transfer.ArtifactNotFoundException;
 import org.eclipse.aether.transfer.ArtifactTransferException;
 import org.eclipse.aether.transfer.MetadataNotFoundException;
@@ -68,6 +74,8 @@ public class DefaultUpdateCheckManager
 
     private UpdatePolicyAnalyzer updatePolicyAnalyzer;
 
+    private final Collection<UpdateCheckSink> checkSinks = new CopyOnWriteArrayList<>();
+
     private static final String UPDATED_KEY_SUFFIX = ".lastUpdated";
 
     private static final String ERROR_KEY_SUFFIX = ".error";
@@ -84,22 +92,29 @@ public class DefaultUpdateCheckManager
 
     private static final int STATE_DISABLED = 2;
 
+    static final String CONFIG_PROP_STATUS_STORE = "aether.updateCheckManager.statusStore";
+
+    private static final String STATUS_STORE_LOG = "log";
+
     public DefaultUpdateCheckManager()
     {
         // default ctor for ServiceLocator
     }
 
     @Inject
-    DefaultUpdateCheckManager( TrackingFileManager trackingFileManager, UpdatePolicyAnalyzer updatePolicyAnalyzer )
+    DefaultUpdateCheckManager( TrackingFileManager trackingFileManager, UpdatePolicyAnalyzer updatePolicyAnalyzer,
+                               Set<UpdateCheckSink> checkSinks )
     {
         setTrackingFileManager( trackingFileManager );
         setUpdatePolicyAnalyzer( updatePolicyAnalyzer );
+        setUpdateCheckSinks( checkSinks );
     }
 
     public void initService( ServiceLocator locator )
     {
         setTrackingFileManager( locator.getService( TrackingFileManager.class ) );
         setUpdatePolicyAnalyzer( locator.getService( UpdatePolicyAnalyzer.class ) );
+        setUpdateCheckSinks( locator.getServices( UpdateCheckSink.class ) );
     }
 
     public DefaultUpdateCheckManager setTrackingFileManager( TrackingFileManager trackingFileManager )
@@ -114,10 +129,70 @@ public class DefaultUpdateCheckManager
         return this;
     }
 
+    /**
+     * @since 1.7.3
+     */
+    public DefaultUpdateCheckManager addUpdateCheckSink( UpdateCheckSink checkSink )
+    {
+        checkSinks.add( requireNonNull( checkSink, "update check sink cannot be null" ) );
+        return this;
+    }
+
+    /**
+     * @since 1.7.3
+     */
+    public DefaultUpdateCheckManager setUpdateCheckSinks( Collection<UpdateCheckSink> checkSinks )
+    {
+        this.checkSinks.clear();
+        if ( checkSinks != null )
+        {
+            this.checkSinks.addAll( checkSinks );
+        }
+        return this;
+    }
+
     public void checkArtifact( RepositorySystemSession session, UpdateCheck<Artifact, ArtifactTransferException> check )
     {
         requireNonNull( session, "session cannot be null" );
         requireNonNull( check, "check cannot be null" );
+        checkArtifact( new ArtifactChecks( session, Collections.singletonList( check ) ), check );
+    }
+
+    public void checkArtifacts( RepositorySystemSession session,
+                                Collection<? extends UpdateCheck<Artifact, ArtifactTransferException>> checks )
+    {
+        requireNonNull( session, "session cannot be null" );
+        requireNonNull( checks, "checks cannot be null" );
+        ArtifactChecks batch = new ArtifactChecks( session, checks );
+        for ( UpdateCheck<Artifact, ArtifactTransferException> check : checks )
+        {
+            requireNonNull( check, "check cannot be null" );
+            checkArtifact( batch, check );
+        }
+    }
+
+    private void checkArtifact( ArtifactChecks batch, UpdateCheck<Artifact, ArtifactTransferException> check )
+    {
+        long start = System.nanoTime();
+        doCheckArtifact( batch, check );
+        long time = System.nanoTime() - start;
+        for ( UpdateCheckSink sink : checkSinks )
+        {
+            try
+            {
+                sink.artifactChecked( batch.session, check.getItem(), check.getRepository(), check.isRequired(),
+                                      time );
+            }
+            catch ( RuntimeException e )
+            {
+                LOGGER.warn( "Failed to report update check to {}", sink, e );
+            }
+        }
+    }
+
+    private void doCheckArtifact( ArtifactChecks batch, UpdateCheck<Artifact, ArtifactTransferException> check )
+    {
+        RepositorySystemSession session = batch.session;
         if ( check.getLocalLastUpdated() != 0
             && !isUpdatedRequired( session, check.getLocalLastUpdated(), check.getPolicy() ) )
         {
@@ -136,10 +211,11 @@ public class DefaultUpdateCheckManager
         boolean fileExists = check.isFileValid() && artifactFile.exists();
 
         File touchFile = getArtifactTouchFile( artifactFile );
-        Properties props = read( touchFile );
+        Properties props = batch.read( touchFile );
 
-        String updateKey = getUpdateKey( session, artifactFile, repository );
-        String dataKey = getDataKey( repository );
+        String repoKey = batch.getRepoKey( repository );
+        String updateKey = artifactFile.getAbsolutePath() + '|' + repoKey;
+        String dataKey = batch.getDataKey( repository );
 
         String error = getError( props, dataKey );
 
@@ -165,15 +241,14 @@ public class DefaultUpdateCheckManager
         else
         {
             // artifact could not be transferred
-            String transferKey = getTransferKey( session, repository );
-            lastUpdated = getLastUpdated( props, transferKey );
+            lastUpdated = getLastUpdated( props, repoKey );
         }
 
         if ( lastUpdated == 0L )
         {
             check.setRequired( true );
         }
-        else if ( isAlreadyUpdated( session, updateKey ) )
+        else if ( batch.isAlreadyUpdated( updateKey ) )
         {
             LOGGER.debug( "Skipped remote request for {}, already updated during this session", check.getItem() );
 
@@ -245,6 +320,25 @@ public class DefaultUpdateCheckManager
     {
         requireNonNull( session, "session cannot be null" );
         requireNonNull( check, "check cannot be null" );
+        long start = System.nanoTime();
+        doCheckMetadata( session, check );
+        long time = System.nanoTime() - start;
+        for ( UpdateCheckSink sink : checkSinks )
+        {
+            try
+            {
+                sink.metadataChecked( session, check.getItem(), check.getRepository(), check.isRequired(), time );
+            }
+            catch ( RuntimeException e )
+            {
+                LOGGER.warn( "Failed to report update check to {}", sink, e );
+            }
+        }
+    }
+
+    private void doCheckMetadata( RepositorySystemSession session,
+                                  UpdateCheck<Metadata, MetadataTransferException> check )
+    {
         if ( check.getLocalLastUpdated() != 0
             && !isUpdatedRequired( session, check.getLocalLastUpdated(), check.getPolicy() ) )
         {
@@ -263,7 +357,7 @@ public class DefaultUpdateCheckManager
         boolean fileExists = check.isFileValid() && metadataFile.exists();
 
         File touchFile = getMetadataTouchFile( metadataFile );
-        Properties props = read( touchFile );
+        Properties props = read( getStatusLog( session ), touchFile, true );
 
         String updateKey = getUpdateKey( session, metadataFile, repository );
         String dataKey = getDataKey( metadataFile );
@@ -521,9 +615,35 @@ public class DefaultUpdateCheckManager
         return updatePolicyAnalyzer.isUpdatedRequired( session, lastModified, policy );
     }
 
-    private Properties read( File touchFile )
+    private UpdateStatusLog getStatusLog( RepositorySystemSession session )
+    {
+        String store = ConfigUtils.getString( session, "files", CONFIG_PROP_STATUS_STORE );
+        if ( STATUS_STORE_LOG.equalsIgnoreCase( store ) )
+        {
+            return UpdateStatusLog.forRepository( session.getLocalRepository().getBasedir() );
+        }
+        return null;
+    }
+
+    /**
+     * Reads the update status from the tracking file or, if enabled, the update status log. In the latter case, an
+     * existing tracking file is migrated into the log and deleted.
+     */
+    private Properties read( UpdateStatusLog log, File touchFile, boolean probe )
     {
-        Properties props = trackingFileManager.read( touchFile );
+        Properties props = ( log != null ) ? log.read( touchFile ) : null;
+        if ( props == null && probe )
+        {
+            props = trackingFileManager.read( touchFile );
+            if ( props != null && log != null )
+            {
+                props = log.importIfAbsent( touchFile, props );
+                if ( !touchFile.delete() )
+                {
+                    LOGGER.debug( "Failed to delete migrated tracking file {}", touchFile );
+                }
+            }
+        }
         return ( props != null ) ? props : new Properties();
     }
 
@@ -538,12 +658,20 @@ public class DefaultUpdateCheckManager
         String dataKey = getDataKey( check.getAuthoritativeRepository() );
         String transferKey = getTransferKey( session, check.getRepository() );
 
+        UpdateStatusLog log = getStatusLog( session );
         setUpdated( session, updateKey );
-        Properties props = write( touchFile, dataKey, transferKey, check.getException() );
+        Properties props = write( log, touchFile, dataKey, transferKey, check.getException() );
 
         if ( artifactFile.exists() && !hasErrors( props ) )
         {
-            touchFile.delete();
+            if ( log != null )
+            {
+                log.remove( touchFile );
+            }
+            else
+            {
+                touchFile.delete();
+            }
         }
     }
 
@@ -571,10 +699,11 @@ public class DefaultUpdateCheckManager
         String transferKey = getTransferKey( session, metadataFile, check.getRepository() );
 
         setUpdated( session, updateKey );
-        write( touchFile, dataKey, transferKey, check.getException() );
+        write( getStatusLog( session ), touchFile, dataKey, transferKey, check.getException() );
     }
 
-    private Properties write( File touchFile, String dataKey, String transferKey, Exception error )
+    private Properties write( UpdateStatusLog log, File touchFile, String dataKey, String transferKey,
+                              Exception error )
     {
         Map<String, String> updates = new HashMap<>();
 
@@ -604,7 +733,94 @@ public class DefaultUpdateCheckManager
             updates.put( transferKey + UPDATED_KEY_SUFFIX, timestamp );
         }
 
+        if ( log != null )
+        {
+            // migrate the tracking file before it is superseded
+            read( log, touchFile, true );
+            return log.update( touchFile, updates );
+        }
         return trackingFileManager.update( touchFile, updates );
     }
 
+    /**
+     * The state shared by a batch of artifact checks. The session configuration and the keys of the repositories are
+     * only determined once per batch and the directories holding several of the checked artifacts are listed once
+     * instead of probing the (legacy) tracking file of each artifact.
+     */
+    private final class ArtifactChecks
+    {
+
+        final RepositorySystemSession session;
+
+        private final UpdateStatusLog log;
+
+        private final int sessionState;
+
+        private final Map<?, ?> checkedFiles;
+
+        private final Map<RemoteRepository, String> repoKeys = new IdentityHashMap<>();
+
+        private final Map<RemoteRepository, String> dataKeys = new IdentityHashMap<>();
+
+        private final Set<File> sharedDirs = new HashSet<>();
+
+        private final Map<File, Set<String>> touchFiles = new HashMap<>();
+
+        ArtifactChecks( RepositorySystemSession session,
+                        Collection<? extends UpdateCheck<Artifact, ArtifactTransferException>> checks )
+        {
+            this.session = session;
+            log = getStatusLog( session );
+            sessionState = getSessionState( session );
+            Object checked = session.getData().get( SESSION_CHECKS );
+            checkedFiles = ( checked instanceof Map ) ? (Map<?, ?>) checked : Collections.emptyMap();
+
+            if ( checks.size() > 1 )
+            {
+                Set<File> dirs = new HashSet<>();
+                for ( UpdateCheck<Artifact, ArtifactTransferException> check : checks )
+                {
+                    File dir = ( check != null && check.getFile() != null ) ? check.getFile().getParentFile() : null;
+                    if ( dir != null && !dirs.add( dir ) )
+                    {
+                        sharedDirs.add( dir );
+                    }
+                }
+            }
+        }
+
+        String getRepoKey( RemoteRepository repository )
+        {
+            return repoKeys.computeIfAbsent( repository, r -> DefaultUpdateCheckManager.this.getRepoKey( session, r ) );
+        }
+
+        String getDataKey( RemoteRepository repository )
+        {
+            return dataKeys.computeIfAbsent( repository, DefaultUpdateCheckManager.this::getDataKey );
+        }
+
+        boolean isAlreadyUpdated( Object updateKey )
+        {
+            return sessionState < STATE_BYPASS && checkedFiles.containsKey( updateKey );
+        }
+
+        Properties read( File touchFile )
+        {
+            File dir = touchFile.getParentFile();
+            boolean probe = true;
+            if ( sharedDirs.contains( dir ) )
+            {
+                probe = touchFiles.computeIfAbsent( dir, this::listTouchFiles ).contains( touchFile.getName() );
+            }
+            return DefaultUpdateCheckManager.this.read( log, touchFile, probe );
+        }
+
+        private Set<String> listTouchFiles( File dir )
+        {
+            String[] names = dir.list( ( d, name ) -> name.endsWith( UPDATED_KEY_SUFFIX ) );
+            return ( names != null ) ? new HashSet<>( Arrays.asList( names ) ) : Collections.<String>emptySet();
+        }
+
+    }
+
 }
@@ -20,12 +20,16 @@ package org.eclipse.aether.internal.impl;
  */
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 
 import org.eclipse.aether.ConfigurationProperties;
 import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.SessionData;
 import org.eclipse.aether.util.ConfigUtils;
 
 /**
@@ -36,6 +40,20 @@ final class PrioritizedComponents<T>
 
     private static final String FACTORY_SUFFIX = "Factory";
 
+    /**
+     * The maximum number of keys for which a preferred component is remembered.
+     */
+    private static final int MAX_PREFERRED = 256;
+
+    private static final ClassValue<String[]> CONFIG_KEYS = new ClassValue<String[]>()
+    {
+        @Override
+        protected String[] computeValue( Class<?> type )
+        {
+            return getConfigKeys( type );
+        }
+    };
+
     private final Map<?, ?> configProps;
 
     private final boolean useInsertionOrder;
@@ -44,6 +62,17 @@ final class PrioritizedComponents<T>
 
     private int firstDisabled;
 
+    private Collection<?> source;
+
+    private int sourceSize;
+
+    /**
+     * The values of the configuration properties the ordering was computed from.
+     */
+    private List<Object> sourceConfig;
+
+    private final Map<Object, PrioritizedComponent<T>> preferred = new ConcurrentHashMap<>();
+
     PrioritizedComponents( RepositorySystemSession session )
     {
         this( session.getConfigProperties() );
@@ -59,11 +88,73 @@ final class PrioritizedComponents<T>
         firstDisabled = 0;
     }
 
+    /**
+     * Gets the prioritized components for the specified session. The ordering computed by a previous call with the same
+     * key is reused as long as the same collection of components, unchanged in size, is passed in and the configuration
+     * properties that determine the priorities of these components still have the same values. That is, the built-in
+     * priorities of the components are assumed to be constant.
+     *
+     * @param session The repository session whose configuration determines the priorities, must not be {@code null}.
+     * @param key The key under which to cache the ordering in the session, must not be {@code null}.
+     * @param components The components to prioritize, must not be {@code null}.
+     * @param priorities The function providing the built-in priority of a component, must not be {@code null}.
+     * @return The prioritized components, never {@code null}.
+     */
+    @SuppressWarnings( "unchecked" )
+    static <T> PrioritizedComponents<T> reuse( RepositorySystemSession session, String key,
+                                               Collection<? extends T> components,
+                                               Function<? super T, Float> priorities )
+    {
+        Map<?, ?> configProps = session.getConfigProperties();
+        List<Object> config = getPriorityConfig( configProps, components );
+
+        SessionData data = session.getData();
+        Object dataKey = PrioritizedComponents.class.getName() + '.' + key;
+        Object cached = data.get( dataKey );
+        if ( cached instanceof PrioritizedComponents )
+        {
+            PrioritizedComponents<T> reusable = (PrioritizedComponents<T>) cached;
+            if ( reusable.source == components && reusable.sourceSize == components.size()
+                && reusable.sourceConfig.equals( config ) )
+            {
+                return reusable;
+            }
+        }
+
+        PrioritizedComponents<T> result = new PrioritizedComponents<>( configProps );
+        for ( T component : components )
+        {
+            result.add( component, priorities.apply( component ) );
+        }
+        result.source = components;
+        result.sourceSize = components.size();
+        result.sourceConfig = config;
+        data.set( dataKey, result );
+        return result;
+    }
+
+    /**
+     * Gets the values of the configuration properties that determine the priorities of the specified components.
+     */
+    private static List<Object> getPriorityConfig( Map<?, ?> configProps, Collection<?> components )
+    {
+        List<Object> config = new ArrayList<>( components.size() * 3 + 1 );
+        config.add( configProps.get( ConfigurationProperties.IMPLICIT_PRIORITIES ) );
+        for ( Object component : components )
+        {
+            for ( String key : CONFIG_KEYS.get( getImplClass( component ) ) )
+            {
+                config.add( configProps.get( key ) );
+            }
+        }
+        return config;
+    }
+
     public void add( T component, float priority )
     {
         Class<?> type = getImplClass( component );
         int index = components.size();
-        priority = useInsertionOrder ? -index : ConfigUtils.getFloat( configProps, priority, getConfigKeys( type ) );
+        priority = useInsertionOrder ? -index : ConfigUtils.getFloat( configProps, priority, CONFIG_KEYS.get( type ) );
         PrioritizedComponent<T> pc = new PrioritizedComponent<>( component, type, priority, index );
 
         if ( !useInsertionOrder )
@@ -131,6 +222,42 @@ final class PrioritizedComponents<T>
         return components.subList( 0, firstDisabled );
     }
 
+    /**
+     * Gets the enabled components, starting with the one that was last marked as successful for the specified key.
+     *
+     * @see #setPreferred(Object, PrioritizedComponent)
+     */
+    public List<PrioritizedComponent<T>> getEnabled( Object key )
+    {
+        PrioritizedComponent<T> first = preferred.get( key );
+        if ( first == null )
+        {
+            return getEnabled();
+        }
+        List<PrioritizedComponent<T>> enabled = new ArrayList<>( firstDisabled );
+        enabled.add( first );
+        for ( PrioritizedComponent<T> component : getEnabled() )
+        {
+            if ( component != first )
+            {
+                enabled.add( component );
+            }
+        }
+        return enabled;
+    }
+
+    public void setPreferred( Object key, PrioritizedComponent<T> component )
+    {
+        if ( preferred.get( key ) != component )
+        {
+            if ( preferred.size() >= MAX_PREFERRED )
+            {
+                preferred.clear();
+            }
+            preferred.put( key, component );
+        }
+    }
+
     public void list( StringBuilder buffer )
     {
         int i = 0;
@@ -0,0 +1,280 @@
+package org.eclipse.aether.internal.impl;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.spi.connector.ArtifactDownload;
+import org.eclipse.aether.spi.connector.ArtifactUpload;
+import org.eclipse.aether.spi.connector.MetadataDownload;
+import org.eclipse.aether.spi.connector.MetadataUpload;
+import org.eclipse.aether.spi.connector.RepositoryConnector;
+import org.eclipse.aether.transfer.NoRepositoryConnectorException;
+import org.eclipse.aether.transfer.TransferListener;
+
+/**
+ * A pool of repository connectors shared by the sessions that share their session data, e.g. the sessions derived
+ * during dependency collection. The connectors are keyed by the effective remote repository, i.e. including its URL,
+ * authentication and proxy, along with the session's transfer listener and configuration properties from which the
+ * connector was configured. Connectors are reference counted: closing a connector handed out by the pool merely
+ * releases it, the underlying connector stays open for reuse until the pool is closed.
+ */
+final class RepositoryConnectorPool
+    implements Closeable
+{
+
+    /**
+     * Creates the connectors for the pool.
+     */
+    interface ConnectorFactory
+    {
+
+        RepositoryConnector newConnector( RepositorySystemSession session, RemoteRepository repository )
+            throws NoRepositoryConnectorException;
+
+    }
+
+    private final Map<Key, Entry> entries = new HashMap<>();
+
+    private boolean closed;
+
+    /**
+     * Gets a connector for the specified repository, creating it if the pool holds none yet.
+     */
+    RepositoryConnector acquire( RepositorySystemSession session, RemoteRepository repository,
+                                 ConnectorFactory factory )
+        throws NoRepositoryConnectorException
+    {
+        Key key = new Key( session, repository );
+        synchronized ( this )
+        {
+            Entry entry = entries.get( key );
+            if ( entry != null )
+            {
+                entry.refs++;
+                return new PooledConnector( this, entry );
+            }
+        }
+
+        RepositoryConnector connector = factory.newConnector( session, repository );
+
+        synchronized ( this )
+        {
+            if ( closed )
+            {
+                return connector;
+            }
+            Entry entry = entries.get( key );
+            if ( entry == null )
+            {
+                entry = new Entry( connector );
+                entries.put( key.snapshot(), entry );
+            }
+            else
+            {
+                // lost the race against another thread, use its connector
+                connector.close();
+            }
+            entry.refs++;
+            return new PooledConnector( this, entry );
+        }
+    }
+
+    private void release( Entry entry )
+    {
+        synchronized ( this )
+        {
+            entry.refs--;
+            if ( !closed || entry.refs > 0 )
+            {
+                return;
+            }
+        }
+        entry.connector.close();
+    }
+
+    /**
+     * Closes the pool. Idle connectors are closed immediately, connectors still in use are closed once released.
+     */
+    public void close()
+    {
+        List<RepositoryConnector> idle = new ArrayList<>();
+        synchronized ( this )
+        {
+            if ( closed )
+            {
+                return;
+            }
+            closed = true;
+            for ( Entry entry : entries.values() )
+            {
+                if ( entry.refs <= 0 )
+                {
+                    idle.add( entry.connector );
+                }
+            }
+            entries.clear();
+        }
+        for ( RepositoryConnector connector : idle )
+        {
+            connector.close();
+        }
+    }
+
+    synchronized int size()
+    {
+        return entries.size();
+    }
+
+    private static final class Entry
+    {
+
+        final RepositoryConnector connector;
+
+        int refs;
+
+        Entry( RepositoryConnector connector )
+        {
+            this.connector = connector;
+        }
+
+    }
+
+    private static final class Key
+    {
+
+        private final RemoteRepository repository;
+
+        private final TransferListener listener;
+
+        private final Map<?, ?> config;
+
+        private final int hashCode;
+
+        Key( RepositorySystemSession session, RemoteRepository repository )
+        {
+            this( repository, session.getTransferListener(), session.getConfigProperties() );
+        }
+
+        private Key( RemoteRepository repository, TransferListener listener, Map<?, ?> config )
+        {
+            this.repository = repository;
+            this.listener = listener;
+            this.config = config;
+            this.hashCode = ( repository.hashCode() * 31 + System.identityHashCode( listener ) ) * 31
+                + config.hashCode();
+        }
+
+        /**
+         * Copies the configuration properties, the session might still change them.
+         */
+        Key snapshot()
+        {
+            return new Key( repository, listener, new HashMap<>( config ) );
+        }
+
+        @Override
+        public boolean equals( Object obj )
+        {
+            if ( this == obj )
+            {
+                return true;
+            }
+            if ( !( obj instanceof Key ) )
+            {
+                return false;
+            }
+            Key that = (Key) obj;
+            return hashCode == that.hashCode && listener == that.listener && repository.equals( that.repository )
+                && config.equals( that.config );
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return hashCode;
+        }
+
+    }
+
+    /**
+     * The connector handed out by the pool, closing it releases the underlying connector.
+     */
+    private static final class PooledConnector
+        implements RepositoryConnector
+    {
+
+        private final RepositoryConnectorPool pool;
+
+        private final Entry entry;
+
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        PooledConnector( RepositoryConnectorPool pool, Entry entry )
+        {
+            this.pool = pool;
+            this.entry = entry;
+        }
+
+        public void get( Collection<? extends ArtifactDownload> artifactDownloads,
+                         Collection<? extends MetadataDownload> metadataDownloads )
+        {
+            if ( closed.get() )
+            {
+                throw new IllegalStateException( "connector closed" );
+            }
+            entry.connector.get( artifactDownloads, metadataDownloads );
+        }
+
+        public void put( Collection<? extends ArtifactUpload> artifactUploads,
+                         Collection<? extends MetadataUpload> metadataUploads )
+        {
+            if ( closed.get() )
+            {
+                throw new IllegalStateException( "connector closed" );
+            }
+            entry.connector.put( artifactUploads, metadataUploads );
+        }
+
+        public void close()
+        {
+            if ( closed.compareAndSet( false, true ) )
+            {
+                pool.release( entry );
+            }
+        }
+
+        @Override
+        public String toString()
+        {
+            return entry.connector.toString();
+        }
+
+    }
+
+}
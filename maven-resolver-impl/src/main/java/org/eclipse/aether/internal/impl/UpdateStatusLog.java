@@ -0,0 +1,517 @@
+package org.eclipse.aether.internal.impl;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A single file holding the update status of all artifacts and metadata of a local repository, i.e. the contents the
+ * update check manager otherwise writes to the individual {@code *.lastUpdated} and {@code resolver-status.properties}
+ * tracking files. The file is an append-only log of records, each record holding the complete status of one tracking
+ * file. The current status is indexed in memory and the log is compacted once it mostly consists of outdated records.
+ * <p>
+ * Updates are serialized by an exclusive lock on a separate lock file such that several processes can share the log,
+ * changes made by other processes are picked up whenever the log file was modified. Compaction writes a new log file
+ * with a new generation and atomically replaces the old one, readers reload the log when they notice the generation
+ * change.
+ */
+final class UpdateStatusLog
+{
+
+    private static final Logger LOGGER = LoggerFactory.getLogger( UpdateStatusLog.class );
+
+    static final String FILE_NAME = "resolver-status.log";
+
+    private static final String LOCK_SUFFIX = ".lock";
+
+    private static final int MAGIC = 0x52534c31;
+
+    private static final int HEADER_LENGTH = 12;
+
+    private static final int MIN_COMPACTION_RECORDS = 1024;
+
+    private static final Map<Path, UpdateStatusLog> LOGS = new ConcurrentHashMap<>();
+
+    private final Path basedir;
+
+    private final Path file;
+
+    private final Path lockFile;
+
+    private final Map<String, Properties> entries = new HashMap<>();
+
+    private long generation;
+
+    private long position;
+
+    private int records;
+
+    private BasicFileAttributes attributes;
+
+    UpdateStatusLog( Path file )
+    {
+        this.basedir = file.getParent();
+        this.file = file;
+        this.lockFile = file.resolveSibling( file.getFileName() + LOCK_SUFFIX );
+    }
+
+    /**
+     * Gets the update status log of the specified local repository. The logs are shared by all sessions of this JVM.
+     *
+     * @param basedir The base directory of the local repository, must not be {@code null}.
+     * @return The update status log, never {@code null}.
+     */
+    static UpdateStatusLog forRepository( File basedir )
+    {
+        Path file = basedir.toPath().toAbsolutePath().normalize().resolve( FILE_NAME );
+        return LOGS.computeIfAbsent( file, UpdateStatusLog::new );
+    }
+
+    /**
+     * Gets the status recorded for the specified tracking file.
+     *
+     * @param trackingFile The tracking file whose status to get, must not be {@code null}.
+     * @return A copy of the recorded status or {@code null} if none.
+     */
+    synchronized Properties read( File trackingFile )
+    {
+        String key = getKey( trackingFile );
+        try
+        {
+            refresh( false );
+        }
+        catch ( IOException e )
+        {
+            LOGGER.warn( "Failed to read update status log {}", file, e );
+        }
+        return copy( entries.get( key ) );
+    }
+
+    /**
+     * Applies the specified updates to the status recorded for a tracking file. A {@code null} value removes the
+     * corresponding property, the status itself is removed once no properties are left.
+     *
+     * @param trackingFile The tracking file whose status to update, must not be {@code null}.
+     * @param updates The properties to update, must not be {@code null}.
+     * @return A copy of the updated status, never {@code null}.
+     */
+    synchronized Properties update( File trackingFile, Map<String, String> updates )
+    {
+        String key = getKey( trackingFile );
+        Properties props = null;
+        try ( FileChannel lockChannel = openLockChannel(); FileLock lock = lockChannel.lock() )
+        {
+            refresh( true );
+            props = merge( entries.get( key ), updates );
+            append( key, props );
+            if ( records >= MIN_COMPACTION_RECORDS && records > 2 * entries.size() )
+            {
+                compact();
+            }
+        }
+        catch ( IOException e )
+        {
+            LOGGER.warn( "Failed to write update status log {}", file, e );
+            if ( props == null )
+            {
+                props = merge( entries.get( key ), updates );
+            }
+        }
+        return copy( props );
+    }
+
+    /**
+     * Removes the status recorded for a tracking file.
+     *
+     * @param trackingFile The tracking file whose status to remove, must not be {@code null}.
+     */
+    synchronized void remove( File trackingFile )
+    {
+        Properties props = read( trackingFile );
+        if ( props != null )
+        {
+            Map<String, String> updates = new HashMap<>();
+            for ( String name : props.stringPropertyNames() )
+            {
+                updates.put( name, null );
+            }
+            update( trackingFile, updates );
+        }
+    }
+
+    /**
+     * Imports the contents of a legacy tracking file unless the log already has a status for it.
+     *
+     * @param trackingFile The tracking file whose contents are imported, must not be {@code null}.
+     * @param props The contents of the tracking file, must not be {@code null}.
+     * @return The status recorded for the tracking file after the import, never {@code null}.
+     */
+    synchronized Properties importIfAbsent( File trackingFile, Properties props )
+    {
+        Properties current = read( trackingFile );
+        if ( current != null )
+        {
+            return current;
+        }
+        Map<String, String> updates = new HashMap<>();
+        for ( String name : props.stringPropertyNames() )
+        {
+            updates.put( name, props.getProperty( name ) );
+        }
+        return update( trackingFile, updates );
+    }
+
+    private String getKey( File trackingFile )
+    {
+        Path path = trackingFile.toPath().toAbsolutePath().normalize();
+        if ( path.startsWith( basedir ) )
+        {
+            path = basedir.relativize( path );
+        }
+        return path.toString().replace( File.separatorChar, '/' );
+    }
+
+    private FileChannel openLockChannel()
+        throws IOException
+    {
+        Files.createDirectories( lockFile.getParent() );
+        return FileChannel.open( lockFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE );
+    }
+
+    /**
+     * Replays the records appended to the log since the last refresh.
+     *
+     * @param locked Whether the caller holds the lock on the log, in which case an incomplete trailing record left
+     *            behind by a crashed process is removed and a missing or invalid log file is created.
+     */
+    private void refresh( boolean locked )
+        throws IOException
+    {
+        BasicFileAttributes attrs;
+        try
+        {
+            attrs = Files.readAttributes( file, BasicFileAttributes.class );
+        }
+        catch ( NoSuchFileException e )
+        {
+            reset( 0L );
+            if ( locked )
+            {
+                create();
+            }
+            return;
+        }
+        if ( attributes != null && ( !locked || position >= attrs.size() ) && attrs.size() == attributes.size()
+            && attrs.lastModifiedTime().equals( attributes.lastModifiedTime() )
+            && Objects.equals( attrs.fileKey(), attributes.fileKey() ) )
+        {
+            return;
+        }
+
+        try ( FileChannel channel = FileChannel.open( file, StandardOpenOption.READ ) )
+        {
+            ByteBuffer header = ByteBuffer.allocate( HEADER_LENGTH );
+            while ( header.hasRemaining() && channel.read( header, header.position() ) >= 0 )
+            {
+                // read complete header
+            }
+            header.flip();
+            if ( header.remaining() < HEADER_LENGTH || header.getInt() != MAGIC )
+            {
+                reset( 0L );
+                if ( locked )
+                {
+                    LOGGER.warn( "Replacing invalid update status log {}", file );
+                    create();
+                }
+                return;
+            }
+            long gen = header.getLong();
+            if ( gen != generation || channel.size() < position )
+            {
+                reset( gen );
+            }
+
+            channel.position( position );
+            DataInputStream in = new DataInputStream( Channels.newInputStream( channel ) );
+            long end = channel.size();
+            while ( position < end )
+            {
+                Record record = readRecord( in, end - position );
+                if ( record == null )
+                {
+                    break;
+                }
+                apply( record.key, record.props );
+                position += record.length;
+                records++;
+            }
+            if ( locked && position < end )
+            {
+                LOGGER.warn( "Discarding incomplete record at end of update status log {}", file );
+                try ( FileChannel out = FileChannel.open( file, StandardOpenOption.WRITE ) )
+                {
+                    out.truncate( position );
+                }
+                attrs = Files.readAttributes( file, BasicFileAttributes.class );
+            }
+        }
+        attributes = attrs;
+    }
+
+    private void reset( long gen )
+    {
+        entries.clear();
+        generation = gen;
+        position = HEADER_LENGTH;
+        records = 0;
+        attributes = null;
+    }
+
+    private void create()
+        throws IOException
+    {
+        long gen = newGeneration();
+        write( file, gen );
+        generation = gen;
+        attributes = Files.readAttributes( file, BasicFileAttributes.class );
+    }
+
+    private void compact()
+        throws IOException
+    {
+        Path tmp = file.resolveSibling( file.getFileName() + "." + Long.toHexString( newGeneration() ) + ".tmp" );
+        try
+        {
+            long gen = newGeneration();
+            write( tmp, gen );
+            try
+            {
+                Files.move( tmp, file, StandardCopyOption.ATOMIC_MOVE );
+            }
+            catch ( AtomicMoveNotSupportedException e )
+            {
+                Files.move( tmp, file, StandardCopyOption.REPLACE_EXISTING );
+            }
+            LOGGER.debug( "Compacted update status log {} from {} to {} records", file, records, entries.size() );
+            generation = gen;
+            position = Files.size( file );
+            records = entries.size();
+            attributes = Files.readAttributes( file, BasicFileAttributes.class );
+        }
+        finally
+        {
+            Files.deleteIfExists( tmp );
+        }
+    }
+
+    private long newGeneration()
+    {
+        return ThreadLocalRandom.current().nextLong();
+    }
+
+    private void write( Path path, long gen )
+        throws IOException
+    {
+        try ( DataOutputStream out = new DataOutputStream( Files.newOutputStream( path ) ) )
+        {
+            out.writeInt( MAGIC );
+            out.writeLong( gen );
+            for ( Map.Entry<String, Properties> entry : entries.entrySet() )
+            {
+                out.write( encode( entry.getKey(), entry.getValue() ) );
+            }
+        }
+    }
+
+    private void append( String key, Properties props )
+        throws IOException
+    {
+        byte[] record = encode( key, props );
+        try ( FileChannel channel = FileChannel.open( file, StandardOpenOption.WRITE, StandardOpenOption.APPEND ) )
+        {
+            ByteBuffer buffer = ByteBuffer.wrap( record );
+            while ( buffer.hasRemaining() )
+            {
+                channel.write( buffer );
+            }
+        }
+        apply( key, props );
+        position += record.length;
+        records++;
+        attributes = Files.readAttributes( file, BasicFileAttributes.class );
+    }
+
+    private void apply( String key, Properties props )
+    {
+        if ( props.isEmpty() )
+        {
+            entries.remove( key );
+        }
+        else
+        {
+            entries.put( key, props );
+        }
+    }
+
+    private static byte[] encode( String key, Properties props )
+        throws IOException
+    {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream( 256 );
+        DataOutputStream out = new DataOutputStream( bytes );
+        out.writeInt( 0 );
+        writeString( out, key );
+        out.writeInt( props.size() );
+        for ( String name : props.stringPropertyNames() )
+        {
+            writeString( out, name );
+            writeString( out, props.getProperty( name ) );
+        }
+        out.flush();
+        byte[] record = bytes.toByteArray();
+        ByteBuffer.wrap( record ).putInt( record.length - 4 );
+        return record;
+    }
+
+    private static void writeString( DataOutputStream out, String value )
+        throws IOException
+    {
+        byte[] bytes = value.getBytes( StandardCharsets.UTF_8 );
+        out.writeInt( bytes.length );
+        out.write( bytes );
+    }
+
+    private static Record readRecord( DataInputStream in, long available )
+        throws IOException
+    {
+        if ( available < 4 )
+        {
+            return null;
+        }
+        int length = in.readInt();
+        if ( length < 0 || length > available - 4 )
+        {
+            return null;
+        }
+        byte[] payload = new byte[length];
+        in.readFully( payload );
+        try
+        {
+            DataInputStream data = new DataInputStream( new ByteArrayInputStream( payload ) );
+            String key = readString( data );
+            Properties props = new Properties();
+            for ( int i = data.readInt(); i > 0; i-- )
+            {
+                props.setProperty( readString( data ), readString( data ) );
+            }
+            return new Record( key, props, 4 + length );
+        }
+        catch ( EOFException e )
+        {
+            return null;
+        }
+    }
+
+    private static String readString( DataInputStream data )
+        throws IOException
+    {
+        byte[] bytes = new byte[data.readInt()];
+        data.readFully( bytes );
+        return new String( bytes, StandardCharsets.UTF_8 );
+    }
+
+    private static Properties merge( Properties current, Map<String, String> updates )
+    {
+        Properties props = new Properties();
+        if ( current != null )
+        {
+            props.putAll( current );
+        }
+        for ( Map.Entry<String, String> update : updates.entrySet() )
+        {
+            if ( update.getValue() == null )
+            {
+                props.remove( update.getKey() );
+            }
+            else
+            {
+                props.setProperty( update.getKey(), update.getValue() );
+            }
+        }
+        return props;
+    }
+
+    private static Properties copy( Properties props )
+    {
+        if ( props == null )
+        {
+            return null;
+        }
+        Properties copy = new Properties();
+        copy.putAll( props );
+        return copy;
+    }
+
+    private static final class Record
+    {
+
+        final String key;
+
+        final Properties props;
+
+        final int length;
+
+        Record( String key, Properties props, int length )
+        {
+            this.key = key;
+            this.props = props;
+            this.length = length;
+        }
+
+    }
+
+}
@@ -0,0 +1,103 @@
+package org.eclipse.aether.internal.impl.collect;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.eclipse.aether.collection.CollectStats;
+
+/**
+ * Accumulates the counters and timers of a single dependency collection. The collector only creates a recorder if
+ * stats are enabled, the instrumentation points merely check for {@code null} otherwise.
+ */
+final class CollectStatsRecorder
+{
+
+    long descriptorReads;
+
+    long descriptorReadTime;
+
+    long descriptorCacheHits;
+
+    long rangeResolutions;
+
+    long rangeResolutionTime;
+
+    long rangeCacheHits;
+
+    long graphCacheHits;
+
+    long graphCacheMisses;
+
+    long nodes;
+
+    long cycles;
+
+    long collectTime;
+
+    long transformTime;
+
+    /**
+     * Creates the stats from the recorded values and the stats reported by the graph transformers.
+     *
+     * @param transformerStats The stats map from the graph transformation context, may be {@code null}.
+     */
+    CollectStats toStats( Map<String, Object> transformerStats )
+    {
+        Map<String, Long> counters = new LinkedHashMap<>();
+        counters.put( CollectStats.DESCRIPTOR_READS, descriptorReads );
+        counters.put( CollectStats.DESCRIPTOR_CACHE_HITS, descriptorCacheHits );
+        counters.put( CollectStats.RANGE_RESOLUTIONS, rangeResolutions );
+        counters.put( CollectStats.RANGE_CACHE_HITS, rangeCacheHits );
+        counters.put( CollectStats.GRAPH_CACHE_HITS, graphCacheHits );
+        counters.put( CollectStats.GRAPH_CACHE_MISSES, graphCacheMisses );
+        counters.put( CollectStats.NODES, nodes );
+        counters.put( CollectStats.CYCLES, cycles );
+
+        Map<String, Long> timers = new LinkedHashMap<>();
+        timers.put( CollectStats.COLLECT, collectTime );
+        timers.put( CollectStats.TRANSFORM, transformTime );
+        timers.put( CollectStats.DESCRIPTOR_READS, descriptorReadTime );
+        timers.put( CollectStats.RANGE_RESOLUTIONS, rangeResolutionTime );
+
+        if ( transformerStats != null )
+        {
+            for ( Map.Entry<String, Object> entry : transformerStats.entrySet() )
+            {
+                if ( entry.getValue() instanceof Number )
+                {
+                    long value = ( (Number) entry.getValue() ).longValue();
+                    if ( entry.getKey().endsWith( "Time" ) )
+                    {
+                        timers.put( entry.getKey(), value );
+                    }
+                    else
+                    {
+                        counters.put( entry.getKey(), value );
+                    }
+                }
+            }
+        }
+
+        return new CollectStats( counters, timers );
+    }
+
+}
@@ -31,6 +31,7 @@ import java.util.WeakHashMap;
 import org.eclipse.aether.RepositoryCache;
 import org.eclipse.aether.RepositorySystemSession;
 import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.collection.DependencyCollectionContext;
 import org.eclipse.aether.collection.DependencyManager;
 import org.eclipse.aether.collection.DependencySelector;
 import org.eclipse.aether.collection.DependencyTraverser;
@@ -61,6 +62,8 @@ final class DataPool
     static final ArtifactDescriptorResult NO_DESCRIPTOR =
         new ArtifactDescriptorResult( new ArtifactDescriptorRequest() );
 
+    private static final Object NO_STRATEGY = new Object();
+
     private ObjectPool<Artifact> artifacts;
 
     private ObjectPool<Dependency> dependencies;
@@ -71,6 +74,10 @@ final class DataPool
 
     private final Map<Object, List<DependencyNode>> nodes = new HashMap<>( 256 );
 
+    private final Map<Object, Object> derivations = new HashMap<>( 256 );
+
+    private final Map<Object, Object> strategies = new HashMap<>( 256 );
+
     @SuppressWarnings( "unchecked" )
     DataPool( RepositorySystemSession session )
     {
@@ -166,6 +173,84 @@ final class DataPool
         constraints.put( key, new Constraint( result ) );
     }
 
+    DependencySelector deriveChildSelector( DependencySelector selector, DependencyCollectionContext context )
+    {
+        if ( selector == null )
+        {
+            return null;
+        }
+        Object key = new DerivationKey( selector, context );
+        Object derived = derivations.get( key );
+        if ( derived == null )
+        {
+            derived = internStrategy( selector.deriveChildSelector( context ) );
+            derivations.put( key, derived );
+        }
+        return ( derived != NO_STRATEGY ) ? (DependencySelector) derived : null;
+    }
+
+    DependencyManager deriveChildManager( DependencyManager manager, DependencyCollectionContext context )
+    {
+        if ( manager == null )
+        {
+            return null;
+        }
+        Object key = new DerivationKey( manager, context );
+        Object derived = derivations.get( key );
+        if ( derived == null )
+        {
+            derived = internStrategy( manager.deriveChildManager( context ) );
+            derivations.put( key, derived );
+        }
+        return ( derived != NO_STRATEGY ) ? (DependencyManager) derived : null;
+    }
+
+    DependencyTraverser deriveChildTraverser( DependencyTraverser traverser, DependencyCollectionContext context )
+    {
+        if ( traverser == null )
+        {
+            return null;
+        }
+        Object key = new DerivationKey( traverser, context );
+        Object derived = derivations.get( key );
+        if ( derived == null )
+        {
+            derived = internStrategy( traverser.deriveChildTraverser( context ) );
+            derivations.put( key, derived );
+        }
+        return ( derived != NO_STRATEGY ) ? (DependencyTraverser) derived : null;
+    }
+
+    VersionFilter deriveChildFilter( VersionFilter filter, DependencyCollectionContext context )
+    {
+        if ( filter == null )
+        {
+            return null;
+        }
+        Object key = new DerivationKey( filter, context );
+        Object derived = derivations.get( key );
+        if ( derived == null )
+        {
+            derived = internStrategy( filter.deriveChildFilter( context ) );
+            derivations.put( key, derived );
+        }
+        return ( derived != NO_STRATEGY ) ? (VersionFilter) derived : null;
+    }
+
+    /**
+     * Gets the canonical instance among the equal strategies derived so far, this way graph keys built from derived
+     * strategies mostly compare by identity.
+     */
+    private Object internStrategy( Object strategy )
+    {
+        if ( strategy == null )
+        {
+            return NO_STRATEGY;
+        }
+        Object pooled = strategies.putIfAbsent( strategy, strategy );
+        return ( pooled != null ) ? pooled : strategy;
+    }
+
     public Object toKey( Artifact artifact, List<RemoteRepository> repositories, DependencySelector selector,
                          DependencyManager manager, DependencyTraverser traverser, VersionFilter filter )
     {
@@ -360,6 +445,58 @@ final class DataPool
         }
     }
 
+    /**
+     * The key for the derivation of a child strategy. Strategies are meant to derive their children solely from the
+     * dependency and the managed dependencies of the collection context (the session and root artifact being constant
+     * during a collection), so the key compares those by identity: the dependencies are interned and the managed
+     * dependencies come from the shared descriptor results, equal but distinct instances merely cost a cache miss.
+     */
+    static final class DerivationKey
+    {
+        private final Object parent;
+
+        private final Dependency dependency;
+
+        private final List<Dependency> managedDependencies;
+
+        private final int hashCode;
+
+        DerivationKey( Object parent, DependencyCollectionContext context )
+        {
+            this.parent = parent;
+            this.dependency = context.getDependency();
+            this.managedDependencies = context.getManagedDependencies();
+
+            int hash = 17;
+            hash = hash * 31 + System.identityHashCode( parent );
+            hash = hash * 31 + System.identityHashCode( dependency );
+            hash = hash * 31 + System.identityHashCode( managedDependencies );
+            hashCode = hash;
+        }
+
+        @Override
+        public boolean equals( Object obj )
+        {
+            if ( obj == this )
+            {
+                return true;
+            }
+            else if ( !( obj instanceof DerivationKey ) )
+            {
+                return false;
+            }
+            DerivationKey that = (DerivationKey) obj;
+            return parent == that.parent && dependency == that.dependency
+                && managedDependencies == that.managedDependencies;
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return hashCode;
+        }
+    }
+
     static final class GraphKey
     {
         private final Artifact artifact;
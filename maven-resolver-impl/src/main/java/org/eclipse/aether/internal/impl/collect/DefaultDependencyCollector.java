@@ -27,6 +27,9 @@ import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import static java.util.Objects.requireNonNull;
 
 import javax.inject.Inject;
@@ -41,6 +44,7 @@ import org.eclipse.aether.artifact.Artifact;
 import org.eclipse.aether.artifact.ArtifactProperties;
 import org.eclipse.aether.collection.CollectRequest;
 import org.eclipse.aether.collection.CollectResult;
+import org.eclipse.aether.collection.CollectStats;
 import org.eclipse.aether.collection.DependencyCollectionException;
 import org.eclipse.aether.collection.DependencyGraphTransformer;
 import org.eclipse.aether.collection.DependencyManagement;
@@ -64,6 +68,7 @@ import org.eclipse.aether.resolution.ArtifactDescriptorResult;
 import org.eclipse.aether.resolution.VersionRangeRequest;
 import org.eclipse.aether.resolution.VersionRangeResolutionException;
 import org.eclipse.aether.resolution.VersionRangeResult;
+import org.eclipse.aether.spi.collection.CollectStatsSink;
 import org.eclipse.aether.spi.locator.Service;
 import org.eclipse.aether.spi.locator.ServiceLocator;
 import org.eclipse.aether.util.ConfigUtils;
@@ -89,6 +94,8 @@ public class DefaultDependencyCollector
 
     private static final int CONFIG_PROP_MAX_CYCLES_DEFAULT = 10;
 
+    private static final String CONFIG_PROP_STATS = "aether.dependencyCollector.stats";
+
     private static final Logger LOGGER = LoggerFactory.getLogger( DefaultDependencyCollector.class );
 
     private RemoteRepositoryManager remoteRepositoryManager;
@@ -97,6 +104,14 @@ public class DefaultDependencyCollector
 
     private VersionRangeResolver versionRangeResolver;
 
+    private final Collection<CollectStatsSink> statsSinks = new CopyOnWriteArrayList<>();
+
+    /**
+     * The snapshots of the results produced by incremental collections, weakly keyed by the result.
+     */
+    private final Map<CollectResult, GraphSnapshot> snapshots =
+        Collections.synchronizedMap( new WeakHashMap<CollectResult, GraphSnapshot>() );
+
     public DefaultDependencyCollector()
     {
         // enables default constructor
@@ -105,11 +120,12 @@ public class DefaultDependencyCollector
     @Inject
     DefaultDependencyCollector( RemoteRepositoryManager remoteRepositoryManager,
                                 ArtifactDescriptorReader artifactDescriptorReader,
-                                VersionRangeResolver versionRangeResolver )
+                                VersionRangeResolver versionRangeResolver, Set<CollectStatsSink> statsSinks )
     {
         setRemoteRepositoryManager( remoteRepositoryManager );
         setArtifactDescriptorReader( artifactDescriptorReader );
         setVersionRangeResolver( versionRangeResolver );
+        setCollectStatsSinks( statsSinks );
     }
 
     public void initService( ServiceLocator locator )
@@ -117,6 +133,7 @@ public class DefaultDependencyCollector
         setRemoteRepositoryManager( locator.getService( RemoteRepositoryManager.class ) );
         setArtifactDescriptorReader( locator.getService( ArtifactDescriptorReader.class ) );
         setVersionRangeResolver( locator.getService( VersionRangeResolver.class ) );
+        setCollectStatsSinks( locator.getServices( CollectStatsSink.class ) );
     }
 
     public DefaultDependencyCollector setRemoteRepositoryManager( RemoteRepositoryManager remoteRepositoryManager )
@@ -139,12 +156,45 @@ public class DefaultDependencyCollector
         return this;
     }
 
-    @SuppressWarnings( "checkstyle:methodlength" )
+    public DefaultDependencyCollector addCollectStatsSink( CollectStatsSink statsSink )
+    {
+        statsSinks.add( requireNonNull( statsSink, "collect stats sink cannot be null" ) );
+        return this;
+    }
+
+    public DefaultDependencyCollector setCollectStatsSinks( Collection<CollectStatsSink> statsSinks )
+    {
+        this.statsSinks.clear();
+        if ( statsSinks != null )
+        {
+            this.statsSinks.addAll( statsSinks );
+        }
+        return this;
+    }
+
     public CollectResult collectDependencies( RepositorySystemSession session, CollectRequest request )
         throws DependencyCollectionException
     {
         requireNonNull( session, "session cannot be null" );
         requireNonNull( request, "request cannot be null" );
+        return collectDependencies( session, request, false, null );
+    }
+
+    public CollectResult collectDependencies( RepositorySystemSession session, CollectRequest request,
+                                              CollectResult previousResult )
+        throws DependencyCollectionException
+    {
+        requireNonNull( session, "session cannot be null" );
+        requireNonNull( request, "request cannot be null" );
+        GraphSnapshot previous = ( previousResult != null ) ? snapshots.get( previousResult ) : null;
+        return collectDependencies( session, request, true, previous );
+    }
+
+    @SuppressWarnings( "checkstyle:methodlength" )
+    private CollectResult collectDependencies( RepositorySystemSession session, CollectRequest request,
+                                               boolean incremental, GraphSnapshot previous )
+        throws DependencyCollectionException
+    {
         session = optimizeSession( session );
 
         RequestTrace trace = RequestTrace.newChild( request.getTrace(), request );
@@ -162,6 +212,9 @@ public class DefaultDependencyCollector
         List<Dependency> managedDependencies = request.getManagedDependencies();
 
         Map<String, Object> stats = new LinkedHashMap<>();
+        CollectStatsRecorder recorder =
+            !statsSinks.isEmpty() || ConfigUtils.getBoolean( session, false, CONFIG_PROP_STATS )
+                ? new CollectStatsRecorder() : null;
         long time1 = System.nanoTime();
 
         DefaultDependencyNode node;
@@ -175,7 +228,13 @@ public class DefaultDependencyCollector
                     new VersionRangeRequest( root.getArtifact(), request.getRepositories(),
                                              request.getRequestContext() );
                 rangeRequest.setTrace( trace );
+                long start = System.nanoTime();
                 rangeResult = versionRangeResolver.resolveVersionRange( session, rangeRequest );
+                if ( recorder != null )
+                {
+                    recorder.rangeResolutions++;
+                    recorder.rangeResolutionTime += System.nanoTime() - start;
+                }
                 versions = filterVersions( root, rangeResult, verFilter, new DefaultVersionFilterContext( session ) );
             }
             catch ( VersionRangeResolutionException e )
@@ -201,7 +260,13 @@ public class DefaultDependencyCollector
                 }
                 else
                 {
+                    long start = System.nanoTime();
                     descriptorResult = descriptorReader.readArtifactDescriptor( session, descriptorRequest );
+                    if ( recorder != null )
+                    {
+                        recorder.descriptorReads++;
+                        recorder.descriptorReadTime += System.nanoTime() - start;
+                    }
                 }
             }
             catch ( ArtifactDescriptorException e )
@@ -240,9 +305,11 @@ public class DefaultDependencyCollector
 
         boolean traverse = root == null || depTraverser == null || depTraverser.traverseDependency( root );
         String errorPath = null;
+        DataPool pool = null;
+        Args args = null;
         if ( traverse && !dependencies.isEmpty() )
         {
-            DataPool pool = new DataPool( session );
+            pool = new DataPool( session );
 
             NodeStack nodes = new NodeStack();
             nodes.push( node );
@@ -252,8 +319,18 @@ public class DefaultDependencyCollector
 
             DefaultVersionFilterContext versionContext = new DefaultVersionFilterContext( session );
 
-            Args args = new Args( session, trace, pool, nodes, context, versionContext, request );
+            args = new Args( session, trace, pool, nodes, context, versionContext, request );
+            args.stats = recorder;
+            if ( incremental )
+            {
+                args.cleanKeys = new HashSet<>( 256 );
+                if ( previous != null && previous.isCompatible( request.getRequestContext(), args.premanagedState ) )
+                {
+                    args.previous = previous;
+                }
+            }
             Results results = new Results( result, session );
+            results.stats = recorder;
 
             process( args, results, dependencies, repositories,
                      depSelector != null ? depSelector.deriveChildSelector( context ) : null,
@@ -264,6 +341,16 @@ public class DefaultDependencyCollector
             errorPath = results.errorPath;
         }
 
+        if ( incremental )
+        {
+            if ( args != null )
+            {
+                snapshots.put( result, GraphSnapshot.capture( pool, args.cleanKeys, request.getRequestContext(),
+                                                              args.premanagedState ) );
+                stats.put( "DefaultDependencyCollector.reusedSubtrees", args.reusedSubtrees );
+            }
+        }
+
         long time2 = System.nanoTime();
 
         DependencyGraphTransformer transformer = session.getDependencyGraphTransformer();
@@ -283,10 +370,21 @@ public class DefaultDependencyCollector
         }
 
         long time3 = System.nanoTime();
+        if ( recorder != null )
+        {
+            recorder.collectTime = time2 - time1;
+            recorder.transformTime = time3 - time2;
+            result.setStats( recorder.toStats( stats ) );
+        }
         stats.put( "DefaultDependencyCollector.collectTime", time2 - time1 );
         stats.put( "DefaultDependencyCollector.transformTime", time3 - time2 );
         LOGGER.debug( "Dependency collection stats {}", stats );
 
+        if ( result.getStats() != null )
+        {
+            notifySinks( session, result, result.getStats() );
+        }
+
         if ( errorPath != null )
         {
             throw new DependencyCollectionException( result, "Failed to collect dependencies at " + errorPath );
@@ -299,6 +397,21 @@ public class DefaultDependencyCollector
         return result;
     }
 
+    private void notifySinks( RepositorySystemSession session, CollectResult result, CollectStats stats )
+    {
+        for ( CollectStatsSink sink : statsSinks )
+        {
+            try
+            {
+                sink.collected( session, result, stats );
+            }
+            catch ( RuntimeException e )
+            {
+                LOGGER.warn( "Failed to report dependency collection stats to {}", sink, e );
+            }
+        }
+    }
+
     private static RepositorySystemSession optimizeSession( RepositorySystemSession session )
     {
         DefaultRepositorySystemSession optimized = new DefaultRepositorySystemSession( session );
@@ -392,7 +505,7 @@ public class DefaultDependencyCollector
         {
             VersionRangeRequest rangeRequest = createVersionRangeRequest( args, repositories, dependency );
 
-            rangeResult = cachedResolveRangeResult( rangeRequest, args.pool, args.session );
+            rangeResult = cachedResolveRangeResult( rangeRequest, args );
 
             versions = filterVersions( dependency, rangeResult, verFilter, args.versionContext );
         }
@@ -428,6 +541,10 @@ public class DefaultDependencyCollector
                             createDependencyNode( relocations, preManaged, rangeResult, version, d, descriptorResult,
                                                   cycleNode );
                         node.getChildren().add( child );
+                        if ( args.stats != null )
+                        {
+                            args.stats.nodes++;
+                        }
                         continue;
                     }
                 }
@@ -454,6 +571,10 @@ public class DefaultDependencyCollector
                                               descriptorResult.getAliases(), repos, args.request.getRequestContext() );
 
                     node.getChildren().add( child );
+                    if ( args.stats != null )
+                    {
+                        args.stats.nodes++;
+                    }
 
                     boolean recurse = traverse && !descriptorResult.getDependencies().isEmpty();
                     if ( recurse )
@@ -472,6 +593,10 @@ public class DefaultDependencyCollector
                     createDependencyNode( relocations, preManaged, rangeResult, version, d, null, repos,
                                           args.request.getRequestContext() );
                 node.getChildren().add( child );
+                if ( args.stats != null )
+                {
+                    args.stats.nodes++;
+                }
             }
         }
     }
@@ -485,10 +610,10 @@ public class DefaultDependencyCollector
         DefaultDependencyCollectionContext context = args.collectionContext;
         context.set( d, descriptorResult.getManagedDependencies() );
 
-        DependencySelector childSelector = depSelector != null ? depSelector.deriveChildSelector( context ) : null;
-        DependencyManager childManager = depManager != null ? depManager.deriveChildManager( context ) : null;
-        DependencyTraverser childTraverser = depTraverser != null ? depTraverser.deriveChildTraverser( context ) : null;
-        VersionFilter childFilter = verFilter != null ? verFilter.deriveChildFilter( context ) : null;
+        DependencySelector childSelector = args.pool.deriveChildSelector( depSelector, context );
+        DependencyManager childManager = args.pool.deriveChildManager( depManager, context );
+        DependencyTraverser childTraverser = args.pool.deriveChildTraverser( depTraverser, context );
+        VersionFilter childFilter = args.pool.deriveChildFilter( verFilter, context );
 
         final List<RemoteRepository> childRepos =
             args.ignoreRepos
@@ -500,20 +625,50 @@ public class DefaultDependencyCollector
             args.pool.toKey( d.getArtifact(), childRepos, childSelector, childManager, childTraverser, childFilter );
 
         List<DependencyNode> children = args.pool.getChildren( key );
+        if ( children == null && args.previous != null )
+        {
+            children = args.previous.reuse( key, args.pool, args.cleanKeys );
+            if ( children != null )
+            {
+                args.reusedSubtrees++;
+            }
+        }
+        if ( args.stats != null )
+        {
+            if ( children == null )
+            {
+                args.stats.graphCacheMisses++;
+            }
+            else
+            {
+                args.stats.graphCacheHits++;
+            }
+        }
         if ( children == null )
         {
             args.pool.putChildren( key, child.getChildren() );
 
             args.nodes.push( child );
 
+            int problems = results.problems;
+
             process( args, results, descriptorResult.getDependencies(), childRepos, childSelector, childManager,
                      childTraverser, childFilter );
 
             args.nodes.pop();
+
+            if ( args.cleanKeys != null && problems == results.problems )
+            {
+                args.cleanKeys.add( key );
+            }
         }
         else
         {
             child.setChildren( children );
+            if ( args.cleanKeys != null && !args.cleanKeys.contains( key ) )
+            {
+                results.problems++;
+            }
         }
     }
 
@@ -536,6 +691,7 @@ public class DefaultDependencyCollector
         ArtifactDescriptorResult descriptorResult = pool.getDescriptor( key, descriptorRequest );
         if ( descriptorResult == null )
         {
+            long start = System.nanoTime();
             try
             {
                 descriptorResult = descriptorReader.readArtifactDescriptor( session, descriptorRequest );
@@ -547,11 +703,26 @@ public class DefaultDependencyCollector
                 pool.putDescriptor( key, e );
                 return null;
             }
+            finally
+            {
+                if ( args.stats != null )
+                {
+                    args.stats.descriptorReads++;
+                    args.stats.descriptorReadTime += System.nanoTime() - start;
+                }
+            }
 
         }
-        else if ( descriptorResult == DataPool.NO_DESCRIPTOR )
+        else
         {
-            return null;
+            if ( args.stats != null )
+            {
+                args.stats.descriptorCacheHits++;
+            }
+            if ( descriptorResult == DataPool.NO_DESCRIPTOR )
+            {
+                return null;
+            }
         }
 
         return descriptorResult;
@@ -611,17 +782,33 @@ public class DefaultDependencyCollector
         return rangeRequest;
     }
 
-    private VersionRangeResult cachedResolveRangeResult( VersionRangeRequest rangeRequest, DataPool pool,
-                                                         RepositorySystemSession session )
+    private VersionRangeResult cachedResolveRangeResult( VersionRangeRequest rangeRequest, Args args )
         throws VersionRangeResolutionException
     {
+        DataPool pool = args.pool;
         Object key = pool.toKey( rangeRequest );
         VersionRangeResult rangeResult = pool.getConstraint( key, rangeRequest );
         if ( rangeResult == null )
         {
-            rangeResult = versionRangeResolver.resolveVersionRange( session, rangeRequest );
+            long start = System.nanoTime();
+            try
+            {
+                rangeResult = versionRangeResolver.resolveVersionRange( args.session, rangeRequest );
+            }
+            finally
+            {
+                if ( args.stats != null )
+                {
+                    args.stats.rangeResolutions++;
+                    args.stats.rangeResolutionTime += System.nanoTime() - start;
+                }
+            }
             pool.putConstraint( key, rangeResult );
         }
+        else if ( args.stats != null )
+        {
+            args.stats.rangeCacheHits++;
+        }
         return rangeResult;
     }
 
@@ -706,6 +893,24 @@ public class DefaultDependencyCollector
 
         final CollectRequest request;
 
+        /**
+         * The snapshot of a previous incremental collection to reuse subtrees from, {@code null} if none.
+         */
+        GraphSnapshot previous;
+
+        /**
+         * The graph keys whose subtrees were collected without exceptions or cycles, {@code null} unless the
+         * collection is incremental.
+         */
+        Set<Object> cleanKeys;
+
+        int reusedSubtrees;
+
+        /**
+         * The recorder for the collection stats, {@code null} if stats are disabled.
+         */
+        CollectStatsRecorder stats;
+
         Args( RepositorySystemSession session, RequestTrace trace, DataPool pool, NodeStack nodes,
                      DefaultDependencyCollectionContext collectionContext, DefaultVersionFilterContext versionContext,
                      CollectRequest request )
@@ -734,6 +939,17 @@ public class DefaultDependencyCollector
 
         String errorPath;
 
+        /**
+         * The number of exceptions and cycles encountered so far (including those beyond the reporting limits) and of
+         * reused subtrees that were affected by such problems.
+         */
+        int problems;
+
+        /**
+         * The recorder for the collection stats, {@code null} if stats are disabled.
+         */
+        CollectStatsRecorder stats;
+
         Results( CollectResult result, RepositorySystemSession session )
         {
             this.result = result;
@@ -746,6 +962,7 @@ public class DefaultDependencyCollector
 
         public void addException( Dependency dependency, Exception e, NodeStack nodes )
         {
+            problems++;
             if ( maxExceptions < 0 || result.getExceptions().size() < maxExceptions )
             {
                 result.addException( e );
@@ -776,6 +993,11 @@ public class DefaultDependencyCollector
 
         public void addCycle( NodeStack nodes, int cycleEntry, Dependency dependency )
         {
+            problems++;
+            if ( stats != null )
+            {
+                stats.cycles++;
+            }
             if ( maxCycles < 0 || result.getCycles().size() < maxCycles )
             {
                 result.addCycle( new DefaultDependencyCycle( nodes, cycleEntry, dependency ) );
@@ -0,0 +1,182 @@
+package org.eclipse.aether.internal.impl.collect;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.eclipse.aether.graph.DefaultDependencyNode;
+import org.eclipse.aether.graph.DependencyNode;
+
+/**
+ * A pristine copy of the subtrees built during a dependency collection, keyed by their {@link DataPool.GraphKey}. The
+ * copy is taken before the graph transformer gets to modify the graph and only covers subtrees whose collection did not
+ * run into exceptions or cycles, those are always collected anew. Subtrees containing snapshots or dependencies with
+ * version ranges are not retained either, their descriptors or range resolutions may change between collections.
+ * Reused subtrees are copied again, so one snapshot can serve any number of later collections.
+ */
+final class GraphSnapshot
+{
+
+    private final String requestContext;
+
+    private final boolean premanagedState;
+
+    private final Map<Object, List<DependencyNode>> children;
+
+    /**
+     * The graph key of each child list in this snapshot, uses reference equality for the keys.
+     */
+    private final Map<List<DependencyNode>, Object> keys;
+
+    private GraphSnapshot( String requestContext, boolean premanagedState, int size )
+    {
+        this.requestContext = requestContext;
+        this.premanagedState = premanagedState;
+        this.children = new HashMap<>( size * 2 );
+        this.keys = new IdentityHashMap<>( size * 2 );
+    }
+
+    /**
+     * Copies the child lists of the specified graph keys from the data pool.
+     */
+    static GraphSnapshot capture( DataPool pool, Collection<Object> graphKeys, String requestContext,
+                                  boolean premanagedState )
+    {
+        GraphSnapshot snapshot = new GraphSnapshot( requestContext, premanagedState, graphKeys.size() );
+        Map<List<DependencyNode>, List<DependencyNode>> copies = new IdentityHashMap<>( graphKeys.size() * 2 );
+        Map<List<DependencyNode>, Boolean> stable = new IdentityHashMap<>( graphKeys.size() * 2 );
+        for ( Object key : graphKeys )
+        {
+            List<DependencyNode> original = pool.getChildren( key );
+            if ( original != null && isStable( original, stable ) )
+            {
+                List<DependencyNode> copy = copy( original, copies );
+                snapshot.children.put( key, copy );
+                snapshot.keys.put( copy, key );
+            }
+        }
+        return snapshot;
+    }
+
+    /**
+     * Determines whether the specified subtree can only change if its graph key changes, i.e. it contains no snapshots
+     * whose descriptors may be updated and no version ranges which may match newly published versions.
+     */
+    private static boolean isStable( List<DependencyNode> nodes, Map<List<DependencyNode>, Boolean> stable )
+    {
+        Boolean result = stable.get( nodes );
+        if ( result == null )
+        {
+            // assume stability while descending, collections with cycles are not captured anyway
+            stable.put( nodes, Boolean.TRUE );
+            result = Boolean.TRUE;
+            for ( DependencyNode node : nodes )
+            {
+                if ( ( node.getArtifact() != null && node.getArtifact().isSnapshot() )
+                    || ( node.getVersionConstraint() != null && node.getVersionConstraint().getRange() != null )
+                    || !isStable( node.getChildren(), stable ) )
+                {
+                    result = Boolean.FALSE;
+                    break;
+                }
+            }
+            stable.put( nodes, result );
+        }
+        return result;
+    }
+
+    private static List<DependencyNode> copy( List<DependencyNode> original,
+                                              Map<List<DependencyNode>, List<DependencyNode>> copies )
+    {
+        List<DependencyNode> copy = copies.get( original );
+        if ( copy == null )
+        {
+            copy = new ArrayList<>( original.size() );
+            copies.put( original, copy );
+            for ( DependencyNode node : original )
+            {
+                DefaultDependencyNode child = new DefaultDependencyNode( node );
+                child.setChildren( copy( node.getChildren(), copies ) );
+                copy.add( child );
+            }
+        }
+        return copy;
+    }
+
+    /**
+     * Determines whether the nodes of this snapshot can be used in a collection with the specified settings.
+     */
+    boolean isCompatible( String requestContext, boolean premanagedState )
+    {
+        return Objects.equals( this.requestContext, requestContext ) && this.premanagedState == premanagedState;
+    }
+
+    /**
+     * Gets a fresh copy of the children for the specified graph key. The graph keys of nested subtrees are registered
+     * with the data pool unless the pool already knows them and are added to the given collection.
+     *
+     * @return The copied children or {@code null} if the snapshot holds no subtree for the key.
+     */
+    List<DependencyNode> reuse( Object key, DataPool pool, Collection<Object> reusedKeys )
+    {
+        List<DependencyNode> original = children.get( key );
+        if ( original == null )
+        {
+            return null;
+        }
+        return restore( original, pool, reusedKeys, new IdentityHashMap<>() );
+    }
+
+    private List<DependencyNode> restore( List<DependencyNode> original, DataPool pool, Collection<Object> reusedKeys,
+                                          Map<List<DependencyNode>, List<DependencyNode>> copies )
+    {
+        List<DependencyNode> copy = copies.get( original );
+        if ( copy == null )
+        {
+            copy = new ArrayList<>( original.size() );
+            copies.put( original, copy );
+            Object key = keys.get( original );
+            if ( key != null && pool.getChildren( key ) == null )
+            {
+                pool.putChildren( key, copy );
+                reusedKeys.add( key );
+            }
+            for ( DependencyNode node : original )
+            {
+                DefaultDependencyNode child = new DefaultDependencyNode( node );
+                child.setChildren( restore( node.getChildren(), pool, reusedKeys, copies ) );
+                copy.add( child );
+            }
+        }
+        return copy;
+    }
+
+    int size()
+    {
+        return children.size();
+    }
+
+}
@@ -19,7 +19,11 @@ package org.eclipse.aether.internal.impl.synccontext;
  * under the License.
  */
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Objects;
+import java.util.Set;
 
 import javax.annotation.PreDestroy;
 import javax.inject.Inject;
@@ -31,6 +35,7 @@ import org.eclipse.aether.SyncContext;
 import org.eclipse.aether.internal.impl.synccontext.named.NamedLockFactoryAdapter;
 import org.eclipse.aether.spi.locator.Service;
 import org.eclipse.aether.spi.locator.ServiceLocator;
+import org.eclipse.aether.spi.synccontext.LockWaitSink;
 import org.eclipse.aether.spi.synccontext.SyncContextFactory;
 
 import static java.util.Objects.requireNonNull;
@@ -46,17 +51,23 @@ public final class DefaultSyncContextFactory
     private NamedLockFactoryAdapter namedLockFactoryAdapter;
 
     /**
-     * Constructor used with DI, where factories are injected and selected based on key.
+     * Constructor for a factory that reports lock waits to no sink.
      */
-    @Inject
     public DefaultSyncContextFactory( final NamedLockFactorySelector selector )
     {
-        this.namedLockFactoryAdapter = new NamedLockFactoryAdapter(
-            selector.getSelectedNameMapper(),
-            selector.getSelectedNamedLockFactory(),
-            NamedLockFactorySelector.TIME,
-            NamedLockFactorySelector.TIME_UNIT
-        );
+        this( selector, Collections.<LockWaitSink>emptySet() );
+    }
+
+    /**
+     * Constructor used with DI, where factories are injected and selected based on key, along with the sinks for the
+     * lock waits.
+     *
+     * @since 1.7.3
+     */
+    @Inject
+    public DefaultSyncContextFactory( final NamedLockFactorySelector selector, final Set<LockWaitSink> lockWaitSinks )
+    {
+        this.namedLockFactoryAdapter = newAdapter( selector, lockWaitSinks );
     }
 
     public DefaultSyncContextFactory()
@@ -69,11 +80,18 @@ public final class DefaultSyncContextFactory
     {
         NamedLockFactorySelector selector = Objects.requireNonNull(
             locator.getService( NamedLockFactorySelector.class ) );
-        this.namedLockFactoryAdapter = new NamedLockFactoryAdapter(
+        this.namedLockFactoryAdapter = newAdapter( selector, locator.getServices( LockWaitSink.class ) );
+    }
+
+    private static NamedLockFactoryAdapter newAdapter( final NamedLockFactorySelector selector,
+                                                       final Collection<LockWaitSink> lockWaitSinks )
+    {
+        return new NamedLockFactoryAdapter(
             selector.getSelectedNameMapper(),
             selector.getSelectedNamedLockFactory(),
             NamedLockFactorySelector.TIME,
-            NamedLockFactorySelector.TIME_UNIT
+            NamedLockFactorySelector.TIME_UNIT,
+            lockWaitSinks != null ? new ArrayList<>( lockWaitSinks ) : Collections.<LockWaitSink>emptyList()
         );
     }
 
@@ -25,11 +25,13 @@ import org.eclipse.aether.artifact.Artifact;
 import org.eclipse.aether.metadata.Metadata;
 import org.eclipse.aether.named.NamedLock;
 import org.eclipse.aether.named.NamedLockFactory;
+import org.eclipse.aether.spi.synccontext.LockWaitSink;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayDeque;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Deque;
 import java.util.Objects;
 import java.util.concurrent.TimeUnit;
@@ -47,8 +49,20 @@ public final class NamedLockFactoryAdapter
 
     private final TimeUnit timeUnit;
 
+    private final Collection<LockWaitSink> lockWaitSinks;
+
     public NamedLockFactoryAdapter( final NameMapper nameMapper, final NamedLockFactory namedLockFactory,
                                     final long time, final TimeUnit timeUnit )
+    {
+        this( nameMapper, namedLockFactory, time, timeUnit, Collections.<LockWaitSink>emptyList() );
+    }
+
+    /**
+     * @since 1.7.3
+     */
+    public NamedLockFactoryAdapter( final NameMapper nameMapper, final NamedLockFactory namedLockFactory,
+                                    final long time, final TimeUnit timeUnit,
+                                    final Collection<LockWaitSink> lockWaitSinks )
     {
         this.nameMapper = Objects.requireNonNull( nameMapper );
         this.namedLockFactory = Objects.requireNonNull( namedLockFactory );
@@ -58,11 +72,13 @@ public final class NamedLockFactoryAdapter
         }
         this.time = time;
         this.timeUnit = Objects.requireNonNull( timeUnit );
+        this.lockWaitSinks = Objects.requireNonNull( lockWaitSinks );
     }
 
     public SyncContext newInstance( final RepositorySystemSession session, final boolean shared )
     {
-        return new AdaptedLockSyncContext( session, shared, nameMapper, namedLockFactory, time, timeUnit );
+        return new AdaptedLockSyncContext( session, shared, nameMapper, namedLockFactory, time, timeUnit,
+                                           lockWaitSinks );
     }
 
     public void shutdown()
@@ -88,11 +104,14 @@ public final class NamedLockFactoryAdapter
 
         private final TimeUnit timeUnit;
 
+        private final Collection<LockWaitSink> lockWaitSinks;
+
         private final Deque<NamedLock> locks;
 
         private AdaptedLockSyncContext( final RepositorySystemSession session, final boolean shared,
                                         final NameMapper lockNaming, final NamedLockFactory namedLockFactory,
-                                        final long time, final TimeUnit timeUnit )
+                                        final long time, final TimeUnit timeUnit,
+                                        final Collection<LockWaitSink> lockWaitSinks )
         {
             this.session = session;
             this.shared = shared;
@@ -102,6 +121,7 @@ public final class NamedLockFactoryAdapter
             this.namedLockFactory = namedLockFactory;
             this.time = time;
             this.timeUnit = timeUnit;
+            this.lockWaitSinks = lockWaitSinks;
             this.locks = new ArrayDeque<>();
         }
 
@@ -125,6 +145,7 @@ public final class NamedLockFactoryAdapter
                      LOGGER.trace( "Acquiring {} lock for '{}'",
                              shared ? "read" : "write", key );
 
+                    long start = System.nanoTime();
                     boolean locked;
                     if ( shared )
                     {
@@ -134,6 +155,7 @@ public final class NamedLockFactoryAdapter
                     {
                         locked = namedLock.lockExclusively( time, timeUnit );
                     }
+                    notifySinks( key, locked, System.nanoTime() - start );
 
                     if ( !locked )
                     {
@@ -158,6 +180,21 @@ public final class NamedLockFactoryAdapter
             LOGGER.trace( "Total locks acquired: {}", acquiredLockCount );
         }
 
+        private void notifySinks( final String key, final boolean locked, final long waitTime )
+        {
+            for ( LockWaitSink sink : lockWaitSinks )
+            {
+                try
+                {
+                    sink.waited( session, key, shared, locked, waitTime );
+                }
+                catch ( RuntimeException e )
+                {
+                    LOGGER.warn( "Failed to report lock wait to {}", sink, e );
+                }
+            }
+        }
+
         @Override
         public void close()
         {
@@ -30,6 +30,7 @@ import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
@@ -47,6 +48,7 @@ import org.eclipse.aether.deployment.DeploymentException;
 import org.eclipse.aether.internal.test.util.TestFileProcessor;
 import org.eclipse.aether.internal.test.util.TestFileUtils;
 import org.eclipse.aether.internal.test.util.TestUtils;
+import org.eclipse.aether.metadata.AbstractMetadata;
 import org.eclipse.aether.metadata.DefaultMetadata;
 import org.eclipse.aether.metadata.MergeableMetadata;
 import org.eclipse.aether.metadata.Metadata;
@@ -392,6 +394,125 @@ public class DefaultDeployerTest
         assertNull( props.toString(), props.get( "old" ) );
     }
 
+    @Test
+    public void testMergeableMetadataIsDownloadedInOneBatch()
+        throws Exception
+    {
+        final List<Integer> batches = new ArrayList<>();
+        connectorProvider.setConnector( new RepositoryConnector()
+        {
+
+            public void put( Collection<? extends ArtifactUpload> artifactUploads,
+                             Collection<? extends MetadataUpload> metadataUploads )
+            {
+            }
+
+            public void get( Collection<? extends ArtifactDownload> artifactDownloads,
+                             Collection<? extends MetadataDownload> metadataDownloads )
+            {
+                if ( metadataDownloads != null && !metadataDownloads.isEmpty() )
+                {
+                    batches.add( metadataDownloads.size() );
+                    for ( MetadataDownload download : metadataDownloads )
+                    {
+                        download.setException( new MetadataNotFoundException( download.getMetadata(), null, null ) );
+                    }
+                }
+            }
+
+            public void close()
+            {
+            }
+        } );
+
+        request.addMetadata( new TestMergeableMetadata( "a" ) );
+        request.addMetadata( new TestMergeableMetadata( "b" ) );
+        request.addMetadata( new TestMergeableMetadata( "c" ) );
+
+        deployer.deploy( session, request );
+
+        assertEquals( Collections.singletonList( 3 ), batches );
+
+        List<RepositoryEvent> events = listener.getEvents();
+        int downloaded = 0;
+        for ( RepositoryEvent event : events )
+        {
+            if ( event.getType() == EventType.METADATA_DOWNLOADED )
+            {
+                assertNotNull( event.getException() );
+                downloaded++;
+            }
+        }
+        assertEquals( 3, downloaded );
+    }
+
+    private static class TestMergeableMetadata
+        extends AbstractMetadata
+        implements MergeableMetadata
+    {
+
+        private final String artifactId;
+
+        TestMergeableMetadata( String artifactId )
+        {
+            this.artifactId = artifactId;
+        }
+
+        public String getGroupId()
+        {
+            return "org";
+        }
+
+        public String getArtifactId()
+        {
+            return artifactId;
+        }
+
+        public String getVersion()
+        {
+            return "";
+        }
+
+        public String getType()
+        {
+            return "test.properties";
+        }
+
+        public Nature getNature()
+        {
+            return Nature.RELEASE;
+        }
+
+        public File getFile()
+        {
+            return null;
+        }
+
+        public Map<String, String> getProperties()
+        {
+            return Collections.emptyMap();
+        }
+
+        public void merge( File current, File result )
+            throws RepositoryException
+        {
+            try
+            {
+                TestFileUtils.writeProps( result, new Properties() );
+            }
+            catch ( IOException e )
+            {
+                throw new RepositoryException( e.getMessage(), e );
+            }
+        }
+
+        public boolean isMerged()
+        {
+            return false;
+        }
+
+    }
+
     @Test
     public void testFileTransformer() throws Exception
     {
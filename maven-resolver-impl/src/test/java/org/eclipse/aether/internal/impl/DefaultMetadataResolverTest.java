@@ -24,8 +24,10 @@ import static org.junit.Assert.*;
 import java.io.File;
 import java.io.IOException;
 import java.net.URI;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Set;
 
@@ -185,6 +187,46 @@ public class DefaultMetadataResolverTest
         assertFalse( file.exists() );
     }
 
+    @Test
+    public void testDownloadsBatchedPerRepository()
+        throws IOException
+    {
+        final List<Integer> batches = new ArrayList<>();
+        connector = new RecordingRepositoryConnector()
+        {
+
+            @Override
+            public void get( Collection<? extends ArtifactDownload> artifactDownloads,
+                             Collection<? extends MetadataDownload> metadataDownloads )
+            {
+                synchronized ( batches )
+                {
+                    super.get( artifactDownloads, metadataDownloads );
+                    batches.add( metadataDownloads.size() );
+                }
+            }
+
+        };
+        connectorProvider.setConnector( connector );
+
+        RemoteRepository otherRepository =
+            new RemoteRepository.Builder( "other-DMRT", "default",
+                                          TestFileUtils.createTempDir().toURI().toURL().toString() ).build();
+        Metadata otherMetadata =
+            new DefaultMetadata( "gid", "aid2", "ver", "maven-metadata.xml", Metadata.Nature.RELEASE_OR_SNAPSHOT );
+
+        List<MetadataRequest> requests = new ArrayList<>();
+        requests.add( new MetadataRequest( metadata, repository, "" ) );
+        requests.add( new MetadataRequest( otherMetadata, repository, "" ) );
+        requests.add( new MetadataRequest( metadata, otherRepository, "" ) );
+        List<MetadataResult> results = resolver.resolveMetadata( session, requests );
+
+        assertEquals( 3, results.size() );
+        Collections.sort( batches );
+        assertEquals( Arrays.asList( 1, 2 ), batches );
+        assertEquals( 3, connector.getActualMetadataGetRequests().size() );
+    }
+
     @Test
     public void testOfflineSessionResolveMetadataMissing()
     {
@@ -0,0 +1,173 @@
+package org.eclipse.aether.internal.impl;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.internal.test.util.TestUtils;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.spi.connector.RepositoryConnector;
+import org.eclipse.aether.spi.connector.RepositoryConnectorFactory;
+import org.junit.Before;
+import org.junit.Test;
+
+public class DefaultRepositoryConnectorProviderTest
+{
+
+    private DefaultRepositorySystemSession session;
+
+    private DefaultRepositoryConnectorProvider provider;
+
+    private final List<RecordingRepositoryConnector> created = new ArrayList<>();
+
+    private final List<RecordingRepositoryConnector> closed = new ArrayList<>();
+
+    private RemoteRepository newRepo( String url )
+    {
+        return new RemoteRepository.Builder( "central", "default", url ).build();
+    }
+
+    @Before
+    public void setup()
+    {
+        session = TestUtils.newSession();
+        provider = new DefaultRepositoryConnectorProvider();
+        provider.addRepositoryConnectorFactory( new RepositoryConnectorFactory()
+        {
+            public RepositoryConnector newInstance( RepositorySystemSession session, RemoteRepository repository )
+            {
+                RecordingRepositoryConnector connector = new RecordingRepositoryConnector()
+                {
+                    @Override
+                    public void close()
+                    {
+                        closed.add( this );
+                    }
+                };
+                created.add( connector );
+                return connector;
+            }
+
+            public float getPriority()
+            {
+                return 0;
+            }
+        } );
+    }
+
+    @Test
+    public void testNoPoolingByDefault()
+        throws Exception
+    {
+        RemoteRepository repo = newRepo( "http://localhost" );
+        provider.newRepositoryConnector( session, repo ).close();
+        provider.newRepositoryConnector( session, repo ).close();
+        assertEquals( 2, created.size() );
+        assertEquals( 2, closed.size() );
+    }
+
+    @Test
+    public void testPooling()
+        throws Exception
+    {
+        session.setConfigProperty( DefaultRepositoryConnectorProvider.CONFIG_PROP_POOL, true );
+        RemoteRepository repo = newRepo( "http://localhost" );
+
+        RepositoryConnector connector1 = provider.newRepositoryConnector( session, repo );
+        RepositoryConnector connector2 = provider.newRepositoryConnector( session, newRepo( "http://localhost" ) );
+        assertNotSame( connector1, connector2 );
+        connector1.close();
+        connector2.close();
+        provider.newRepositoryConnector( session, repo ).close();
+        assertEquals( 1, created.size() );
+        assertEquals( 0, closed.size() );
+
+        provider.newRepositoryConnector( session, newRepo( "http://otherhost" ) ).close();
+        assertEquals( 2, created.size() );
+
+        provider.closeRepositoryConnectors( session );
+        assertEquals( 2, closed.size() );
+
+        provider.newRepositoryConnector( session, repo ).close();
+        assertEquals( 3, created.size() );
+    }
+
+    @Test
+    public void testPoolClosesConnectorsInUseOnRelease()
+        throws Exception
+    {
+        session.setConfigProperty( DefaultRepositoryConnectorProvider.CONFIG_PROP_POOL, true );
+        RepositoryConnector connector = provider.newRepositoryConnector( session, newRepo( "http://localhost" ) );
+
+        provider.closeRepositoryConnectors( session );
+        assertEquals( 0, closed.size() );
+
+        connector.close();
+        assertEquals( 1, closed.size() );
+        connector.close();
+        assertEquals( 1, closed.size() );
+    }
+
+    @Test
+    public void testPoolIsSessionScoped()
+        throws Exception
+    {
+        session.setConfigProperty( DefaultRepositoryConnectorProvider.CONFIG_PROP_POOL, true );
+        RemoteRepository repo = newRepo( "http://localhost" );
+        provider.newRepositoryConnector( session, repo ).close();
+
+        DefaultRepositorySystemSession other = TestUtils.newSession();
+        other.setConfigProperty( DefaultRepositoryConnectorProvider.CONFIG_PROP_POOL, true );
+        provider.newRepositoryConnector( other, repo ).close();
+
+        assertEquals( 2, created.size() );
+    }
+
+    @Test
+    public void testPoolIsSharedByDerivedSessions()
+        throws Exception
+    {
+        session.setConfigProperty( DefaultRepositoryConnectorProvider.CONFIG_PROP_POOL, true );
+        RemoteRepository repo = newRepo( "http://localhost" );
+        provider.newRepositoryConnector( session, repo ).close();
+
+        DefaultRepositorySystemSession derived = new DefaultRepositorySystemSession( session );
+        provider.newRepositoryConnector( derived, repo ).close();
+        assertEquals( 1, created.size() );
+
+        derived.setConfigProperty( "aether.connector.requestTimeout", 1000 );
+        provider.newRepositoryConnector( derived, repo ).close();
+        assertEquals( 2, created.size() );
+
+        session.setConfigProperty( "aether.connector.requestTimeout", 1000 );
+        provider.newRepositoryConnector( session, repo ).close();
+        assertEquals( 2, created.size() );
+
+        provider.closeRepositoryConnectors( derived );
+        assertEquals( 2, closed.size() );
+    }
+
+}
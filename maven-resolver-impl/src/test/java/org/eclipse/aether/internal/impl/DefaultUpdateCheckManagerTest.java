@@ -23,9 +23,12 @@ import static org.junit.Assert.*;
 
 import java.io.File;
 import java.net.URI;
+import java.util.Arrays;
 import java.util.Calendar;
 import java.util.Date;
+import java.util.List;
 import java.util.TimeZone;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import org.eclipse.aether.DefaultRepositorySystemSession;
 import org.eclipse.aether.RepositorySystemSession;
@@ -39,6 +42,7 @@ import org.eclipse.aether.metadata.DefaultMetadata;
 import org.eclipse.aether.metadata.Metadata;
 import org.eclipse.aether.repository.RemoteRepository;
 import org.eclipse.aether.repository.RepositoryPolicy;
+import org.eclipse.aether.spi.update.UpdateCheckSink;
 import org.eclipse.aether.transfer.ArtifactNotFoundException;
 import org.eclipse.aether.transfer.ArtifactTransferException;
 import org.eclipse.aether.transfer.MetadataNotFoundException;
@@ -783,4 +787,110 @@ public class DefaultUpdateCheckManagerTest
         assertFalse( check.isRequired() );
     }
 
+    @Test
+    public void testCheckArtifacts()
+    {
+        session.setResolutionErrorPolicy( new SimpleResolutionErrorPolicy( true, false ) );
+
+        UpdateCheck<Artifact, ArtifactTransferException> present = newArtifactCheck();
+        manager.touchArtifact( session, present );
+
+        Artifact missingArtifact =
+            new DefaultArtifact( "gid", "missing", "", "ext", "ver" ).setFile( new File( artifact.getFile().getParent(),
+                                                                                         "missing.txt" ) );
+        UpdateCheck<Artifact, ArtifactTransferException> missing = newArtifactCheck();
+        missing.setItem( missingArtifact );
+        missing.setFile( missingArtifact.getFile() );
+        missing.setException( new ArtifactNotFoundException( missingArtifact, repository ) );
+        manager.touchArtifact( session, missing );
+        missing.setException( null );
+        resetSessionData( session );
+
+        UpdateCheck<Artifact, ArtifactTransferException> unknown = newArtifactCheck();
+        unknown.setItem( new DefaultArtifact( "gid", "unknown", "", "ext", "ver" ) );
+        unknown.setFile( new File( artifact.getFile().getParent(), "unknown.txt" ) );
+
+        try
+        {
+            manager.checkArtifacts( session, Arrays.asList( present, missing, unknown ) );
+
+            assertFalse( present.isRequired() );
+            assertNull( present.getException() );
+            assertFalse( missing.isRequired() );
+            assertTrue( missing.getException() instanceof ArtifactNotFoundException );
+            assertTrue( unknown.isRequired() );
+            assertNull( unknown.getException() );
+        }
+        finally
+        {
+            new File( missingArtifact.getFile().getPath() + ".lastUpdated" ).delete();
+        }
+    }
+
+    @Test
+    public void testCheckArtifactMigratesTrackingFileIntoStatusLog()
+        throws Exception
+    {
+        session.setResolutionErrorPolicy( new SimpleResolutionErrorPolicy( true, false ) );
+        File touchFile = new File( artifact.getFile().getPath() + ".lastUpdated" );
+
+        UpdateCheck<Artifact, ArtifactTransferException> check = newArtifactCheck();
+        check.getFile().delete();
+        check.setException( new ArtifactNotFoundException( artifact, repository ) );
+        manager.touchArtifact( session, check );
+        check.setException( null );
+        resetSessionData( session );
+        assertTrue( touchFile.exists() );
+
+        File basedir = session.getLocalRepository().getBasedir();
+        session.setConfigProperty( DefaultUpdateCheckManager.CONFIG_PROP_STATUS_STORE, "log" );
+        try
+        {
+            manager.checkArtifact( session, check );
+            assertFalse( check.isRequired() );
+            assertTrue( check.getException() instanceof ArtifactNotFoundException );
+            assertFalse( touchFile.exists() );
+            assertNotNull( UpdateStatusLog.forRepository( basedir ).read( touchFile ) );
+
+            check = newArtifactCheck();
+            manager.checkArtifact( session, check );
+            assertFalse( check.isRequired() );
+            assertTrue( check.getException() instanceof ArtifactNotFoundException );
+        }
+        finally
+        {
+            new File( basedir, UpdateStatusLog.FILE_NAME ).delete();
+            new File( basedir, UpdateStatusLog.FILE_NAME + ".lock" ).delete();
+        }
+    }
+
+    @Test
+    public void testChecksAreReportedToSinks()
+    {
+        final List<String> checks = new CopyOnWriteArrayList<>();
+        manager.addUpdateCheckSink( new UpdateCheckSink()
+        {
+            public void artifactChecked( RepositorySystemSession session, Artifact artifact,
+                                         RemoteRepository repository, boolean required, long time )
+            {
+                checks.add( artifact + " " + required );
+            }
+
+            public void metadataChecked( RepositorySystemSession session, Metadata metadata,
+                                         RemoteRepository repository, boolean required, long time )
+            {
+                checks.add( metadata + " " + required );
+            }
+        } );
+
+        UpdateCheck<Artifact, ArtifactTransferException> artifactCheck = newArtifactCheck();
+        artifactCheck.getFile().delete();
+        manager.checkArtifact( session, artifactCheck );
+        UpdateCheck<Metadata, MetadataTransferException> metadataCheck = newMetadataCheck();
+        metadataCheck.getFile().delete();
+        manager.checkMetadata( session, metadataCheck );
+
+        assertEquals( Arrays.asList( artifact + " true", metadata + " true" ), checks );
+    }
+
 }
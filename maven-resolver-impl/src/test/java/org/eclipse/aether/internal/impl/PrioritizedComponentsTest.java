@@ -21,8 +21,11 @@ package org.eclipse.aether.internal.impl;
 
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertSame;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -30,6 +33,8 @@ import java.util.Map;
 import java.util.concurrent.ThreadFactory;
 
 import org.eclipse.aether.ConfigurationProperties;
+import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.eclipse.aether.internal.test.util.TestUtils;
 import org.junit.Test;
 
 public class PrioritizedComponentsTest
@@ -129,4 +134,76 @@ public class PrioritizedComponentsTest
 
         assertEquals( "IllegalArgumentException, NullPointerException", stringBuilder.toString() );
     }
+
+    @Test
+    public void testReuse()
+    {
+        Exception comp1 = new IllegalArgumentException();
+        Exception comp2 = new NullPointerException();
+        List<Exception> comps = Arrays.asList( comp1, comp2 );
+        DefaultRepositorySystemSession session = TestUtils.newSession();
+
+        PrioritizedComponents<Exception> components = PrioritizedComponents.reuse( session, "test", comps, c -> 1f );
+        assertSame( components, PrioritizedComponents.reuse( session, "test", comps, c -> 1f ) );
+        assertSame( comp1, components.getEnabled().get( 0 ).getComponent() );
+
+        Map<String, Object> config = new HashMap<>( session.getConfigProperties() );
+        config.put( ConfigurationProperties.PREFIX_PRIORITY + "NullPointerException", 2 );
+        session.setConfigProperties( config );
+        PrioritizedComponents<Exception> reconfigured =
+            PrioritizedComponents.reuse( session, "test", comps, c -> 1f );
+        assertNotSame( components, reconfigured );
+        assertSame( comp2, reconfigured.getEnabled().get( 0 ).getComponent() );
+
+        assertNotSame( reconfigured,
+                       PrioritizedComponents.reuse( session, "test", new ArrayList<>( comps ), c -> 1f ) );
+    }
+
+    @Test
+    public void testReuseNoticesChangedConfigProperty()
+    {
+        Exception comp1 = new IllegalArgumentException();
+        Exception comp2 = new NullPointerException();
+        List<Exception> comps = Arrays.asList( comp1, comp2 );
+        DefaultRepositorySystemSession session = TestUtils.newSession();
+
+        PrioritizedComponents<Exception> components = PrioritizedComponents.reuse( session, "test", comps, c -> 1f );
+        assertSame( comp1, components.getEnabled().get( 0 ).getComponent() );
+
+        session.setConfigProperty( ConfigurationProperties.PREFIX_PRIORITY + "NullPointerException", 2 );
+        PrioritizedComponents<Exception> reconfigured =
+            PrioritizedComponents.reuse( session, "test", comps, c -> 1f );
+        assertNotSame( components, reconfigured );
+        assertSame( comp2, reconfigured.getEnabled().get( 0 ).getComponent() );
+        assertSame( reconfigured, PrioritizedComponents.reuse( session, "test", comps, c -> 1f ) );
+
+        session.setConfigProperty( ConfigurationProperties.IMPLICIT_PRIORITIES, true );
+        PrioritizedComponents<Exception> implicit = PrioritizedComponents.reuse( session, "test", comps, c -> 1f );
+        assertNotSame( reconfigured, implicit );
+        assertSame( comp1, implicit.getEnabled().get( 0 ).getComponent() );
+
+        session.setConfigProperty( "unrelated", "value" );
+        assertSame( implicit, PrioritizedComponents.reuse( session, "test", comps, c -> 1f ) );
+    }
+
+    @Test
+    public void testGetEnabled_Preferred()
+    {
+        Exception comp1 = new IllegalArgumentException();
+        Exception comp2 = new NullPointerException();
+        PrioritizedComponents<Exception> components = new PrioritizedComponents<>( Collections.emptyMap() );
+        components.add( comp1, 1 );
+        components.add( comp2, 0 );
+
+        List<PrioritizedComponent<Exception>> sorted = components.getEnabled( "key" );
+        assertEquals( 2, sorted.size() );
+        assertSame( comp1, sorted.get( 0 ).getComponent() );
+
+        components.setPreferred( "key", sorted.get( 1 ) );
+        sorted = components.getEnabled( "key" );
+        assertEquals( 2, sorted.size() );
+        assertSame( comp2, sorted.get( 0 ).getComponent() );
+        assertSame( comp1, sorted.get( 1 ).getComponent() );
+        assertSame( comp1, components.getEnabled( "other" ).get( 0 ).getComponent() );
+    }
 }
@@ -0,0 +1,151 @@
+package org.eclipse.aether.internal.impl;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Properties;
+
+import org.eclipse.aether.internal.test.util.TestFileUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ */
+public class UpdateStatusLogTest
+{
+
+    private File basedir;
+
+    private Path file;
+
+    @Before
+    public void setup()
+        throws Exception
+    {
+        basedir = TestFileUtils.createTempDir();
+        file = basedir.toPath().resolve( UpdateStatusLog.FILE_NAME );
+    }
+
+    @After
+    public void teardown()
+        throws Exception
+    {
+        TestFileUtils.deleteFile( basedir );
+    }
+
+    @Test
+    public void testUpdate()
+    {
+        UpdateStatusLog log = new UpdateStatusLog( file );
+        File trackingFile = new File( basedir, "gid/aid/ver/aid-ver.jar.lastUpdated" );
+        assertNull( log.read( trackingFile ) );
+
+        Properties props = log.update( trackingFile, Collections.singletonMap( "key1", "value1" ) );
+        assertEquals( "value1", props.getProperty( "key1" ) );
+        props = log.update( trackingFile, Collections.singletonMap( "key2", "value2" ) );
+        assertEquals( 2, props.size() );
+
+        props = new UpdateStatusLog( file ).read( trackingFile );
+        assertNotNull( props );
+        assertEquals( "value1", props.getProperty( "key1" ) );
+        assertEquals( "value2", props.getProperty( "key2" ) );
+
+        log.remove( trackingFile );
+        assertNull( log.read( trackingFile ) );
+        assertNull( new UpdateStatusLog( file ).read( trackingFile ) );
+    }
+
+    @Test
+    public void testUpdatesOfOtherInstancesAreVisible()
+    {
+        UpdateStatusLog log1 = new UpdateStatusLog( file );
+        UpdateStatusLog log2 = new UpdateStatusLog( file );
+        File trackingFile = new File( basedir, "resolver-status.properties" );
+
+        log1.update( trackingFile, Collections.singletonMap( "key", "value1" ) );
+        assertEquals( "value1", log2.read( trackingFile ).getProperty( "key" ) );
+
+        log2.update( trackingFile, Collections.singletonMap( "key", "value2" ) );
+        assertEquals( "value2", log1.read( trackingFile ).getProperty( "key" ) );
+    }
+
+    @Test
+    public void testCompaction()
+        throws Exception
+    {
+        UpdateStatusLog log = new UpdateStatusLog( file );
+        UpdateStatusLog other = new UpdateStatusLog( file );
+        File trackingFile = new File( basedir, "a.lastUpdated" );
+        other.read( trackingFile );
+
+        for ( int i = 0; i < 5000; i++ )
+        {
+            log.update( trackingFile, Collections.singletonMap( "key", String.valueOf( i ) ) );
+        }
+        assertTrue( String.valueOf( file.toFile().length() ), file.toFile().length() < 50000 );
+
+        assertEquals( "4999", other.read( trackingFile ).getProperty( "key" ) );
+        assertEquals( "4999", new UpdateStatusLog( file ).read( trackingFile ).getProperty( "key" ) );
+    }
+
+    @Test
+    public void testIncompleteRecordIsDiscarded()
+        throws Exception
+    {
+        UpdateStatusLog log = new UpdateStatusLog( file );
+        File trackingFile = new File( basedir, "a.lastUpdated" );
+        log.update( trackingFile, Collections.singletonMap( "key", "value" ) );
+
+        try ( RandomAccessFile raf = new RandomAccessFile( file.toFile(), "rw" ) )
+        {
+            raf.seek( raf.length() );
+            raf.writeInt( 1000 );
+            raf.writeInt( 3 );
+        }
+
+        UpdateStatusLog other = new UpdateStatusLog( file );
+        assertEquals( "value", other.read( trackingFile ).getProperty( "key" ) );
+        other.update( new File( basedir, "b.lastUpdated" ), Collections.singletonMap( "key", "other" ) );
+
+        UpdateStatusLog reloaded = new UpdateStatusLog( file );
+        assertEquals( "value", reloaded.read( trackingFile ).getProperty( "key" ) );
+        assertEquals( "other", reloaded.read( new File( basedir, "b.lastUpdated" ) ).getProperty( "key" ) );
+    }
+
+    @Test
+    public void testImportIfAbsent()
+    {
+        UpdateStatusLog log = new UpdateStatusLog( file );
+        File trackingFile = new File( basedir, "a.lastUpdated" );
+        Properties legacy = new Properties();
+        legacy.setProperty( "key", "legacy" );
+
+        assertEquals( "legacy", log.importIfAbsent( trackingFile, legacy ).getProperty( "key" ) );
+        log.update( trackingFile, Collections.singletonMap( "key", "value" ) );
+        assertEquals( "value", log.importIfAbsent( trackingFile, legacy ).getProperty( "key" ) );
+    }
+
+}
@@ -21,17 +21,23 @@ package org.eclipse.aether.internal.impl.collect;
 
 import org.eclipse.aether.DefaultRepositorySystemSession;
 import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.collection.DependencyCollectionContext;
+import org.eclipse.aether.collection.DependencySelector;
 import org.eclipse.aether.graph.Dependency;
 import org.eclipse.aether.repository.RemoteRepository;
 import org.eclipse.aether.resolution.ArtifactDescriptorRequest;
 import org.eclipse.aether.resolution.ArtifactDescriptorResult;
 import org.eclipse.aether.resolution.VersionRangeRequest;
+import org.eclipse.aether.util.graph.selector.StaticDependencySelector;
 import org.junit.Test;
 
 import java.util.Collections;
+import java.util.List;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 
 public class DataPoolTest
 {
@@ -82,4 +88,42 @@ public class DataPoolTest
         Object key2 = pool.toKey( request );
         assertEquals(key1, key2);
     }
+
+    @Test
+    public void testDerivationCaching()
+    {
+        final int[] derivations = { 0 };
+        DependencySelector selector = new DependencySelector()
+        {
+            public boolean selectDependency( Dependency dependency )
+            {
+                return true;
+            }
+
+            public DependencySelector deriveChildSelector( DependencyCollectionContext context )
+            {
+                derivations[0]++;
+                return new StaticDependencySelector( true );
+            }
+        };
+
+        DataPool pool = newDataPool();
+        Dependency dependency = new Dependency( new DefaultArtifact( "gid:aid:1" ), "compile" );
+        Dependency other = new Dependency( new DefaultArtifact( "gid:other:1" ), "compile" );
+        List<Dependency> managed = Collections.emptyList();
+        DefaultDependencyCollectionContext context =
+            new DefaultDependencyCollectionContext( new DefaultRepositorySystemSession(), null, dependency, managed );
+
+        DependencySelector child1 = pool.deriveChildSelector( selector, context );
+        DependencySelector child2 = pool.deriveChildSelector( selector, context );
+        assertSame( child1, child2 );
+        assertEquals( 1, derivations[0] );
+
+        context.set( other, managed );
+        DependencySelector child3 = pool.deriveChildSelector( selector, context );
+        assertEquals( 2, derivations[0] );
+        assertSame( "equal derived strategies should be interned", child1, child3 );
+
+        assertNull( pool.deriveChildSelector( null, context ) );
+    }
 }
@@ -45,6 +45,7 @@ import org.eclipse.aether.artifact.ArtifactProperties;
 import org.eclipse.aether.artifact.DefaultArtifact;
 import org.eclipse.aether.collection.CollectRequest;
 import org.eclipse.aether.collection.CollectResult;
+import org.eclipse.aether.collection.CollectStats;
 import org.eclipse.aether.collection.DependencyCollectionContext;
 import org.eclipse.aether.collection.DependencyCollectionException;
 import org.eclipse.aether.collection.DependencyManagement;
@@ -64,6 +65,7 @@ import org.eclipse.aether.repository.RemoteRepository;
 import org.eclipse.aether.resolution.ArtifactDescriptorException;
 import org.eclipse.aether.resolution.ArtifactDescriptorRequest;
 import org.eclipse.aether.resolution.ArtifactDescriptorResult;
+import org.eclipse.aether.spi.collection.CollectStatsSink;
 import org.eclipse.aether.util.artifact.ArtifactIdUtils;
 import org.eclipse.aether.util.graph.manager.ClassicDependencyManager;
 import org.eclipse.aether.util.graph.manager.DefaultDependencyManager;
@@ -569,6 +571,151 @@ public class DefaultDependencyCollectorTest
         assertEquals( 1, result.getRoot().getChildren().size() );
     }
 
+    private ArtifactDescriptorReader newCountingReader( final List<Artifact> reads )
+    {
+        final ArtifactDescriptorReader reader = newReader( "" );
+        return new ArtifactDescriptorReader()
+        {
+            public ArtifactDescriptorResult readArtifactDescriptor( RepositorySystemSession session,
+                                                                    ArtifactDescriptorRequest request )
+                throws ArtifactDescriptorException
+            {
+                reads.add( request.getArtifact() );
+                return reader.readArtifactDescriptor( session, request );
+            }
+        };
+    }
+
+    @Test
+    public void testIncrementalCollection()
+        throws IOException, DependencyCollectionException
+    {
+        List<Artifact> reads = new ArrayList<>();
+        collector.setArtifactDescriptorReader( newCountingReader( reads ) );
+
+        DependencyNode root = parser.parseResource( "expectedSubtreeComparisonResult.txt" );
+        CollectRequest request = new CollectRequest( root.getDependency(), Arrays.asList( repository ) );
+
+        CollectResult result = collector.collectDependencies( session, request, null );
+        assertEqualSubtree( root, result.getRoot() );
+        int fullReads = reads.size();
+
+        reads.clear();
+        result = collector.collectDependencies( session, request, result );
+        assertEqualSubtree( root, result.getRoot() );
+        // only the root and the direct dependencies need their descriptors read again
+        assertEquals( 3, reads.size() );
+        assertTrue( reads.size() < fullReads );
+
+        reads.clear();
+        result = collector.collectDependencies( session, request, result );
+        assertEqualSubtree( root, result.getRoot() );
+        assertEquals( 3, reads.size() );
+    }
+
+    @Test
+    public void testIncrementalCollectionWithoutPreviousSnapshot()
+        throws IOException, DependencyCollectionException
+    {
+        List<Artifact> reads = new ArrayList<>();
+        collector.setArtifactDescriptorReader( newCountingReader( reads ) );
+
+        DependencyNode root = parser.parseResource( "expectedSubtreeComparisonResult.txt" );
+        CollectRequest request = new CollectRequest( root.getDependency(), Arrays.asList( repository ) );
+
+        CollectResult result = collector.collectDependencies( session, request );
+        int fullReads = reads.size();
+
+        reads.clear();
+        result = collector.collectDependencies( session, request, result );
+        assertEqualSubtree( root, result.getRoot() );
+        assertEquals( fullReads, reads.size() );
+    }
+
+    @Test
+    public void testIncrementalCollectionResolvesRangesAgain()
+        throws DependencyCollectionException
+    {
+        List<Artifact> reads = new ArrayList<>();
+        collector.setArtifactDescriptorReader( newCountingReader( reads ) );
+        session.setVersionFilter( new HighestVersionFilter() );
+
+        CollectRequest request = new CollectRequest( newDep( "gid:rangeroot:ext:1" ), Arrays.asList( repository ) );
+        CollectResult result = collector.collectDependencies( session, request, null );
+        List<Artifact> fullReads = new ArrayList<>( reads );
+
+        reads.clear();
+        result = collector.collectDependencies( session, request, result );
+        assertEquals( fullReads, reads );
+        assertEquals( 1, result.getRoot().getChildren().get( 0 ).getChildren().size() );
+    }
+
+    @Test
+    public void testIncrementalCollectionWithCycles()
+        throws Exception
+    {
+        DependencyNode root = parser.parseResource( "cycle.txt" );
+        CollectRequest request = new CollectRequest( root.getDependency(), Arrays.asList( repository ) );
+        CollectResult result = collector.collectDependencies( session, request, null );
+        result = collector.collectDependencies( session, request, result );
+        assertEqualSubtree( root, result.getRoot() );
+        assertEquals( 1, result.getCycles().size() );
+    }
+
+    @Test
+    public void testStatsDisabledByDefault()
+        throws DependencyCollectionException
+    {
+        CollectRequest request = new CollectRequest( newDep( "gid:aid:ext:ver" ), Arrays.asList( repository ) );
+        CollectResult result = collector.collectDependencies( session, request );
+        assertNull( result.getStats() );
+    }
+
+    @Test
+    public void testStatsEnabledByConfig()
+        throws IOException, DependencyCollectionException
+    {
+        List<Artifact> reads = new ArrayList<>();
+        collector.setArtifactDescriptorReader( newCountingReader( reads ) );
+        session.setConfigProperty( "aether.dependencyCollector.stats", true );
+
+        DependencyNode root = parser.parseResource( "expectedSubtreeComparisonResult.txt" );
+        CollectRequest request = new CollectRequest( root.getDependency(), Arrays.asList( repository ) );
+        CollectResult result = collector.collectDependencies( session, request );
+
+        CollectStats stats = result.getStats();
+        assertNotNull( stats );
+        assertEquals( reads.size(), stats.getCounter( CollectStats.DESCRIPTOR_READS ) );
+        assertTrue( stats.getCounter( CollectStats.DESCRIPTOR_CACHE_HITS ) > 0 );
+        assertTrue( stats.getCounter( CollectStats.GRAPH_CACHE_HITS ) > 0 );
+        assertTrue( stats.getCounter( CollectStats.NODES ) > 0 );
+        assertEquals( 0, stats.getCounter( CollectStats.CYCLES ) );
+        assertTrue( stats.getTimers().containsKey( CollectStats.COLLECT ) );
+        assertTrue( stats.getTimers().containsKey( CollectStats.TRANSFORM ) );
+    }
+
+    @Test
+    public void testStatsReportedToSink()
+        throws Exception
+    {
+        final List<CollectStats> reported = new ArrayList<>();
+        collector.addCollectStatsSink( new CollectStatsSink()
+        {
+            public void collected( RepositorySystemSession session, CollectResult result, CollectStats stats )
+            {
+                reported.add( stats );
+            }
+        } );
+
+        DependencyNode root = parser.parseResource( "cycle.txt" );
+        CollectRequest request = new CollectRequest( root.getDependency(), Arrays.asList( repository ) );
+        CollectResult result = collector.collectDependencies( session, request );
+
+        assertEquals( 1, reported.size() );
+        assertSame( result.getStats(), reported.get( 0 ) );
+        assertEquals( 1, reported.get( 0 ).getCounter( CollectStats.CYCLES ) );
+    }
+
     static class TestDependencyManager
         implements DependencyManager
     {
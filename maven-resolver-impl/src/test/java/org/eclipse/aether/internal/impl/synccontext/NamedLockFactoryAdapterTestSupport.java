@@ -25,6 +25,7 @@ import org.eclipse.aether.artifact.DefaultArtifact;
 import org.eclipse.aether.internal.impl.synccontext.named.*;
 import org.eclipse.aether.named.NamedLockFactory;
 import org.eclipse.aether.repository.LocalRepository;
+import org.eclipse.aether.spi.synccontext.LockWaitSink;
 import org.eclipse.aether.spi.synccontext.SyncContextFactory;
 import org.junit.AfterClass;
 import org.junit.Assert;
@@ -35,7 +36,10 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 
@@ -100,6 +104,18 @@ public abstract class NamedLockFactoryAdapterTestSupport {
         }
     }
 
+    @Test
+    public void lockWaitsAreReported() {
+        List<String> waits = new CopyOnWriteArrayList<>();
+        LockWaitSink sink = (s, name, shared, acquired, waitTime) -> waits.add(shared + " " + acquired);
+        NamedLockFactoryAdapter reporting = new NamedLockFactoryAdapter(nameMapper, namedLockFactory, ADAPTER_TIME,
+                ADAPTER_TIME_UNIT, Collections.singletonList(sink));
+        try (SyncContext syncContext = reporting.newInstance(session, true)) {
+            syncContext.acquire(Arrays.asList(new DefaultArtifact("groupId:artifactId:1.0")), null);
+        }
+        Assert.assertEquals(Collections.singletonList("true true"), waits);
+    }
+
     @Test(timeout = 5000)
     public void sharedAccess() throws InterruptedException {
         CountDownLatch winners = new CountDownLatch(2); // we expect 2 winners
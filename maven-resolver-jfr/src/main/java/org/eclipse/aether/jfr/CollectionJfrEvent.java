@@ -0,0 +1,82 @@
+package org.eclipse.aether.jfr;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * The stats of a dependency collection.
+ */
+@Name( "org.eclipse.aether.Collection" )
+@Label( "Resolver Dependency Collection" )
+@Category( "Maven Resolver" )
+@Description( "The stats of a dependency collection" )
+final class CollectionJfrEvent
+    extends jdk.jfr.Event
+{
+
+    @Label( "Root" )
+    String root;
+
+    @Label( "Nodes" )
+    long nodes;
+
+    @Label( "Descriptor Reads" )
+    long descriptorReads;
+
+    @Label( "Descriptor Read Time" )
+    @Timespan
+    long descriptorReadTime;
+
+    @Label( "Descriptor Cache Hits" )
+    long descriptorCacheHits;
+
+    @Label( "Range Resolutions" )
+    long rangeResolutions;
+
+    @Label( "Range Resolution Time" )
+    @Timespan
+    long rangeResolutionTime;
+
+    @Label( "Graph Cache Hits" )
+    long graphCacheHits;
+
+    @Label( "Graph Cache Misses" )
+    long graphCacheMisses;
+
+    @Label( "Cycles" )
+    long cycles;
+
+    @Label( "Exceptions" )
+    int exceptions;
+
+    @Label( "Collect Time" )
+    @Timespan
+    long collectTime;
+
+    @Label( "Transform Time" )
+    @Timespan
+    long transformTime;
+
+}
@@ -0,0 +1,67 @@
+package org.eclipse.aether.jfr;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import javax.inject.Named;
+import javax.inject.Singleton;
+
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.collection.CollectResult;
+import org.eclipse.aether.collection.CollectStats;
+import org.eclipse.aether.graph.DependencyNode;
+import org.eclipse.aether.spi.collection.CollectStatsSink;
+
+/**
+ * A sink that emits a flight recorder event per dependency collection, carrying the descriptor reads, range
+ * resolutions, graph cache efficiency and timings recorded by the collector.
+ */
+@Singleton
+@Named( "jfr" )
+public final class JfrCollectStatsSink
+    implements CollectStatsSink
+{
+
+    private final JfrEvents jfrEvents;
+
+    /**
+     * Creates a new sink.
+     */
+    public JfrCollectStatsSink()
+    {
+        this( JfrEvents.getInstance() );
+    }
+
+    JfrCollectStatsSink( JfrEvents jfrEvents )
+    {
+        this.jfrEvents = jfrEvents;
+    }
+
+    public void collected( RepositorySystemSession session, CollectResult result, CollectStats stats )
+    {
+        DependencyNode root = result.getRoot();
+        String coordinates = null;
+        if ( root != null && root.getArtifact() != null )
+        {
+            coordinates = root.getArtifact().toString();
+        }
+        jfrEvents.collection( coordinates, stats, result.getExceptions().size() );
+    }
+
+}
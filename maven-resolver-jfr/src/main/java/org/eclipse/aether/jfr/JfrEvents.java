@@ -0,0 +1,99 @@
+package org.eclipse.aether.jfr;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.eclipse.aether.collection.CollectStats;
+import org.eclipse.aether.transfer.TransferResource;
+
+/**
+ * The bridge to the flight recorder. This base class emits nothing, it is used on Java 8 which lacks the flight
+ * recorder API. The multi-release JAR carries a subclass for Java 11 and later that is loaded reflectively. The
+ * {@code begin*} methods return an opaque event handle that must be passed to the corresponding {@code end*} method,
+ * a {@code null} handle indicates that the event is not recorded.
+ */
+class JfrEvents
+{
+
+    private static final String RECORDING_EVENTS = "org.eclipse.aether.jfr.RecordingJfrEvents";
+
+    private static final JfrEvents INSTANCE = newInstance();
+
+    JfrEvents()
+    {
+        // enable subclassing
+    }
+
+    /**
+     * Gets the bridge suitable for the current Java runtime.
+     *
+     * @return The bridge, never {@code null}.
+     */
+    static JfrEvents getInstance()
+    {
+        return INSTANCE;
+    }
+
+    private static JfrEvents newInstance()
+    {
+        try
+        {
+            return (JfrEvents) Class.forName( RECORDING_EVENTS ).getDeclaredConstructor().newInstance();
+        }
+        catch ( ReflectiveOperationException | LinkageError e )
+        {
+            return new JfrEvents();
+        }
+    }
+
+    Object beginTransfer( TransferResource resource, String requestType )
+    {
+        return null;
+    }
+
+    void endTransfer( Object event, long bytes, String outcome )
+    {
+    }
+
+    Object beginOperation( String operation, String coordinates )
+    {
+        return null;
+    }
+
+    void endOperation( Object event, String repository, String outcome )
+    {
+    }
+
+    void descriptorProblem( String coordinates, String repository, String outcome )
+    {
+    }
+
+    void collection( String root, CollectStats stats, int exceptions )
+    {
+    }
+
+    void lockWait( String lock, boolean shared, boolean acquired, long waitTime )
+    {
+    }
+
+    void updateCheck( String coordinates, String repository, boolean required, long checkTime )
+    {
+    }
+
+}
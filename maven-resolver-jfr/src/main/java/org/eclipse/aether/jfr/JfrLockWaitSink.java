@@ -0,0 +1,59 @@
+package org.eclipse.aether.jfr;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import javax.inject.Named;
+import javax.inject.Singleton;
+
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.spi.synccontext.LockWaitSink;
+
+/**
+ * A sink that emits a flight recorder event per attempt to acquire a named lock, carrying the lock name, the lock mode,
+ * whether the lock was acquired and the time spent waiting for it.
+ */
+@Singleton
+@Named( "jfr" )
+public final class JfrLockWaitSink
+    implements LockWaitSink
+{
+
+    private final JfrEvents jfrEvents;
+
+    /**
+     * Creates a new sink.
+     */
+    public JfrLockWaitSink()
+    {
+        this( JfrEvents.getInstance() );
+    }
+
+    JfrLockWaitSink( JfrEvents jfrEvents )
+    {
+        this.jfrEvents = jfrEvents;
+    }
+
+    public void waited( RepositorySystemSession session, String name, boolean shared, boolean acquired,
+                        long waitTime )
+    {
+        jfrEvents.lockWait( name, shared, acquired, waitTime );
+    }
+
+}
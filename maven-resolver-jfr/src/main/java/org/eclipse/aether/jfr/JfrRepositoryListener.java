@@ -0,0 +1,206 @@
+package org.eclipse.aether.jfr;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.inject.Named;
+import javax.inject.Singleton;
+
+import org.eclipse.aether.AbstractRepositoryListener;
+import org.eclipse.aether.RepositoryEvent;
+import org.eclipse.aether.repository.ArtifactRepository;
+import org.eclipse.aether.repository.RemoteRepository;
+
+/**
+ * A repository listener that emits flight recorder events for the resolution and download of artifacts and metadata
+ * as well as for invalid or missing artifact descriptors. The events carry the coordinates, the repository, the
+ * duration and the outcome of the operation. When registered as component, the listener receives the events of all
+ * sessions, it can also be added to a single session via
+ * {@code ChainedRepositoryListener}.
+ */
+@Singleton
+@Named( "jfr" )
+public final class JfrRepositoryListener
+    extends AbstractRepositoryListener
+{
+
+    static final String ARTIFACT_RESOLUTION = "artifact-resolution";
+
+    static final String ARTIFACT_DOWNLOAD = "artifact-download";
+
+    static final String METADATA_RESOLUTION = "metadata-resolution";
+
+    static final String METADATA_DOWNLOAD = "metadata-download";
+
+    private final JfrEvents jfrEvents;
+
+    /**
+     * The pending events, keyed by operation and artifact/metadata. An operation whose end is never reported leaves
+     * its entry behind only until the same operation starts again for the artifact/metadata. Concurrent operations on
+     * the same artifact/metadata share one entry, only one of them is recorded then.
+     */
+    private final Map<Key, Object> events = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a new listener.
+     */
+    public JfrRepositoryListener()
+    {
+        this( JfrEvents.getInstance() );
+    }
+
+    JfrRepositoryListener( JfrEvents jfrEvents )
+    {
+        this.jfrEvents = jfrEvents;
+    }
+
+    @Override
+    public void artifactResolving( RepositoryEvent event )
+    {
+        begin( ARTIFACT_RESOLUTION, event.getArtifact() );
+    }
+
+    @Override
+    public void artifactResolved( RepositoryEvent event )
+    {
+        end( ARTIFACT_RESOLUTION, event.getArtifact(), event );
+    }
+
+    @Override
+    public void artifactDownloading( RepositoryEvent event )
+    {
+        begin( ARTIFACT_DOWNLOAD, event.getArtifact() );
+    }
+
+    @Override
+    public void artifactDownloaded( RepositoryEvent event )
+    {
+        end( ARTIFACT_DOWNLOAD, event.getArtifact(), event );
+    }
+
+    @Override
+    public void metadataResolving( RepositoryEvent event )
+    {
+        begin( METADATA_RESOLUTION, event.getMetadata() );
+    }
+
+    @Override
+    public void metadataResolved( RepositoryEvent event )
+    {
+        end( METADATA_RESOLUTION, event.getMetadata(), event );
+    }
+
+    @Override
+    public void metadataDownloading( RepositoryEvent event )
+    {
+        begin( METADATA_DOWNLOAD, event.getMetadata() );
+    }
+
+    @Override
+    public void metadataDownloaded( RepositoryEvent event )
+    {
+        end( METADATA_DOWNLOAD, event.getMetadata(), event );
+    }
+
+    @Override
+    public void artifactDescriptorInvalid( RepositoryEvent event )
+    {
+        jfrEvents.descriptorProblem( String.valueOf( event.getArtifact() ), toString( event.getRepository() ),
+                                     "INVALID" );
+    }
+
+    @Override
+    public void artifactDescriptorMissing( RepositoryEvent event )
+    {
+        jfrEvents.descriptorProblem( String.valueOf( event.getArtifact() ), toString( event.getRepository() ),
+                                     "MISSING" );
+    }
+
+    private void begin( String operation, Object subject )
+    {
+        Object jfrEvent = jfrEvents.beginOperation( operation, String.valueOf( subject ) );
+        if ( jfrEvent != null )
+        {
+            events.put( new Key( operation, subject ), jfrEvent );
+        }
+    }
+
+    private void end( String operation, Object subject, RepositoryEvent event )
+    {
+        Object jfrEvent = events.remove( new Key( operation, subject ) );
+        if ( jfrEvent != null )
+        {
+            String outcome = event.getExceptions().isEmpty() ? "SUCCEEDED" : "FAILED";
+            jfrEvents.endOperation( jfrEvent, toString( event.getRepository() ), outcome );
+        }
+    }
+
+    private static String toString( ArtifactRepository repository )
+    {
+        if ( repository instanceof RemoteRepository )
+        {
+            return ( (RemoteRepository) repository ).getUrl();
+        }
+        return ( repository != null ) ? repository.getId() : null;
+    }
+
+    private static final class Key
+    {
+
+        private final String operation;
+
+        private final Object subject;
+
+        private final int hashCode;
+
+        Key( String operation, Object subject )
+        {
+            this.operation = operation;
+            this.subject = subject;
+            this.hashCode = operation.hashCode() * 31 + ( subject != null ? subject.hashCode() : 0 );
+        }
+
+        @Override
+        public boolean equals( Object obj )
+        {
+            if ( this == obj )
+            {
+                return true;
+            }
+            if ( !( obj instanceof Key ) )
+            {
+                return false;
+            }
+            Key that = (Key) obj;
+            return operation.equals( that.operation )
+                && ( subject != null ? subject.equals( that.subject ) : that.subject == null );
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return hashCode;
+        }
+
+    }
+
+}
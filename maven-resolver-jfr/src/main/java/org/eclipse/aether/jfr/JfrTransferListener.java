@@ -0,0 +1,90 @@
+package org.eclipse.aether.jfr;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.aether.transfer.AbstractTransferListener;
+import org.eclipse.aether.transfer.TransferEvent;
+import org.eclipse.aether.transfer.TransferResource;
+
+/**
+ * A transfer listener that emits a flight recorder event per transfer, carrying the repository, the resource, the
+ * number of transferred bytes, the duration and the outcome. Transfer listeners are configured per session, use
+ * {@code ChainedTransferListener} to combine this listener with an existing one.
+ */
+public final class JfrTransferListener
+    extends AbstractTransferListener
+{
+
+    private final JfrEvents jfrEvents;
+
+    /**
+     * The pending events. A transfer reports all its events with the same resource instance, which has identity
+     * semantics.
+     */
+    private final Map<TransferResource, Object> events = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a new listener.
+     */
+    public JfrTransferListener()
+    {
+        this( JfrEvents.getInstance() );
+    }
+
+    JfrTransferListener( JfrEvents jfrEvents )
+    {
+        this.jfrEvents = jfrEvents;
+    }
+
+    @Override
+    public void transferInitiated( TransferEvent event )
+    {
+        Object jfrEvent = jfrEvents.beginTransfer( event.getResource(), event.getRequestType().name() );
+        if ( jfrEvent != null )
+        {
+            events.put( event.getResource(), jfrEvent );
+        }
+    }
+
+    @Override
+    public void transferSucceeded( TransferEvent event )
+    {
+        end( event, "SUCCEEDED" );
+    }
+
+    @Override
+    public void transferFailed( TransferEvent event )
+    {
+        end( event, "FAILED" );
+    }
+
+    private void end( TransferEvent event, String outcome )
+    {
+        Object jfrEvent = events.remove( event.getResource() );
+        if ( jfrEvent != null )
+        {
+            jfrEvents.endTransfer( jfrEvent, event.getTransferredBytes(), outcome );
+        }
+    }
+
+}
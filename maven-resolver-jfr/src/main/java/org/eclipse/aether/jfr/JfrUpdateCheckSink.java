@@ -0,0 +1,68 @@
+package org.eclipse.aether.jfr;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import javax.inject.Named;
+import javax.inject.Singleton;
+
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.metadata.Metadata;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.spi.update.UpdateCheckSink;
+
+/**
+ * A sink that emits a flight recorder event per update check, carrying the coordinates, the repository, whether the
+ * artifact or metadata needs to be fetched and the time spent on the check.
+ */
+@Singleton
+@Named( "jfr" )
+public final class JfrUpdateCheckSink
+    implements UpdateCheckSink
+{
+
+    private final JfrEvents jfrEvents;
+
+    /**
+     * Creates a new sink.
+     */
+    public JfrUpdateCheckSink()
+    {
+        this( JfrEvents.getInstance() );
+    }
+
+    JfrUpdateCheckSink( JfrEvents jfrEvents )
+    {
+        this.jfrEvents = jfrEvents;
+    }
+
+    public void artifactChecked( RepositorySystemSession session, Artifact artifact, RemoteRepository repository,
+                                 boolean required, long time )
+    {
+        jfrEvents.updateCheck( String.valueOf( artifact ), repository.getUrl(), required, time );
+    }
+
+    public void metadataChecked( RepositorySystemSession session, Metadata metadata, RemoteRepository repository,
+                                 boolean required, long time )
+    {
+        jfrEvents.updateCheck( String.valueOf( metadata ), repository.getUrl(), required, time );
+    }
+
+}
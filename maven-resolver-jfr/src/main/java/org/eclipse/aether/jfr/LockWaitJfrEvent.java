@@ -0,0 +1,52 @@
+package org.eclipse.aether.jfr;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * The wait for a named lock of a synchronization context.
+ */
+@Name( "org.eclipse.aether.LockWait" )
+@Label( "Resolver Lock Wait" )
+@Category( "Maven Resolver" )
+@Description( "The wait for a named lock of a synchronization context" )
+final class LockWaitJfrEvent
+    extends jdk.jfr.Event
+{
+
+    @Label( "Lock" )
+    String lock;
+
+    @Label( "Shared" )
+    boolean shared;
+
+    @Label( "Acquired" )
+    boolean acquired;
+
+    @Label( "Wait Time" )
+    @Timespan
+    long waitTime;
+
+}
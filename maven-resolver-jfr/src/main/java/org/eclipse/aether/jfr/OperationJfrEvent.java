@@ -0,0 +1,50 @@
+package org.eclipse.aether.jfr;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * The resolution or download of an artifact or metadata.
+ */
+@Name( "org.eclipse.aether.Operation" )
+@Label( "Resolver Operation" )
+@Category( "Maven Resolver" )
+@Description( "The resolution or download of an artifact or metadata" )
+final class OperationJfrEvent
+    extends jdk.jfr.Event
+{
+
+    @Label( "Operation" )
+    String operation;
+
+    @Label( "Coordinates" )
+    String coordinates;
+
+    @Label( "Repository" )
+    String repository;
+
+    @Label( "Outcome" )
+    String outcome;
+
+}
@@ -0,0 +1,153 @@
+package org.eclipse.aether.jfr;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.eclipse.aether.collection.CollectStats;
+import org.eclipse.aether.transfer.TransferResource;
+
+/**
+ * The bridge to the flight recorder for Java 11 and later. This class is compiled into {@code META-INF/versions/11} of
+ * the multi-release JAR. Event objects are only populated for event types enabled in a running recording, so the
+ * listeners cost next to nothing otherwise.
+ */
+final class RecordingJfrEvents
+    extends JfrEvents
+{
+
+    @Override
+    Object beginTransfer( TransferResource resource, String requestType )
+    {
+        TransferJfrEvent event = new TransferJfrEvent();
+        if ( !event.isEnabled() )
+        {
+            return null;
+        }
+        event.repository = resource.getRepositoryUrl();
+        event.resource = resource.getResourceName();
+        event.requestType = requestType;
+        event.begin();
+        return event;
+    }
+
+    @Override
+    void endTransfer( Object event, long bytes, String outcome )
+    {
+        TransferJfrEvent jfrEvent = (TransferJfrEvent) event;
+        jfrEvent.end();
+        if ( jfrEvent.shouldCommit() )
+        {
+            jfrEvent.bytes = bytes;
+            jfrEvent.outcome = outcome;
+            jfrEvent.commit();
+        }
+    }
+
+    @Override
+    Object beginOperation( String operation, String coordinates )
+    {
+        OperationJfrEvent event = new OperationJfrEvent();
+        if ( !event.isEnabled() )
+        {
+            return null;
+        }
+        event.operation = operation;
+        event.coordinates = coordinates;
+        event.begin();
+        return event;
+    }
+
+    @Override
+    void endOperation( Object event, String repository, String outcome )
+    {
+        OperationJfrEvent jfrEvent = (OperationJfrEvent) event;
+        jfrEvent.end();
+        if ( jfrEvent.shouldCommit() )
+        {
+            jfrEvent.repository = repository;
+            jfrEvent.outcome = outcome;
+            jfrEvent.commit();
+        }
+    }
+
+    @Override
+    void descriptorProblem( String coordinates, String repository, String outcome )
+    {
+        DescriptorProblemJfrEvent event = new DescriptorProblemJfrEvent();
+        if ( event.shouldCommit() )
+        {
+            event.coordinates = coordinates;
+            event.repository = repository;
+            event.outcome = outcome;
+            event.commit();
+        }
+    }
+
+    @Override
+    void collection( String root, CollectStats stats, int exceptions )
+    {
+        CollectionJfrEvent event = new CollectionJfrEvent();
+        if ( event.shouldCommit() )
+        {
+            event.root = root;
+            event.nodes = stats.getCounter( CollectStats.NODES );
+            event.descriptorReads = stats.getCounter( CollectStats.DESCRIPTOR_READS );
+            event.descriptorReadTime = stats.getTime( CollectStats.DESCRIPTOR_READS );
+            event.descriptorCacheHits = stats.getCounter( CollectStats.DESCRIPTOR_CACHE_HITS );
+            event.rangeResolutions = stats.getCounter( CollectStats.RANGE_RESOLUTIONS );
+            event.rangeResolutionTime = stats.getTime( CollectStats.RANGE_RESOLUTIONS );
+            event.graphCacheHits = stats.getCounter( CollectStats.GRAPH_CACHE_HITS );
+            event.graphCacheMisses = stats.getCounter( CollectStats.GRAPH_CACHE_MISSES );
+            event.cycles = stats.getCounter( CollectStats.CYCLES );
+            event.exceptions = exceptions;
+            event.collectTime = stats.getTime( CollectStats.COLLECT );
+            event.transformTime = stats.getTime( CollectStats.TRANSFORM );
+            event.commit();
+        }
+    }
+
+    @Override
+    void lockWait( String lock, boolean shared, boolean acquired, long waitTime )
+    {
+        LockWaitJfrEvent event = new LockWaitJfrEvent();
+        if ( event.shouldCommit() )
+        {
+            event.lock = lock;
+            event.shared = shared;
+            event.acquired = acquired;
+            event.waitTime = waitTime;
+            event.commit();
+        }
+    }
+
+    @Override
+    void updateCheck( String coordinates, String repository, boolean required, long checkTime )
+    {
+        UpdateCheckJfrEvent event = new UpdateCheckJfrEvent();
+        if ( event.shouldCommit() )
+        {
+            event.coordinates = coordinates;
+            event.repository = repository;
+            event.required = required;
+            event.checkTime = checkTime;
+            event.commit();
+        }
+    }
+
+}
@@ -0,0 +1,55 @@
+package org.eclipse.aether.jfr;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * The upload or download of a single resource by a repository connector.
+ */
+@Name( "org.eclipse.aether.Transfer" )
+@Label( "Resolver Transfer" )
+@Category( "Maven Resolver" )
+@Description( "The upload or download of a resource" )
+final class TransferJfrEvent
+    extends jdk.jfr.Event
+{
+
+    @Label( "Repository" )
+    String repository;
+
+    @Label( "Resource" )
+    String resource;
+
+    @Label( "Request Type" )
+    String requestType;
+
+    @Label( "Bytes" )
+    @DataAmount
+    long bytes;
+
+    @Label( "Outcome" )
+    String outcome;
+
+}
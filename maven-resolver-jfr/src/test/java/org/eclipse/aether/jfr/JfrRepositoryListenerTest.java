@@ -0,0 +1,140 @@
+package org.eclipse.aether.jfr;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.eclipse.aether.RepositoryEvent;
+import org.eclipse.aether.RepositoryEvent.EventType;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.collection.CollectRequest;
+import org.eclipse.aether.collection.CollectResult;
+import org.eclipse.aether.collection.CollectStats;
+import org.eclipse.aether.graph.DefaultDependencyNode;
+import org.eclipse.aether.metadata.DefaultMetadata;
+import org.eclipse.aether.metadata.Metadata;
+import org.eclipse.aether.internal.test.util.TestUtils;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.junit.Test;
+
+public class JfrRepositoryListenerTest
+{
+
+    private final RepositorySystemSession session = TestUtils.newSession();
+
+    private final RecordedJfrEvents jfrEvents = new RecordedJfrEvents();
+
+    private final JfrRepositoryListener listener = new JfrRepositoryListener( jfrEvents );
+
+    private final RemoteRepository repository =
+        new RemoteRepository.Builder( "test", "default", "http://localhost/repo/" ).build();
+
+    private RepositoryEvent newEvent( EventType type, Artifact artifact, Exception exception )
+    {
+        return new RepositoryEvent.Builder( session, type ).setArtifact( artifact ).setRepository( repository )
+            .setException( exception ).build();
+    }
+
+    @Test
+    public void testResolution()
+    {
+        Artifact artifact = new DefaultArtifact( "gid:aid:1" );
+        listener.artifactResolving( newEvent( EventType.ARTIFACT_RESOLVING, artifact, null ) );
+        listener.artifactDownloading( newEvent( EventType.ARTIFACT_DOWNLOADING, artifact, null ) );
+        listener.artifactDownloaded( newEvent( EventType.ARTIFACT_DOWNLOADED, artifact, null ) );
+        listener.artifactResolved( newEvent( EventType.ARTIFACT_RESOLVED, artifact, new Exception() ) );
+        assertEquals( Arrays.asList( "artifact-download gid:aid:jar:1 http://localhost/repo/ SUCCEEDED",
+                                     "artifact-resolution gid:aid:jar:1 http://localhost/repo/ FAILED" ),
+                      jfrEvents.events );
+    }
+
+    @Test
+    public void testEndReportedByOtherThread()
+        throws Exception
+    {
+        Artifact artifact = new DefaultArtifact( "gid:aid:1" );
+        listener.artifactDownloading( newEvent( EventType.ARTIFACT_DOWNLOADING, artifact, null ) );
+        Thread thread = new Thread( () -> listener.artifactDownloaded(
+            newEvent( EventType.ARTIFACT_DOWNLOADED, new DefaultArtifact( "gid:aid:1" ), null ) ) );
+        thread.start();
+        thread.join();
+        assertEquals( Collections.singletonList( "artifact-download gid:aid:jar:1 http://localhost/repo/ SUCCEEDED" ),
+                      jfrEvents.events );
+    }
+
+    @Test
+    public void testRestartReplacesUnfinishedOperation()
+    {
+        Artifact artifact = new DefaultArtifact( "gid:aid:1" );
+        listener.artifactResolving( newEvent( EventType.ARTIFACT_RESOLVING, artifact, null ) );
+        listener.artifactResolving( newEvent( EventType.ARTIFACT_RESOLVING, artifact, null ) );
+        listener.artifactResolved( newEvent( EventType.ARTIFACT_RESOLVED, artifact, null ) );
+        listener.artifactResolved( newEvent( EventType.ARTIFACT_RESOLVED, artifact, null ) );
+        assertEquals( Collections.singletonList( "artifact-resolution gid:aid:jar:1 http://localhost/repo/ SUCCEEDED" ),
+                      jfrEvents.events );
+    }
+
+    @Test
+    public void testDescriptorProblems()
+    {
+        Artifact artifact = new DefaultArtifact( "gid:aid:1" );
+        listener.artifactDescriptorMissing( newEvent( EventType.ARTIFACT_DESCRIPTOR_MISSING, artifact, null ) );
+        listener.artifactDescriptorInvalid( newEvent( EventType.ARTIFACT_DESCRIPTOR_INVALID, artifact, null ) );
+        assertEquals( Arrays.asList( "descriptor gid:aid:jar:1 http://localhost/repo/ MISSING",
+                                     "descriptor gid:aid:jar:1 http://localhost/repo/ INVALID" ),
+                      jfrEvents.events );
+    }
+
+    @Test
+    public void testCollectStatsSink()
+    {
+        CollectResult result = new CollectResult( new CollectRequest() );
+        result.setRoot( new DefaultDependencyNode( new DefaultArtifact( "gid:aid:1" ) ) );
+        CollectStats stats = new CollectStats( Collections.singletonMap( CollectStats.NODES, 7L ),
+                                               Collections.<String, Long>emptyMap() );
+        new JfrCollectStatsSink( jfrEvents ).collected( session, result, stats );
+        assertEquals( Collections.singletonList( "collection gid:aid:jar:1 7 0" ), jfrEvents.events );
+    }
+
+    @Test
+    public void testLockWaitSink()
+    {
+        new JfrLockWaitSink( jfrEvents ).waited( session, "gid:aid:1", true, false, 1000L );
+        assertEquals( Collections.singletonList( "lock gid:aid:1 true false" ), jfrEvents.events );
+    }
+
+    @Test
+    public void testUpdateCheckSink()
+    {
+        JfrUpdateCheckSink sink = new JfrUpdateCheckSink( jfrEvents );
+        sink.artifactChecked( session, new DefaultArtifact( "gid:aid:1" ), repository, true, 1000L );
+        sink.metadataChecked( session, new DefaultMetadata( "gid", "aid", "maven-metadata.xml",
+                                                            Metadata.Nature.RELEASE ), repository, false, 1000L );
+        assertEquals( Arrays.asList( "check gid:aid:jar:1 http://localhost/repo/ true",
+                                     "check gid:aid/maven-metadata.xml http://localhost/repo/ false" ),
+                      jfrEvents.events );
+    }
+
+}
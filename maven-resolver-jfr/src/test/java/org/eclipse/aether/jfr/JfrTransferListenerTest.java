@@ -0,0 +1,79 @@
+package org.eclipse.aether.jfr;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.internal.test.util.TestUtils;
+import org.eclipse.aether.transfer.TransferEvent;
+import org.eclipse.aether.transfer.TransferResource;
+import org.junit.Test;
+
+public class JfrTransferListenerTest
+{
+
+    private final RepositorySystemSession session = TestUtils.newSession();
+
+    private final RecordedJfrEvents jfrEvents = new RecordedJfrEvents();
+
+    private final JfrTransferListener listener = new JfrTransferListener( jfrEvents );
+
+    private TransferEvent.Builder newEvent( String resourceName )
+    {
+        TransferResource resource = new TransferResource( "test", "http://localhost/repo/", resourceName, null, null );
+        return new TransferEvent.Builder( session, resource );
+    }
+
+    @Test
+    public void testTransferSucceeded()
+    {
+        TransferEvent.Builder event = newEvent( "gid/aid/1/aid-1.jar" );
+        listener.transferInitiated( event.resetType( TransferEvent.EventType.INITIATED ).build() );
+        listener.transferSucceeded( event.resetType( TransferEvent.EventType.SUCCEEDED ).setTransferredBytes( 42 )
+                                        .build() );
+        assertEquals( Arrays.asList( "GET gid/aid/1/aid-1.jar 42 SUCCEEDED" ), jfrEvents.events );
+    }
+
+    @Test
+    public void testConcurrentTransfersOfSameResourceName()
+    {
+        TransferEvent.Builder first = newEvent( "gid/aid/1/aid-1.pom" );
+        TransferEvent.Builder second = newEvent( "gid/aid/1/aid-1.pom" )
+            .setRequestType( TransferEvent.RequestType.PUT );
+        listener.transferInitiated( first.resetType( TransferEvent.EventType.INITIATED ).build() );
+        listener.transferInitiated( second.resetType( TransferEvent.EventType.INITIATED ).build() );
+        listener.transferFailed( second.resetType( TransferEvent.EventType.FAILED ).build() );
+        listener.transferSucceeded( first.resetType( TransferEvent.EventType.SUCCEEDED ).build() );
+        assertEquals( Arrays.asList( "PUT gid/aid/1/aid-1.pom 0 FAILED", "GET gid/aid/1/aid-1.pom 0 SUCCEEDED" ),
+                      jfrEvents.events );
+    }
+
+    @Test
+    public void testEndWithoutBegin()
+    {
+        listener.transferSucceeded( newEvent( "gid/aid/1/aid-1.jar" ).resetType( TransferEvent.EventType.SUCCEEDED )
+                                        .build() );
+        assertEquals( 0, jfrEvents.events.size() );
+    }
+
+}
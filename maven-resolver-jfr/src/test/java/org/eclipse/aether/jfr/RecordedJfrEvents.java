@@ -0,0 +1,85 @@
+package org.eclipse.aether.jfr;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.aether.collection.CollectStats;
+import org.eclipse.aether.transfer.TransferResource;
+
+/**
+ * Records the events passed to the bridge as strings.
+ */
+final class RecordedJfrEvents
+    extends JfrEvents
+{
+
+    final List<String> events = new ArrayList<>();
+
+    @Override
+    Object beginTransfer( TransferResource resource, String requestType )
+    {
+        return requestType + " " + resource.getResourceName();
+    }
+
+    @Override
+    void endTransfer( Object event, long bytes, String outcome )
+    {
+        events.add( event + " " + bytes + " " + outcome );
+    }
+
+    @Override
+    Object beginOperation( String operation, String coordinates )
+    {
+        return operation + " " + coordinates;
+    }
+
+    @Override
+    void endOperation( Object event, String repository, String outcome )
+    {
+        events.add( event + " " + repository + " " + outcome );
+    }
+
+    @Override
+    void descriptorProblem( String coordinates, String repository, String outcome )
+    {
+        events.add( "descriptor " + coordinates + " " + repository + " " + outcome );
+    }
+
+    @Override
+    void collection( String root, CollectStats stats, int exceptions )
+    {
+        events.add( "collection " + root + " " + stats.getCounter( CollectStats.NODES ) + " " + exceptions );
+    }
+
+    @Override
+    void lockWait( String lock, boolean shared, boolean acquired, long waitTime )
+    {
+        events.add( "lock " + lock + " " + shared + " " + acquired );
+    }
+
+    @Override
+    void updateCheck( String coordinates, String repository, boolean required, long checkTime )
+    {
+        events.add( "check " + coordinates + " " + repository + " " + required );
+    }
+
+}
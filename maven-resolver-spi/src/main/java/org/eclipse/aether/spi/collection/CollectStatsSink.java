@@ -0,0 +1,46 @@
+package org.eclipse.aether.spi.collection;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.collection.CollectResult;
+import org.eclipse.aether.collection.CollectStats;
+
+/**
+ * A consumer of the counters and timers recorded during dependency collection, e.g. to keep them in memory for later
+ * analysis or to forward them to a monitoring system. The presence of a sink enables the recording of stats, without
+ * sinks they are only recorded if requested via the session configuration.
+ * <p>
+ * <strong>Note:</strong> Implementations must be stateless or thread-safe, a sink is shared by all collections.
+ */
+public interface CollectStatsSink
+{
+
+    /**
+     * Notifies the sink about a finished dependency collection. This method is invoked regardless whether the
+     * collection succeeded or failed, exceptions thrown by the sink are logged and otherwise ignored.
+     *
+     * @param session The repository session the collection was performed in, must not be {@code null}.
+     * @param result The collection result, must not be {@code null}.
+     * @param stats The recorded stats, must not be {@code null}.
+     */
+    void collected( RepositorySystemSession session, CollectResult result, CollectStats stats );
+
+}
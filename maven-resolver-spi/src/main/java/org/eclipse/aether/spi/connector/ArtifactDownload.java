@@ -49,6 +49,8 @@ public final class ArtifactDownload
 
     private List<RemoteRepository> repositories = Collections.emptyList();
 
+    private int priority;
+
     /**
      * Creates a new uninitialized download.
      */
@@ -225,6 +227,30 @@ public final class ArtifactDownload
         return this;
     }
 
+    /**
+     * Gets the priority of this download. Repository connectors that process several downloads concurrently should
+     * start downloads with a higher priority before those with a lower priority.
+     * 
+     * @return The priority of this download, {@code 0} by default.
+     */
+    public int getPriority()
+    {
+        return priority;
+    }
+
+    /**
+     * Sets the priority of this download. Downloads the caller needs to proceed, e.g. artifact descriptors, should be
+     * given a higher priority than bulk downloads.
+     * 
+     * @param priority The priority of this download, higher values denote higher priority.
+     * @return This transfer for chaining, never {@code null}.
+     */
+    public ArtifactDownload setPriority( int priority )
+    {
+        this.priority = priority;
+        return this;
+    }
+
     @Override
     public ArtifactDownload setException( ArtifactTransferException exception )
     {
@@ -0,0 +1,47 @@
+package org.eclipse.aether.spi.connector.checksum;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.nio.ByteBuffer;
+
+/**
+ * A checksum algorithm computing the checksum of a single stream of data. Instances are obtained from a
+ * {@link ChecksumAlgorithmFactory} and are not required to be thread-safe, a repository connector feeds an instance
+ * from one thread at a time.
+ */
+public interface ChecksumAlgorithm
+{
+
+    /**
+     * Updates the checksum with the remaining bytes of the specified buffer. Upon return, the position of the buffer
+     * equals its limit. The buffer must not be retained, its contents may be modified once this method returns.
+     *
+     * @param input The data to update the checksum with, must not be {@code null}.
+     */
+    void update( ByteBuffer input );
+
+    /**
+     * Completes the computation and returns the checksum. The algorithm must not be updated afterwards.
+     *
+     * @return The checksum encoded in lower case hexadecimal notation, never {@code null}.
+     */
+    String checksum();
+
+}
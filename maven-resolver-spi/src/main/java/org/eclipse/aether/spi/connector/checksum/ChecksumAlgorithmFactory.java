@@ -0,0 +1,46 @@
+package org.eclipse.aether.spi.connector.checksum;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+/**
+ * A factory for a checksum algorithm. Repository connectors use the factory whose name matches the algorithm of a
+ * checksum given by the repository layout and resort to the message digests of the Java Cryptography Architecture for
+ * algorithms without a factory. Factories thus allow to plug in faster implementations of well-known algorithms or
+ * algorithms not available as {@link java.security.MessageDigest}, e.g. for checksums only used locally.
+ */
+public interface ChecksumAlgorithmFactory
+{
+
+    /**
+     * Gets the name of the algorithm, e.g. {@code "SHA-1"}, as used by
+     * {@link org.eclipse.aether.spi.connector.layout.RepositoryLayout.Checksum#getAlgorithm()}.
+     *
+     * @return The name of the algorithm, never {@code null}.
+     */
+    String getName();
+
+    /**
+     * Creates a new instance of the algorithm for the computation of a single checksum.
+     *
+     * @return The new algorithm instance, never {@code null}.
+     */
+    ChecksumAlgorithm getAlgorithm();
+
+}
@@ -18,8 +18,8 @@
  * under the License.
  */
 /**
- * The support infrastructure for repository connectors to apply checksum policies when validating the integrity of
- * downloaded files.  
+ * The support infrastructure for repository connectors to compute checksums and to apply checksum policies when
+ * validating the integrity of downloaded files.
  */
 package org.eclipse.aether.spi.connector.checksum;
 
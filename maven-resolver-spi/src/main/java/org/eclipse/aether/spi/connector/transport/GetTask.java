@@ -47,6 +47,8 @@ public final class GetTask
 
     private Map<String, String> checksums;
 
+    private boolean linked;
+
     /**
      * Creates a new task for the specified remote resource.
      * 
@@ -164,6 +166,33 @@ public final class GetTask
         return 0;
     }
 
+    /**
+     * Indicates whether the transporter linked the data file to the resource instead of transferring its data, e.g.
+     * by creating a hard link to a file in a local repository.
+     *
+     * @return {@code true} if the data file was linked to the resource, {@code false} otherwise.
+     * @since 1.7.3
+     */
+    public boolean isLinked()
+    {
+        return linked;
+    }
+
+    /**
+     * Marks the data file as linked to the resource instead of being transferred. A transporter linking the data file
+     * should supply the checksums it knows for the resource via {@link #setChecksum(String, String)}, the caller may
+     * then validate those instead of reading the data file.
+     *
+     * @param linked {@code true} if the data file was linked to the resource, {@code false} otherwise.
+     * @return This task for chaining, never {@code null}.
+     * @since 1.7.3
+     */
+    public GetTask setLinked( boolean linked )
+    {
+        this.linked = linked;
+        return this;
+    }
+
     /**
      * Gets the data that was downloaded into memory. <strong>Note:</strong> This method may only be called if
      * {@link #getDataFile()} is {@code null} as otherwise the downloaded data has been written directly to disk.
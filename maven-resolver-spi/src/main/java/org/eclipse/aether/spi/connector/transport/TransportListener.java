@@ -28,7 +28,7 @@ import org.eclipse.aether.transfer.TransferCancelledException;
  * sequence of events is generally as follows:
  * 
  * <pre>
- * ( STARTED PROGRESSED* )*
+ * ( CONNECTED? STARTED PROGRESSED* )*
  * </pre>
  * 
  * The methods in this class do nothing.
@@ -43,6 +43,16 @@ public abstract class TransportListener
     {
     }
 
+    /**
+     * Notifies the listener that a new connection was established for the transfer. This event is not fired if the
+     * transfer reuses an existing connection or if the transporter does not measure the connection setup.
+     * 
+     * @param connectTime The time in milliseconds spent to establish the connection, must not be negative.
+     */
+    public void transportConnected( long connectTime )
+    {
+    }
+
     /**
      * Notifies the listener about the start of the data transfer. This event may arise more than once if the transfer
      * needs to be restarted (e.g. after an authentication failure).
@@ -94,6 +94,19 @@ public interface Transporter
     void put( PutTask task )
         throws Exception;
 
+    /**
+     * Publishes the uploads that this transporter deferred, e.g. to publish several uploads together. A caller that
+     * uploads a batch of resources should invoke this method after the uploads and only consider them complete once
+     * it returned. Transporters that publish each upload right away need not implement this method.
+     * 
+     * @throws Exception If the deferred uploads could not be published.
+     * @since 1.7.3
+     */
+    default void flush()
+        throws Exception
+    {
+    }
+
     /**
      * Closes this transporter and frees any network resources associated with it. Once closed, a transporter must not
      * be used for further transfers, any attempt to do so would yield a {@link IllegalStateException} or similar.
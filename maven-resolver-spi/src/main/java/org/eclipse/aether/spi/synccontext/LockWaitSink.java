@@ -0,0 +1,47 @@
+package org.eclipse.aether.spi.synccontext;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.eclipse.aether.RepositorySystemSession;
+
+/**
+ * A consumer of the time spent waiting for the named locks that back synchronization contexts, e.g. to forward it to
+ * a monitoring system.
+ * <p>
+ * <strong>Note:</strong> Implementations must be stateless or thread-safe, a sink is shared by all sessions.
+ *
+ * @since 1.7.3
+ */
+public interface LockWaitSink
+{
+
+    /**
+     * Notifies the sink about a finished attempt to acquire a named lock. Exceptions thrown by the sink are logged and
+     * otherwise ignored.
+     *
+     * @param session The repository session the lock was requested in, must not be {@code null}.
+     * @param name The name of the lock, must not be {@code null}.
+     * @param shared {@code true} if the lock was requested for reading, {@code false} if for writing.
+     * @param acquired {@code true} if the lock was acquired, {@code false} if the attempt timed out or failed.
+     * @param waitTime The time in nanoseconds spent waiting for the lock.
+     */
+    void waited( RepositorySystemSession session, String name, boolean shared, boolean acquired, long waitTime );
+
+}
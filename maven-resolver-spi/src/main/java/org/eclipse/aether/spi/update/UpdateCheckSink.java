@@ -0,0 +1,64 @@
+package org.eclipse.aether.spi.update;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.metadata.Metadata;
+import org.eclipse.aether.repository.RemoteRepository;
+
+/**
+ * A consumer of the update checks that decide whether artifacts and metadata need to be fetched again from a remote
+ * repository, e.g. to forward their outcome and duration to a monitoring system.
+ * <p>
+ * <strong>Note:</strong> Implementations must be stateless or thread-safe, a sink is shared by all sessions.
+ *
+ * @since 1.7.3
+ */
+public interface UpdateCheckSink
+{
+
+    /**
+     * Notifies the sink about a finished update check of an artifact. Exceptions thrown by the sink are logged and
+     * otherwise ignored.
+     *
+     * @param session The repository session the check was performed in, must not be {@code null}.
+     * @param artifact The checked artifact, must not be {@code null}.
+     * @param repository The repository the artifact would be fetched from, must not be {@code null}.
+     * @param required {@code true} if the artifact needs to be fetched, {@code false} otherwise.
+     * @param time The time in nanoseconds spent on the check.
+     */
+    void artifactChecked( RepositorySystemSession session, Artifact artifact, RemoteRepository repository,
+                          boolean required, long time );
+
+    /**
+     * Notifies the sink about a finished update check of metadata. Exceptions thrown by the sink are logged and
+     * otherwise ignored.
+     *
+     * @param session The repository session the check was performed in, must not be {@code null}.
+     * @param metadata The checked metadata, must not be {@code null}.
+     * @param repository The repository the metadata would be fetched from, must not be {@code null}.
+     * @param required {@code true} if the metadata needs to be fetched, {@code false} otherwise.
+     * @param time The time in nanoseconds spent on the check.
+     */
+    void metadataChecked( RepositorySystemSession session, Metadata metadata, RemoteRepository repository,
+                          boolean required, long time );
+
+}
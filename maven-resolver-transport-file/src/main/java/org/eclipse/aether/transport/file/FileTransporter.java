@@ -22,7 +22,19 @@ package org.eclipse.aether.transport.file;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
+import org.eclipse.aether.RepositorySystemSession;
 import org.eclipse.aether.repository.RemoteRepository;
 import org.eclipse.aether.spi.connector.transport.AbstractTransporter;
 import org.eclipse.aether.spi.connector.transport.GetTask;
@@ -30,6 +42,8 @@ import org.eclipse.aether.spi.connector.transport.PeekTask;
 import org.eclipse.aether.spi.connector.transport.PutTask;
 import org.eclipse.aether.spi.connector.transport.TransportTask;
 import org.eclipse.aether.transfer.NoTransporterException;
+import org.eclipse.aether.util.ChecksumUtils;
+import org.eclipse.aether.util.ConfigUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -40,11 +54,38 @@ final class FileTransporter
     extends AbstractTransporter
 {
 
+    static final String CONFIG_PROP_LINK = "aether.connector.file.link";
+
+    static final String CONFIG_PROP_FSYNC = "aether.connector.file.fsync";
+
+    static final String CONFIG_PROP_BATCH = "aether.connector.file.batch";
+
+    /**
+     * The algorithms of the checksum files next to a linked resource that are supplied along with it.
+     */
+    private static final String[] SIDECAR_ALGORITHMS = { "SHA-512", "SHA-256", "SHA-1", "MD5" };
+
     private static final Logger LOGGER = LoggerFactory.getLogger( FileTransporter.class );
 
     private final File basedir;
 
-    FileTransporter( RemoteRepository repository )
+    private final boolean link;
+
+    private final boolean fsync;
+
+    /**
+     * The directory in which uploads are staged until they are flushed or {@code null} if uploads are published
+     * individually. It is a hidden sibling of the repository, so it does not show up in the repository but is usually
+     * on the same file system.
+     */
+    private final File staging;
+
+    /**
+     * Guards the staging directory, uploads write to it concurrently while a flush needs exclusive access.
+     */
+    private final ReadWriteLock stagingLock = new ReentrantReadWriteLock();
+
+    FileTransporter( RepositorySystemSession session, RemoteRepository repository )
         throws NoTransporterException
     {
         if ( !"file".equalsIgnoreCase( repository.getProtocol() ) )
@@ -52,6 +93,19 @@ final class FileTransporter
             throw new NoTransporterException( repository );
         }
         basedir = new File( PathUtils.basedir( repository.getUrl() ) ).getAbsoluteFile();
+        link = ConfigUtils.getBoolean( session, false, CONFIG_PROP_LINK + '.' + repository.getId(), CONFIG_PROP_LINK );
+        fsync =
+            ConfigUtils.getBoolean( session, false, CONFIG_PROP_FSYNC + '.' + repository.getId(), CONFIG_PROP_FSYNC );
+        if ( ConfigUtils.getBoolean( session, false, CONFIG_PROP_BATCH + '.' + repository.getId(), CONFIG_PROP_BATCH ) )
+        {
+            File parent = basedir.getParentFile();
+            String name = '.' + basedir.getName() + ".staging-" + UUID.randomUUID().toString().replace( "-", "" );
+            staging = new File( ( parent != null ) ? parent : basedir, name );
+        }
+        else
+        {
+            staging = null;
+        }
     }
 
     File getBasedir()
@@ -80,29 +134,132 @@ final class FileTransporter
         throws Exception
     {
         File file = getFile( task, true );
+        if ( link && task.getDataFile() != null && link( task, file ) )
+        {
+            return;
+        }
         utilGet( task, new FileInputStream( file ), true, file.length(), false );
     }
 
+    /**
+     * Hard links the data file of the specified task to the resource instead of copying it. The checksum files next to
+     * the resource are supplied with the task, i.e. the resource is reported as completely present from the start such
+     * that the connector can validate it against those checksums without reading it.
+     *
+     * @return {@code true} if the data file was linked, {@code false} if the resource needs to be copied.
+     */
+    private boolean link( GetTask task, File file )
+        throws Exception
+    {
+        Path target = task.getDataFile().toPath();
+        Path tmp = target.resolveSibling( target.getFileName() + ".link" );
+        try
+        {
+            Files.deleteIfExists( tmp );
+            Files.createLink( tmp, file.toPath() );
+            Files.move( tmp, target, StandardCopyOption.REPLACE_EXISTING );
+        }
+        catch ( IOException | UnsupportedOperationException e )
+        {
+            LOGGER.debug( "Could not link {} to {}, copying it instead: {}", target, file, e.getMessage() );
+            Files.deleteIfExists( tmp );
+            return false;
+        }
+
+        for ( String algorithm : SIDECAR_ALGORITHMS )
+        {
+            String extension = algorithm.replace( "-", "" ).toLowerCase( Locale.ENGLISH );
+            File sidecar = new File( file.getPath() + '.' + extension );
+            if ( sidecar.isFile() )
+            {
+                try
+                {
+                    task.setChecksum( algorithm, ChecksumUtils.read( sidecar ) );
+                }
+                catch ( IOException e )
+                {
+                    LOGGER.debug( "Could not read checksum file {}: {}", sidecar, e.getMessage() );
+                }
+            }
+        }
+
+        task.setLinked( true );
+        long length = file.length();
+        task.getListener().transportStarted( length, length );
+        return true;
+    }
+
     @Override
     protected void implPut( PutTask task )
         throws Exception
+    {
+        if ( staging == null )
+        {
+            write( task );
+            return;
+        }
+        stagingLock.readLock().lock();
+        try
+        {
+            write( task );
+        }
+        finally
+        {
+            stagingLock.readLock().unlock();
+        }
+    }
+
+    private void write( PutTask task )
+        throws Exception
     {
         File file = getFile( task, false );
         file.getParentFile().mkdirs();
+        File tmp = File.createTempFile( '.' + file.getName() + '.', ".tmp", file.getParentFile() );
         try
         {
-            utilPut( task, new FileOutputStream( file ), true );
+            FileOutputStream out = new FileOutputStream( tmp );
+            try
+            {
+                utilPut( task, out, false );
+                if ( fsync )
+                {
+                    out.getFD().sync();
+                }
+            }
+            finally
+            {
+                out.close();
+            }
+            move( tmp.toPath(), file.toPath() );
         }
         catch ( Exception e )
         {
-            if ( !file.delete() && file.exists() )
+            if ( !tmp.delete() && tmp.exists() )
             {
-                LOGGER.debug( "Could not delete partial file {}", file );
+                LOGGER.debug( "Could not delete partial file {}", tmp );
             }
             throw e;
         }
     }
 
+    /**
+     * Moves the specified file or directory into place such that concurrent readers either observe the previous or
+     * the new target but never a partially written one, unless the file system does not support atomic moves.
+     */
+    private static void move( Path source, Path target )
+        throws IOException
+    {
+        try
+        {
+            Files.move( source, target, StandardCopyOption.ATOMIC_MOVE );
+        }
+        catch ( AtomicMoveNotSupportedException e )
+        {
+            LOGGER.debug( "Could not atomically move {} to {}: {}", source, target, e.getMessage() );
+            Files.move( source, target, StandardCopyOption.REPLACE_EXISTING );
+        }
+    }
+
     private File getFile( TransportTask task, boolean required )
         throws Exception
     {
@@ -112,6 +269,14 @@ final class FileTransporter
             throw new IllegalArgumentException( "illegal resource path: " + path );
         }
         File file = new File( basedir, path );
+        if ( staging != null )
+        {
+            File staged = new File( staging, path );
+            if ( !required || staged.exists() )
+            {
+                file = staged;
+            }
+        }
         if ( required && !file.exists() )
         {
             throw new ResourceNotFoundException( "Could not locate " + file );
@@ -119,9 +284,94 @@ final class FileTransporter
         return file;
     }
 
+    /**
+     * Publishes the uploads staged so far, if uploads are staged at all.
+     */
+    @Override
+    public void flush()
+        throws IOException
+    {
+        if ( staging == null )
+        {
+            return;
+        }
+        stagingLock.writeLock().lock();
+        try
+        {
+            if ( staging.isDirectory() )
+            {
+                publish( staging, basedir );
+                Files.delete( staging.toPath() );
+            }
+        }
+        finally
+        {
+            stagingLock.writeLock().unlock();
+        }
+    }
+
     @Override
     protected void implClose()
     {
+        try
+        {
+            flush();
+        }
+        catch ( IOException e )
+        {
+            LOGGER.warn( "Could not publish uploads staged in {}: {}", staging, e.getMessage(), e );
+        }
+    }
+
+    /**
+     * Publishes the staged uploads in the specified directory. A staged directory whose target does not exist yet is
+     * published by a single rename, otherwise its contents are published one by one. Subdirectories are published
+     * before files such that index files like metadata are replaced after the content they refer to.
+     */
+    private static void publish( File stagedDir, File targetDir )
+        throws IOException
+    {
+        File[] children = stagedDir.listFiles();
+        if ( children == null )
+        {
+            throw new IOException( "Could not list staged directory " + stagedDir );
+        }
+        List<File> files = new ArrayList<>();
+        for ( File child : children )
+        {
+            if ( !child.isDirectory() )
+            {
+                files.add( child );
+                continue;
+            }
+            File target = new File( targetDir, child.getName() );
+            if ( target.exists() )
+            {
+                publish( child, target );
+                Files.delete( child.toPath() );
+            }
+            else
+            {
+                targetDir.mkdirs();
+                try
+                {
+                    move( child.toPath(), target.toPath() );
+                }
+                catch ( IOException e )
+                {
+                    // e.g. the repository is on another file system than the staging directory
+                    LOGGER.debug( "Could not move {} to {}, publishing its contents: {}", child, target,
+                                  e.getMessage() );
+                    publish( child, target );
+                    Files.delete( child.toPath() );
+                }
+            }
+        }
+        for ( File file : files )
+        {
+            targetDir.mkdirs();
+            move( file.toPath(), new File( targetDir, file.getName() ).toPath() );
+        }
     }
 
 }
@@ -72,7 +72,7 @@ public final class FileTransporterFactory
         Objects.requireNonNull( "session", "session cannot be null" );
         Objects.requireNonNull( "repository", "repository cannot be null" );
 
-        return new FileTransporter( repository );
+        return new FileTransporter( session, repository );
     }
 
 }
@@ -23,8 +23,10 @@ import static org.junit.Assert.*;
 
 import java.io.File;
 import java.io.FileNotFoundException;
+import java.io.IOException;
 import java.net.URI;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 
 import org.eclipse.aether.DefaultRepositorySystemSession;
 import org.eclipse.aether.internal.test.util.TestFileUtils;
@@ -169,6 +171,7 @@ public class FileTransporterTest
         assertEquals( 1, listener.startedCount );
         assertTrue( "Count: " + listener.progressedCount, listener.progressedCount > 0 );
         assertEquals( "test", new String( listener.baos.toByteArray(), StandardCharsets.UTF_8 ) );
+        assertFalse( task.isLinked() );
     }
 
     @Test
@@ -301,6 +304,28 @@ public class FileTransporterTest
         assertEquals( 1, listener.progressedCount );
     }
 
+    @Test
+    public void testGet_Link()
+        throws Exception
+    {
+        session.setConfigProperty( FileTransporter.CONFIG_PROP_LINK, "true" );
+        newTransporter( repoDir.toURI().toString() );
+        TestFileUtils.writeString( new File( repoDir, "file.txt.sha1" ), "a94a8fe5ccb19ba61c4c0873d391e987982fbbd3" );
+        File file = TestFileUtils.createTempFile( "failure" );
+        RecordingTransportListener listener = new RecordingTransportListener();
+        GetTask task = new GetTask( URI.create( "file.txt" ) ).setDataFile( file, true ).setListener( listener );
+        transporter.get( task );
+        assertEquals( "test", TestFileUtils.readString( file ) );
+        assertTrue( Files.isSameFile( new File( repoDir, "file.txt" ).toPath(), file.toPath() ) );
+        assertTrue( task.isLinked() );
+        assertEquals( 4L, listener.dataOffset );
+        assertEquals( 4L, listener.dataLength );
+        assertEquals( 1, listener.startedCount );
+        assertEquals( 0, listener.progressedCount );
+        assertEquals( "a94a8fe5ccb19ba61c4c0873d391e987982fbbd3", task.getChecksums().get( "SHA-1" ) );
+        assertNull( task.getChecksums().get( "MD5" ) );
+    }
+
     @Test
     public void testPut_FromMemory()
         throws Exception
@@ -330,6 +355,61 @@ public class FileTransporterTest
         assertEquals( "upload", TestFileUtils.readString( new File( repoDir, "file.txt" ) ) );
     }
 
+    @Test
+    public void testPut_Fsync()
+        throws Exception
+    {
+        session.setConfigProperty( FileTransporter.CONFIG_PROP_FSYNC, "true" );
+        newTransporter( repoDir.toURI().toString() );
+        PutTask task = new PutTask( URI.create( "file.txt" ) ).setDataString( "upload" );
+        transporter.put( task );
+        assertEquals( "upload", TestFileUtils.readString( new File( repoDir, "file.txt" ) ) );
+        assertEquals( 0, repoDir.list( ( dir, name ) -> name.endsWith( ".tmp" ) ).length );
+    }
+
+    @Test
+    public void testPut_Batch()
+        throws Exception
+    {
+        session.setConfigProperty( FileTransporter.CONFIG_PROP_BATCH, "true" );
+        newTransporter( repoDir.toURI().toString() );
+        transporter.put( new PutTask( URI.create( "file.txt" ) ).setDataString( "upload" ) );
+        transporter.put( new PutTask( URI.create( "dir/sub/new.txt" ) ).setDataString( "new" ) );
+        assertEquals( "test", TestFileUtils.readString( new File( repoDir, "file.txt" ) ) );
+        assertFalse( new File( repoDir, "dir" ).exists() );
+
+        GetTask task = new GetTask( URI.create( "dir/sub/new.txt" ) );
+        transporter.get( task );
+        assertEquals( "new", task.getDataString() );
+
+        assertEquals( 0, repoDir.list( ( dir, name ) -> name.contains( ".staging-" ) ).length );
+        String staging = '.' + repoDir.getName() + ".staging-";
+        assertEquals( 1, repoDir.getParentFile().list( ( dir, name ) -> name.startsWith( staging ) ).length );
+
+        transporter.flush();
+        assertEquals( "upload", TestFileUtils.readString( new File( repoDir, "file.txt" ) ) );
+        assertEquals( "new", TestFileUtils.readString( new File( repoDir, "dir/sub/new.txt" ) ) );
+        assertEquals( 0, repoDir.getParentFile().list( ( dir, name ) -> name.startsWith( staging ) ).length );
+
+        transporter.put( new PutTask( URI.create( "dir/sub/other.txt" ) ).setDataString( "other" ) );
+        assertFalse( new File( repoDir, "dir/sub/other.txt" ).exists() );
+        transporter.close();
+        transporter = null;
+        assertEquals( "other", TestFileUtils.readString( new File( repoDir, "dir/sub/other.txt" ) ) );
+        assertEquals( 0, repoDir.getParentFile().list( ( dir, name ) -> name.startsWith( staging ) ).length );
+    }
+
+    @Test( expected = IOException.class )
+    public void testPut_BatchPublishFailure()
+        throws Exception
+    {
+        session.setConfigProperty( FileTransporter.CONFIG_PROP_BATCH, "true" );
+        newTransporter( repoDir.toURI().toString() );
+        TestFileUtils.writeString( new File( repoDir, "dir" ), "not a directory" );
+        transporter.put( new PutTask( URI.create( "dir/new.txt" ) ).setDataString( "new" ) );
+        transporter.flush();
+    }
+
     @Test
     public void testPut_EmptyResource()
         throws Exception
@@ -423,7 +503,8 @@ public class FileTransporterTest
         assertEquals( 6L, listener.dataLength );
         assertEquals( 1, listener.startedCount );
         assertEquals( 0, listener.progressedCount );
-        assertFalse( new File( repoDir, "file.txt" ).exists() );
+        assertEquals( "test", TestFileUtils.readString( new File( repoDir, "file.txt" ) ) );
+        assertEquals( 0, repoDir.list( ( dir, name ) -> name.endsWith( ".tmp" ) ).length );
     }
 
     @Test
@@ -446,7 +527,8 @@ public class FileTransporterTest
         assertEquals( 6L, listener.dataLength );
         assertEquals( 1, listener.startedCount );
         assertEquals( 1, listener.progressedCount );
-        assertFalse( new File( repoDir, "file.txt" ).exists() );
+        assertEquals( "test", TestFileUtils.readString( new File( repoDir, "file.txt" ) ) );
+        assertEquals( 0, repoDir.list( ( dir, name ) -> name.endsWith( ".tmp" ) ).length );
     }
 
     @Test( expected = NoTransporterException.class )
@@ -20,21 +20,27 @@ package org.eclipse.aether.transport.http;
  */
 
 import java.io.Closeable;
+import java.io.IOException;
 import java.util.Arrays;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
 
+import org.apache.http.HttpClientConnection;
 import org.apache.http.HttpHost;
 import org.apache.http.config.RegistryBuilder;
 import org.apache.http.conn.HttpClientConnectionManager;
+import org.apache.http.conn.routing.HttpRoute;
 import org.apache.http.conn.socket.ConnectionSocketFactory;
 import org.apache.http.conn.socket.PlainConnectionSocketFactory;
 import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
 import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.protocol.HttpContext;
 import org.eclipse.aether.RepositoryCache;
 import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.spi.connector.transport.TransportListener;
 import org.eclipse.aether.util.ConfigUtils;
 
 import javax.net.ssl.HostnameVerifier;
@@ -90,7 +96,31 @@ final class GlobalState
 
     private static final String KEY = GlobalState.class.getName();
 
-    private static final String CONFIG_PROP_CACHE_STATE = "aether.connector.http.cacheState";
+    /**
+     * The HTTP context attribute holding the time in milliseconds spent to establish the last new connection.
+     */
+    static final String CONNECT_TIME = KEY + ".connectTime";
+
+    /**
+     * The HTTP context attribute holding the {@link TransportListener} to notify of new connections.
+     */
+    static final String TRANSPORT_LISTENER = KEY + ".transportListener";
+
+    static final String CONFIG_PROP_CACHE_STATE = "aether.connector.http.cacheState";
+
+    static final String CONFIG_PROP_CACHE_STATE_SCOPE = "aether.connector.http.cacheStateScope";
+
+    private static final String SCOPE_PROCESS = "process";
+
+    /**
+     * Lazily creates the state shared by all sessions of this JVM, it lives as long as the JVM.
+     */
+    private static final class ProcessStateHolder
+    {
+
+        static final GlobalState STATE = new GlobalState();
+
+    }
 
     private final ConcurrentMap<SslConfig, HttpClientConnectionManager> connectionManagers;
 
@@ -100,11 +130,22 @@ final class GlobalState
 
     private final ConcurrentMap<CompoundKey, Boolean> expectContinues;
 
+    private final ConcurrentMap<CompoundKey, Boolean> preconnects;
+
     public static GlobalState get( RepositorySystemSession session )
     {
         GlobalState cache;
         RepositoryCache repoCache = session.getCache();
-        if ( repoCache == null || !ConfigUtils.getBoolean( session, true, CONFIG_PROP_CACHE_STATE ) )
+        if ( !ConfigUtils.getBoolean( session, true, CONFIG_PROP_CACHE_STATE ) )
+        {
+            cache = null;
+        }
+        else if ( SCOPE_PROCESS.equalsIgnoreCase( ConfigUtils.getString( session, "session",
+                                                                          CONFIG_PROP_CACHE_STATE_SCOPE ) ) )
+        {
+            cache = ProcessStateHolder.STATE;
+        }
+        else if ( repoCache == null )
         {
             cache = null;
         }
@@ -141,6 +182,7 @@ final class GlobalState
         userTokens = new ConcurrentHashMap<>();
         authSchemePools = new ConcurrentHashMap<>();
         expectContinues = new ConcurrentHashMap<>();
+        preconnects = new ConcurrentHashMap<>();
     }
 
     @Override
@@ -195,7 +237,27 @@ final class GlobalState
             registryBuilder.register( "https", new SSLConnectionSocketFactory(
                     sslSocketFactory, sslConfig.protocols, sslConfig.cipherSuites, hostnameVerifier ) );
         }
-        PoolingHttpClientConnectionManager connMgr = new PoolingHttpClientConnectionManager( registryBuilder.build() );
+        PoolingHttpClientConnectionManager connMgr = new PoolingHttpClientConnectionManager( registryBuilder.build() )
+        {
+            @Override
+            public void connect( HttpClientConnection managedConn, HttpRoute route, int connectTimeout,
+                                 HttpContext context )
+                throws IOException
+            {
+                long start = System.nanoTime();
+                super.connect( managedConn, route, connectTimeout, context );
+                if ( context != null )
+                {
+                    long connectTime = TimeUnit.NANOSECONDS.toMillis( System.nanoTime() - start );
+                    context.setAttribute( CONNECT_TIME, connectTime );
+                    Object listener = context.getAttribute( TRANSPORT_LISTENER );
+                    if ( listener instanceof TransportListener )
+                    {
+                        ( (TransportListener) listener ).transportConnected( connectTime );
+                    }
+                }
+            }
+        };
         connMgr.setMaxTotal( 100 );
         connMgr.setDefaultMaxPerRoute( 50 );
         return connMgr;
@@ -223,6 +285,11 @@ final class GlobalState
         return authSchemePools;
     }
 
+    public boolean setPreconnected( CompoundKey key )
+    {
+        return preconnects.putIfAbsent( key, Boolean.TRUE ) == null;
+    }
+
     public Boolean getExpectContinue( CompoundKey key )
     {
         return expectContinues.get( key );
@@ -20,6 +20,7 @@ package org.eclipse.aether.transport.http;
  */
 
 import org.apache.http.Header;
+import org.apache.http.HttpClientConnection;
 import org.apache.http.HttpEntity;
 import org.apache.http.HttpEntityEnclosingRequest;
 import org.apache.http.HttpHeaders;
@@ -37,11 +38,15 @@ import org.apache.http.client.methods.HttpHead;
 import org.apache.http.client.methods.HttpOptions;
 import org.apache.http.client.methods.HttpPut;
 import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.client.protocol.HttpClientContext;
 import org.apache.http.client.utils.DateUtils;
 import org.apache.http.client.utils.URIUtils;
 import org.apache.http.config.Registry;
 import org.apache.http.config.RegistryBuilder;
 import org.apache.http.config.SocketConfig;
+import org.apache.http.conn.HttpClientConnectionManager;
+import org.apache.http.conn.UnsupportedSchemeException;
+import org.apache.http.conn.routing.HttpRoute;
 import org.apache.http.entity.AbstractHttpEntity;
 import org.apache.http.entity.ByteArrayEntity;
 import org.apache.http.impl.auth.BasicSchemeFactory;
@@ -51,6 +56,7 @@ import org.apache.http.impl.auth.NTLMSchemeFactory;
 import org.apache.http.impl.auth.SPNegoSchemeFactory;
 import org.apache.http.impl.client.CloseableHttpClient;
 import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.impl.conn.DefaultSchemePortResolver;
 import org.apache.http.util.EntityUtils;
 import org.eclipse.aether.ConfigurationProperties;
 import org.eclipse.aether.RepositorySystemSession;
@@ -65,21 +71,42 @@ import org.eclipse.aether.spi.connector.transport.TransportTask;
 import org.eclipse.aether.transfer.NoTransporterException;
 import org.eclipse.aether.transfer.TransferCancelledException;
 import org.eclipse.aether.util.ConfigUtils;
+import org.eclipse.aether.util.concurrency.WorkerThreadFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.EOFException;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InterruptedIOException;
 import java.io.OutputStream;
+import java.io.RandomAccessFile;
 import java.io.UncheckedIOException;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Date;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -90,6 +117,37 @@ final class HttpTransporter
     extends AbstractTransporter
 {
 
+    static final String CONFIG_PROP_SEGMENTS = "aether.connector.http.segments";
+
+    static final String CONFIG_PROP_SEGMENT_THRESHOLD = "aether.connector.http.segmentThreshold";
+
+    static final String CONFIG_PROP_PRECONNECT = "aether.connector.http.preconnect";
+
+    private static final int MAX_PRECONNECT = 20;
+
+    private static final Set<String> COMPRESSIBLE_EXTENSIONS =
+        new HashSet<>( Arrays.asList( "xml", "pom", "json", "module", "txt", "properties" ) );
+
+    /**
+     * The extensions of resources that are too small to be worth a {@code HEAD} request for segmenting.
+     */
+    private static final Set<String> SMALL_EXTENSIONS =
+        new HashSet<>( Arrays.asList( "pom", "xml", "sha1", "md5", "sha256", "sha512", "asc" ) );
+
+    /**
+     * The maximum number of segments downloaded concurrently by all transporters, further segments wait in a queue.
+     */
+    private static final int MAX_SEGMENT_THREADS = 32;
+
+    private static final long PRECONNECT_KEEP_ALIVE = 60L;
+
+    private static final long SEGMENT_KEEP_ALIVE = 60L;
+
+    private static final ExecutorService PRECONNECTOR =
+        Executors.newCachedThreadPool( new WorkerThreadFactory( "HttpTransporter-preconnect-" ) );
+
+    private static final ExecutorService SEGMENT_DOWNLOADER = newSegmentDownloader();
+
     private static final Pattern CONTENT_RANGE_PATTERN =
         Pattern.compile( "\\s*bytes\\s+([0-9]+)\\s*-\\s*([0-9]+)\\s*/.*" );
 
@@ -111,6 +169,10 @@ final class HttpTransporter
 
     private final LocalState state;
 
+    private final int segments;
+
+    private final long segmentThreshold;
+
     HttpTransporter( RemoteRepository repository, RepositorySystemSession session )
         throws NoTransporterException
     {
@@ -163,6 +225,17 @@ final class HttpTransporter
                 ConfigurationProperties.DEFAULT_USER_AGENT,
                 ConfigurationProperties.USER_AGENT );
 
+        this.segments = ConfigUtils.getInteger( session, 1,
+                CONFIG_PROP_SEGMENTS + "." + repository.getId(),
+                CONFIG_PROP_SEGMENTS );
+        this.segmentThreshold = ConfigUtils.getLong( session, 64L * 1024L * 1024L,
+                CONFIG_PROP_SEGMENT_THRESHOLD + "." + repository.getId(),
+                CONFIG_PROP_SEGMENT_THRESHOLD );
+
+        int preconnect = ConfigUtils.getInteger( session, 0,
+                CONFIG_PROP_PRECONNECT + "." + repository.getId(),
+                CONFIG_PROP_PRECONNECT );
+
         Charset credentialsCharset = Charset.forName( credentialEncoding );
 
         Registry<AuthSchemeProvider> authSchemeRegistry = RegistryBuilder.<AuthSchemeProvider>create()
@@ -193,6 +266,83 @@ final class HttpTransporter
                 )
                 .setProxy( proxy )
                 .build();
+
+        if ( preconnect > 0 && proxy == null && state.isPreconnectPending( server ) )
+        {
+            preconnect( Math.min( preconnect, MAX_PRECONNECT ), connectTimeout );
+        }
+    }
+
+    /**
+     * Asynchronously opens the specified number of connections to the server and returns them to the shared pool such
+     * that the first requests need not wait for the name resolution and the TCP and TLS handshakes. Routes via a proxy
+     * are not warmed up.
+     */
+    private void preconnect( int connections, int connectTimeout )
+    {
+        HttpClientConnectionManager connMgr = state.getConnectionManager();
+        HttpHost target = server;
+        if ( target.getPort() <= 0 )
+        {
+            try
+            {
+                target = new HttpHost( server.getHostName(), DefaultSchemePortResolver.INSTANCE.resolve( server ),
+                                       server.getSchemeName() );
+            }
+            catch ( UnsupportedSchemeException e )
+            {
+                LOGGER.debug( "Cannot preconnect to {}", server, e );
+                return;
+            }
+        }
+        HttpRoute route = new HttpRoute( target, null, "https".equalsIgnoreCase( target.getSchemeName() ) );
+        CountDownLatch connected = new CountDownLatch( connections );
+        for ( int i = 0; i < connections; i++ )
+        {
+            PRECONNECTOR.execute( () -> preconnect( connMgr, route, connectTimeout, connected ) );
+        }
+    }
+
+    private static void preconnect( HttpClientConnectionManager connMgr, HttpRoute route, int connectTimeout,
+                                    CountDownLatch connected )
+    {
+        HttpClientConnection conn = null;
+        try
+        {
+            try
+            {
+                conn = connMgr.requestConnection( route, null ).get( connectTimeout, TimeUnit.MILLISECONDS );
+                if ( !conn.isOpen() )
+                {
+                    HttpClientContext context = HttpClientContext.create();
+                    connMgr.connect( conn, route, connectTimeout, context );
+                    connMgr.routeComplete( conn, route, context );
+                    LOGGER.debug( "Preconnected to {} in {} ms", route.getTargetHost(),
+                                  context.getAttribute( GlobalState.CONNECT_TIME ) );
+                }
+            }
+            finally
+            {
+                connected.countDown();
+            }
+            // hold the connection until all are open, otherwise another task could lease it again
+            connected.await();
+        }
+        catch ( InterruptedException e )
+        {
+            Thread.currentThread().interrupt();
+        }
+        catch ( Exception e )
+        {
+            LOGGER.debug( "Failed to preconnect to {}", route.getTargetHost(), e );
+        }
+        finally
+        {
+            if ( conn != null )
+            {
+                connMgr.releaseConnection( conn, null, conn.isOpen() ? PRECONNECT_KEEP_ALIVE : 0L, TimeUnit.SECONDS );
+            }
+        }
     }
 
     private static HttpHost toHost( Proxy proxy )
@@ -257,26 +407,47 @@ final class HttpTransporter
         throws Exception
     {
         HttpHead request = commonHeaders( new HttpHead( resolve( task ) ) );
-        execute( request, null );
+        execute( task, request, null );
     }
 
     @Override
     protected void implGet( GetTask task )
         throws Exception
     {
+        if ( task.getDataFile() != null )
+        {
+            if ( segments > 1 && !SMALL_EXTENSIONS.contains( getExtension( task.getLocation() ) )
+                && getSegmented( task ) )
+            {
+                return;
+            }
+            // only a resumed download can hit the preallocated file of an earlier segmented download
+            File stateFile = ( segments > 1 || task.getResumeOffset() > 0L )
+                ? SegmentState.getFile( task.getDataFile() ) : null;
+            if ( stateFile != null && stateFile.isFile() )
+            {
+                // the preallocated file of a segmented download cannot be resumed as a single stream
+                task.setDataFile( task.getDataFile(), false );
+                if ( !stateFile.delete() )
+                {
+                    LOGGER.debug( "Could not delete segment state {}", stateFile );
+                }
+            }
+        }
+
         EntityGetter getter = new EntityGetter( task );
-        HttpGet request = commonHeaders( new HttpGet( resolve( task ) ) );
+        HttpGet request = acceptEncoding( commonHeaders( new HttpGet( resolve( task ) ) ), task );
         resume( request, task );
         try
         {
-            execute( request, getter );
+            execute( task, request, getter );
         }
         catch ( HttpResponseException e )
         {
             if ( e.getStatusCode() == HttpStatus.SC_PRECONDITION_FAILED && request.containsHeader( HttpHeaders.RANGE ) )
             {
-                request = commonHeaders( new HttpGet( request.getURI() ) );
-                execute( request, getter );
+                request = acceptEncoding( commonHeaders( new HttpGet( request.getURI() ) ), task );
+                execute( task, request, getter );
                 return;
             }
             throw e;
@@ -291,7 +462,7 @@ final class HttpTransporter
         HttpPut request = commonHeaders( entity( new HttpPut( resolve( task ) ), entity ) );
         try
         {
-            execute( request, null );
+            execute( task, request, null );
         }
         catch ( HttpResponseException e )
         {
@@ -299,19 +470,92 @@ final class HttpTransporter
             {
                 state.setExpectContinue( false );
                 request = commonHeaders( entity( new HttpPut( request.getURI() ), entity ) );
-                execute( request, null );
+                execute( task, request, null );
                 return;
             }
             throw e;
         }
     }
 
-    private void execute( HttpUriRequest request, EntityGetter getter )
+    /**
+     * Downloads the resource in concurrent segments if it is large enough and the server supports byte ranges.
+     *
+     * @return {@code true} if the resource was downloaded, {@code false} if it needs to be downloaded as a whole.
+     */
+    private boolean getSegmented( GetTask task )
+        throws Exception
+    {
+        final EntityGetter getter = new EntityGetter( task );
+        final HttpResponse[] head = new HttpResponse[1];
+        HttpHead probe = commonHeaders( new HttpHead( resolve( task ) ) );
+        // the segments are requested without compression, so need the length of the uncompressed resource
+        probe.setHeader( HttpHeaders.ACCEPT_ENCODING, "identity" );
+        execute( task, probe, response -> head[0] = response );
+
+        Header length = head[0].getFirstHeader( HttpHeaders.CONTENT_LENGTH );
+        Header ranges = head[0].getFirstHeader( HttpHeaders.ACCEPT_RANGES );
+        Header lastModified = head[0].getFirstHeader( HttpHeaders.LAST_MODIFIED );
+        if ( length == null || ranges == null || lastModified == null || !"bytes".equals( ranges.getValue() ) )
+        {
+            return false;
+        }
+        long contentLength;
+        try
+        {
+            contentLength = Long.parseLong( length.getValue() );
+        }
+        catch ( NumberFormatException e )
+        {
+            return false;
+        }
+        if ( contentLength < segmentThreshold || contentLength <= 0L )
+        {
+            return false;
+        }
+
+        File dataFile = task.getDataFile();
+        SegmentState segmentState = new SegmentState( dataFile, contentLength, lastModified.getValue(), segments );
+        boolean resume = task.getResumeOffset() > 0L && segmentState.load();
+        try ( RandomAccessFile raf = new RandomAccessFile( dataFile, "rw" ) )
+        {
+            if ( !resume )
+            {
+                raf.setLength( 0L );
+            }
+            raf.setLength( contentLength );
+            segmentState.save();
+            new SegmentedGetter( task, segmentState, raf.getChannel() ).get();
+        }
+        catch ( HttpResponseException e )
+        {
+            if ( e.getStatusCode() == HttpStatus.SC_PRECONDITION_FAILED )
+            {
+                // resource changed since the segments were started, download it as a whole
+                segmentState.delete();
+                task.setDataFile( dataFile, false );
+                return false;
+            }
+            throw e;
+        }
+        segmentState.delete();
+        getter.extractChecksums( head[0] );
+        return true;
+    }
+
+    /**
+     * Executes the request and reports a new connection to the listener of the task unless the task is {@code null}.
+     * The connection is reported as soon as it is established, i.e. before any data is transferred.
+     */
+    private void execute( TransportTask task, HttpUriRequest request, ResponseHandler getter )
         throws Exception
     {
         try
         {
             SharingHttpContext context = new SharingHttpContext( state );
+            if ( task != null )
+            {
+                context.setAttribute( GlobalState.TRANSPORT_LISTENER, task.getListener() );
+            }
             prepare( request, context );
             HttpResponse response = client.execute( server, request, context );
             try
@@ -474,6 +718,46 @@ final class HttpTransporter
         return request;
     }
 
+    /**
+     * Negotiates compression for text-like resources. Binaries are usually compressed already, the compression would
+     * merely hide their content length. The client transparently decodes compressed responses.
+     */
+    private <T extends HttpUriRequest> T acceptEncoding( T request, GetTask task )
+    {
+        if ( !request.containsHeader( HttpHeaders.ACCEPT_ENCODING ) )
+        {
+            request.setHeader( HttpHeaders.ACCEPT_ENCODING,
+                               isCompressible( task.getLocation() ) ? "gzip,deflate" : "identity" );
+        }
+        return request;
+    }
+
+    private static boolean isCompressible( URI location )
+    {
+        return COMPRESSIBLE_EXTENSIONS.contains( getExtension( location ) );
+    }
+
+    private static String getExtension( URI location )
+    {
+        String path = location.getPath();
+        if ( path == null )
+        {
+            return "";
+        }
+        int dot = path.lastIndexOf( '.' );
+        return dot > path.lastIndexOf( '/' ) ? path.substring( dot + 1 ).toLowerCase( Locale.ENGLISH ) : "";
+    }
+
+    private static ExecutorService newSegmentDownloader()
+    {
+        ThreadPoolExecutor executor =
+            new ThreadPoolExecutor( MAX_SEGMENT_THREADS, MAX_SEGMENT_THREADS, SEGMENT_KEEP_ALIVE, TimeUnit.SECONDS,
+                                    new LinkedBlockingQueue<>(),
+                                    new WorkerThreadFactory( "HttpTransporter-segment-" ) );
+        executor.allowCoreThreadTimeOut( true );
+        return executor;
+    }
+
     @SuppressWarnings( "checkstyle:magicnumber" )
     private <T extends HttpUriRequest> T resume( T request, GetTask task )
     {
@@ -515,7 +799,16 @@ final class HttpTransporter
         state.close();
     }
 
+    private interface ResponseHandler
+    {
+
+        void handle( HttpResponse response )
+            throws IOException, TransferCancelledException;
+
+    }
+
     private class EntityGetter
+        implements ResponseHandler
     {
 
         private final GetTask task;
@@ -557,7 +850,7 @@ final class HttpTransporter
             extractChecksums( response );
         }
 
-        private void extractChecksums( HttpResponse response )
+        void extractChecksums( HttpResponse response )
         {
             // Nexus-style, ETag: "{SHA1{d40d68ba1f88d8e9b0040f175a6ff41928abd5e7}}"
             String etag = getHeader( response, HttpHeaders.ETAG );
@@ -579,6 +872,227 @@ final class HttpTransporter
 
     }
 
+    /**
+     * Downloads the segments of a resource concurrently into a preallocated file. The calling thread reports the
+     * downloaded data to the transport listener in file order, such that checksums can still be calculated on the fly.
+     */
+    private class SegmentedGetter
+    {
+
+        private static final int BUFFER_SIZE = 32 * 1024;
+
+        private static final long SAVE_INTERVAL = 1000L;
+
+        private final GetTask task;
+
+        private final SegmentState segmentState;
+
+        private final FileChannel channel;
+
+        private final List<HttpGet> requests = new CopyOnWriteArrayList<>();
+
+        private final List<Future<?>> segments = new ArrayList<>();
+
+        private final AtomicReference<Exception> failure = new AtomicReference<>();
+
+        private final Object progress = new Object();
+
+        /**
+         * The number of segments currently being downloaded, guarded by {@link #progress}.
+         */
+        private int running;
+
+        SegmentedGetter( GetTask task, SegmentState segmentState, FileChannel channel )
+        {
+            this.task = task;
+            this.segmentState = segmentState;
+            this.channel = channel;
+        }
+
+        @SuppressWarnings( "checkstyle:innerassignment" )
+        public void get()
+            throws Exception
+        {
+            for ( int i = 0; i < segmentState.getSegments(); i++ )
+            {
+                if ( !segmentState.isComplete( i ) )
+                {
+                    final int segment = i;
+                    segments.add( SEGMENT_DOWNLOADER.submit( () -> getSegment( segment ) ) );
+                }
+            }
+
+            try
+            {
+                long length = segmentState.getLength();
+                task.getListener().transportStarted( 0L, length );
+                ByteBuffer buffer = ByteBuffer.allocate( BUFFER_SIZE );
+                long lastSave = System.currentTimeMillis();
+                for ( long offset = 0L; offset < length; )
+                {
+                    Exception e = failure.get();
+                    if ( e != null )
+                    {
+                        throw e;
+                    }
+                    long available = segmentState.getPosition( segmentState.getSegment( offset ) );
+                    if ( available > offset )
+                    {
+                        ( (Buffer) buffer ).clear();
+                        ( (Buffer) buffer ).limit( (int) Math.min( BUFFER_SIZE, available - offset ) );
+                        int read = channel.read( buffer, offset );
+                        if ( read < 0 )
+                        {
+                            throw new EOFException( "Unexpected end of segmented download at offset " + offset );
+                        }
+                        ( (Buffer) buffer ).flip();
+                        task.getListener().transportProgressed( buffer );
+                        offset += read;
+                        continue;
+                    }
+
+                    synchronized ( progress )
+                    {
+                        if ( segmentState.getPosition( segmentState.getSegment( offset ) ) <= offset
+                            && failure.get() == null )
+                        {
+                            progress.wait( SAVE_INTERVAL );
+                        }
+                    }
+                    if ( System.currentTimeMillis() - lastSave >= SAVE_INTERVAL )
+                    {
+                        segmentState.save();
+                        lastSave = System.currentTimeMillis();
+                    }
+                }
+            }
+            catch ( Exception e )
+            {
+                abort();
+                saveQuietly();
+                throw e;
+            }
+        }
+
+        private void getSegment( int segment )
+        {
+            synchronized ( progress )
+            {
+                running++;
+            }
+            try
+            {
+                final long start = segmentState.getPosition( segment );
+                final long end = segmentState.getEnd( segment );
+                HttpGet request = commonHeaders( new HttpGet( resolve( task ) ) );
+                request.setHeader( HttpHeaders.RANGE, "bytes=" + start + '-' + ( end - 1L ) );
+                request.setHeader( HttpHeaders.IF_UNMODIFIED_SINCE, segmentState.getValidator() );
+                request.setHeader( HttpHeaders.ACCEPT_ENCODING, "identity" );
+                requests.add( request );
+                execute( null, request, response -> copy( segment, start, end, response ) );
+            }
+            catch ( Exception e )
+            {
+                failure.compareAndSet( null, e );
+            }
+            finally
+            {
+                synchronized ( progress )
+                {
+                    running--;
+                    progress.notifyAll();
+                }
+            }
+        }
+
+        @SuppressWarnings( "checkstyle:innerassignment" )
+        private void copy( int segment, long start, long end, HttpResponse response )
+            throws IOException
+        {
+            Header range = response.getFirstHeader( HttpHeaders.CONTENT_RANGE );
+            Matcher m = CONTENT_RANGE_PATTERN.matcher( ( range != null ) ? range.getValue() : "" );
+            if ( response.getStatusLine().getStatusCode() != HttpStatus.SC_PARTIAL_CONTENT || !m.matches()
+                || Long.parseLong( m.group( 1 ) ) != start )
+            {
+                throw new IOException( "Invalid response for segment " + start + "-" + ( end - 1L ) + ": "
+                    + response.getStatusLine() );
+            }
+
+            byte[] array = new byte[BUFFER_SIZE];
+            ByteBuffer buffer = ByteBuffer.wrap( array );
+            try ( InputStream is = response.getEntity().getContent() )
+            {
+                long position = start;
+                for ( int read; position < end
+                    && ( read = is.read( array, 0, (int) Math.min( BUFFER_SIZE, end - position ) ) ) >= 0; )
+                {
+                    ( (Buffer) buffer ).rewind();
+                    ( (Buffer) buffer ).limit( read );
+                    while ( buffer.hasRemaining() )
+                    {
+                        position += channel.write( buffer, position );
+                    }
+                    segmentState.advance( segment, read );
+                    synchronized ( progress )
+                    {
+                        progress.notifyAll();
+                    }
+                }
+                if ( position < end )
+                {
+                    throw new EOFException( "Premature end of segment " + start + "-" + ( end - 1L ) + " at "
+                        + position );
+                }
+            }
+        }
+
+        private void abort()
+        {
+            for ( Future<?> segment : segments )
+            {
+                segment.cancel( true );
+            }
+            for ( HttpGet request : requests )
+            {
+                request.abort();
+            }
+            // give the running segments a chance to stop before their file is closed
+            long deadline = System.currentTimeMillis() + SAVE_INTERVAL;
+            synchronized ( progress )
+            {
+                try
+                {
+                    while ( running > 0 )
+                    {
+                        long wait = deadline - System.currentTimeMillis();
+                        if ( wait <= 0L )
+                        {
+                            break;
+                        }
+                        progress.wait( wait );
+                    }
+                }
+                catch ( InterruptedException e )
+                {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+
+        private void saveQuietly()
+        {
+            try
+            {
+                segmentState.save();
+            }
+            catch ( IOException e )
+            {
+                LOGGER.debug( "Failed to save segment state for {}", task.getDataFile(), e );
+            }
+        }
+
+    }
+
     private class PutTaskEntity
         extends AbstractHttpEntity
     {
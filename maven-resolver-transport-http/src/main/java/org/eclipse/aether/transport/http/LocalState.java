@@ -41,6 +41,8 @@ final class LocalState
 
     private final HttpClientConnectionManager connMgr;
 
+    private final SslConfig sslConfig;
+
     private final CompoundKey userTokenKey;
 
     private volatile Object userToken;
@@ -56,6 +58,7 @@ final class LocalState
     LocalState( RepositorySystemSession session, RemoteRepository repo, SslConfig sslConfig )
     {
         global = GlobalState.get( session );
+        this.sslConfig = sslConfig;
         userToken = this;
         if ( global == null )
         {
@@ -78,6 +81,16 @@ final class LocalState
         return connMgr;
     }
 
+    /**
+     * Determines whether the connections to the specified server still need to be warmed up, i.e. whether this is the
+     * first transporter for the server sharing the connection pool. Connections are not warmed up for a transporter
+     * with its own pool as it would pay for them with every instance.
+     */
+    public boolean isPreconnectPending( HttpHost server )
+    {
+        return global != null && global.setPreconnected( new CompoundKey( sslConfig, server ) );
+    }
+
     public Object getUserToken()
     {
         if ( userToken == this )
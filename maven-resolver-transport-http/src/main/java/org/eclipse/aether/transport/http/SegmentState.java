@@ -0,0 +1,210 @@
+package org.eclipse.aether.transport.http;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * The progress of a segmented download. The resource is split into consecutive byte ranges that are downloaded
+ * concurrently into a preallocated file. The position of each segment is persisted next to that file such that an
+ * interrupted download can be resumed segment by segment.
+ */
+final class SegmentState
+{
+
+    private static final String SUFFIX = ".segments";
+
+    private static final String KEY_LENGTH = "length";
+
+    private static final String KEY_VALIDATOR = "validator";
+
+    private static final String KEY_SEGMENTS = "segments";
+
+    private static final String KEY_POSITION = "position.";
+
+    private final File file;
+
+    private final long length;
+
+    private final String validator;
+
+    private final long segmentSize;
+
+    private final AtomicLongArray positions;
+
+    SegmentState( File dataFile, long length, String validator, int segments )
+    {
+        this.file = getFile( dataFile );
+        this.length = length;
+        this.validator = validator;
+        this.segmentSize = ( length + segments - 1 ) / segments;
+        this.positions = new AtomicLongArray( (int) ( ( length + segmentSize - 1 ) / segmentSize ) );
+        for ( int i = positions.length() - 1; i >= 0; i-- )
+        {
+            positions.set( i, getStart( i ) );
+        }
+    }
+
+    /**
+     * Gets the file holding the persisted state for the specified data file.
+     */
+    static File getFile( File dataFile )
+    {
+        return new File( dataFile.getPath() + SUFFIX );
+    }
+
+    public String getValidator()
+    {
+        return validator;
+    }
+
+    public long getLength()
+    {
+        return length;
+    }
+
+    public int getSegments()
+    {
+        return positions.length();
+    }
+
+    public int getSegment( long offset )
+    {
+        return (int) ( offset / segmentSize );
+    }
+
+    public long getStart( int segment )
+    {
+        return segment * segmentSize;
+    }
+
+    /**
+     * Gets the (exclusive) end offset of the specified segment.
+     */
+    public long getEnd( int segment )
+    {
+        return Math.min( length, ( segment + 1 ) * segmentSize );
+    }
+
+    /**
+     * Gets the offset up to which the specified segment has been downloaded.
+     */
+    public long getPosition( int segment )
+    {
+        return positions.get( segment );
+    }
+
+    public void advance( int segment, long bytes )
+    {
+        positions.addAndGet( segment, bytes );
+    }
+
+    public boolean isComplete( int segment )
+    {
+        return getPosition( segment ) >= getEnd( segment );
+    }
+
+    /**
+     * Restores the segment positions from a previous download of the same resource.
+     *
+     * @return {@code true} if the state was restored, {@code false} if there is no usable state.
+     */
+    public boolean load()
+    {
+        if ( !file.isFile() )
+        {
+            return false;
+        }
+        Properties props = new Properties();
+        try ( InputStream is = new FileInputStream( file ) )
+        {
+            props.load( is );
+        }
+        catch ( IOException e )
+        {
+            return false;
+        }
+        if ( !String.valueOf( length ).equals( props.getProperty( KEY_LENGTH ) )
+            || !validator.equals( props.getProperty( KEY_VALIDATOR ) )
+            || !String.valueOf( getSegments() ).equals( props.getProperty( KEY_SEGMENTS ) ) )
+        {
+            return false;
+        }
+        try
+        {
+            long[] loaded = new long[getSegments()];
+            for ( int i = 0; i < loaded.length; i++ )
+            {
+                loaded[i] = Long.parseLong( props.getProperty( KEY_POSITION + i, "" ) );
+                if ( loaded[i] < getStart( i ) || loaded[i] > getEnd( i ) )
+                {
+                    return false;
+                }
+            }
+            for ( int i = 0; i < loaded.length; i++ )
+            {
+                positions.set( i, loaded[i] );
+            }
+        }
+        catch ( NumberFormatException e )
+        {
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Persists the current segment positions. The data file is not forced to disk first, so after a crash the saved
+     * positions can be ahead of the data that actually reached the disk. A download resumed from such a state keeps
+     * the stale bytes, its correctness relies on the checksum validation of the completed file.
+     */
+    public synchronized void save()
+        throws IOException
+    {
+        Properties props = new Properties();
+        props.setProperty( KEY_LENGTH, String.valueOf( length ) );
+        props.setProperty( KEY_VALIDATOR, validator );
+        props.setProperty( KEY_SEGMENTS, String.valueOf( getSegments() ) );
+        for ( int i = 0; i < getSegments(); i++ )
+        {
+            props.setProperty( KEY_POSITION + i, String.valueOf( getPosition( i ) ) );
+        }
+        try ( OutputStream os = new FileOutputStream( file ) )
+        {
+            props.store( os, null );
+        }
+    }
+
+    public void delete()
+    {
+        if ( !file.delete() && file.exists() )
+        {
+            file.deleteOnExit();
+        }
+    }
+
+}
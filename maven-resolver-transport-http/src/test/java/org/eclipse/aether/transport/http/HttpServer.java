@@ -31,6 +31,7 @@ import java.util.Map;
 import java.util.TreeMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import java.util.zip.GZIPOutputStream;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
@@ -100,6 +101,8 @@ public class HttpServer
 
     private ChecksumHeader checksumHeader;
 
+    private boolean gzip;
+
     private Server server;
 
     private ServerConnector httpConnector;
@@ -165,6 +168,19 @@ public class HttpServer
         return this;
     }
 
+    public int getConnectionCount()
+    {
+        int count = 0;
+        for ( ServerConnector connector : new ServerConnector[] { httpConnector, httpsConnector } )
+        {
+            if ( connector != null )
+            {
+                count += connector.getConnectedEndPoints().size();
+            }
+        }
+        return count;
+    }
+
     public List<LogEntry> getLogEntries()
     {
         return logEntries;
@@ -200,6 +216,12 @@ public class HttpServer
         return this;
     }
 
+    public HttpServer setGzip( boolean gzip )
+    {
+        this.gzip = gzip;
+        return this;
+    }
+
     public HttpServer setAuthentication( String username, String password )
     {
         this.username = username;
@@ -283,7 +305,7 @@ public class HttpServer
         extends AbstractHandler
     {
 
-        private final Pattern SIMPLE_RANGE = Pattern.compile( "bytes=([0-9])+-" );
+        private final Pattern SIMPLE_RANGE = Pattern.compile( "bytes=([0-9]+)-([0-9]*)" );
 
         public void handle( String target, Request req, HttpServletRequest request, HttpServletResponse response )
             throws IOException
@@ -316,7 +338,7 @@ public class HttpServer
                     response.setStatus( HttpServletResponse.SC_PRECONDITION_FAILED );
                     return;
                 }
-                long offset = 0L;
+                long offset = 0L, end = file.length() - 1L;
                 String range = request.getHeader( HttpHeader.RANGE.asString() );
                 if ( range != null && rangeSupport )
                 {
@@ -324,6 +346,10 @@ public class HttpServer
                     if ( m.matches() )
                     {
                         offset = Long.parseLong( m.group( 1 ) );
+                        if ( m.group( 2 ).length() > 0 )
+                        {
+                            end = Math.min( end, Long.parseLong( m.group( 2 ) ) );
+                        }
                         if ( offset >= file.length() )
                         {
                             response.setStatus( HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE );
@@ -337,12 +363,26 @@ public class HttpServer
                         return;
                     }
                 }
-                response.setStatus( ( offset > 0L ) ? HttpServletResponse.SC_PARTIAL_CONTENT : HttpServletResponse.SC_OK );
+                boolean partial = offset > 0L || end < file.length() - 1L;
+                response.setStatus( partial ? HttpServletResponse.SC_PARTIAL_CONTENT : HttpServletResponse.SC_OK );
                 response.setDateHeader( HttpHeader.LAST_MODIFIED.asString(), file.lastModified() );
-                response.setHeader( HttpHeader.CONTENT_LENGTH.asString(), Long.toString( file.length() - offset ) );
-                if ( offset > 0L )
+                String acceptEncoding = request.getHeader( HttpHeader.ACCEPT_ENCODING.asString() );
+                boolean compress = gzip && !partial && acceptEncoding != null && acceptEncoding.contains( "gzip" );
+                if ( compress )
+                {
+                    response.setHeader( HttpHeader.CONTENT_ENCODING.asString(), "gzip" );
+                }
+                else
+                {
+                    response.setHeader( HttpHeader.CONTENT_LENGTH.asString(), Long.toString( end - offset + 1L ) );
+                }
+                if ( rangeSupport )
                 {
-                    response.setHeader( HttpHeader.CONTENT_RANGE.asString(), "bytes " + offset + "-" + ( file.length() - 1L )
+                    response.setHeader( HttpHeader.ACCEPT_RANGES.asString(), "bytes" );
+                }
+                if ( partial )
+                {
+                    response.setHeader( HttpHeader.CONTENT_RANGE.asString(), "bytes " + offset + "-" + end
                         + "/" + file.length() );
                 }
                 if ( checksumHeader != null )
@@ -369,7 +409,16 @@ public class HttpServer
                             skipped++;
                         }
                     }
-                    IO.copy( is, response.getOutputStream() );
+                    if ( compress )
+                    {
+                        GZIPOutputStream os = new GZIPOutputStream( response.getOutputStream() );
+                        IO.copy( is, os );
+                        os.finish();
+                    }
+                    else
+                    {
+                        IO.copy( is, response.getOutputStream(), end - offset + 1L );
+                    }
                     is.close();
                     is = null;
                 }
@@ -28,11 +28,13 @@ import java.net.ServerSocket;
 import java.net.SocketTimeoutException;
 import java.net.URI;
 import java.nio.charset.StandardCharsets;
+import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicReference;
 
 import org.apache.http.client.HttpResponseException;
+import org.apache.http.client.utils.DateUtils;
 import org.apache.http.conn.ConnectTimeoutException;
 import org.apache.http.pool.ConnPoolControl;
 import org.apache.http.pool.PoolStats;
@@ -339,6 +341,110 @@ public class HttpTransporterTest
         assertEquals( task.getDataString(), new String( listener.baos.toByteArray(), StandardCharsets.UTF_8 ) );
     }
 
+    @Test
+    public void testGet_ReportsNewConnections()
+        throws Exception
+    {
+        RecordingTransportListener listener = new RecordingTransportListener();
+        transporter.get( new GetTask( URI.create( "repo/file.txt" ) ).setListener( listener ) );
+        assertEquals( 1, listener.connectedCount );
+
+        listener = new RecordingTransportListener();
+        transporter.get( new GetTask( URI.create( "repo/file.txt" ) ).setListener( listener ) );
+        assertEquals( 0, listener.connectedCount );
+        assertEquals( 1, listener.startedCount );
+    }
+
+    @Test
+    public void testPut_ReportsNewConnectionBeforeStart()
+        throws Exception
+    {
+        RecordingTransportListener listener = new RecordingTransportListener();
+        transporter.put( new PutTask( URI.create( "repo/file.txt" ) ).setListener( listener ).setDataString( "upload" ) );
+        assertEquals( 1, listener.connectedCount );
+        assertEquals( 0, listener.startedCountAtConnect );
+        assertEquals( 1, listener.startedCount );
+    }
+
+    @Test
+    public void testGet_Preconnected()
+        throws Exception
+    {
+        session.setCache( new DefaultRepositoryCache() );
+        session.setConfigProperty( HttpTransporter.CONFIG_PROP_PRECONNECT, 3 );
+        newTransporter( httpServer.getHttpUrl() );
+        for ( int i = 0; i < 100 && httpServer.getConnectionCount() < 3; i++ )
+        {
+            Thread.sleep( 50L );
+        }
+        assertEquals( 3, httpServer.getConnectionCount() );
+
+        RecordingTransportListener listener = new RecordingTransportListener();
+        GetTask task = new GetTask( URI.create( "repo/file.txt" ) ).setListener( listener );
+        transporter.get( task );
+        assertEquals( "test", task.getDataString() );
+        assertEquals( 0, listener.connectedCount );
+        assertEquals( 3, httpServer.getConnectionCount() );
+    }
+
+    @Test
+    public void testPreconnectSkippedWithoutSharedState()
+        throws Exception
+    {
+        session.setConfigProperty( GlobalState.CONFIG_PROP_CACHE_STATE, false );
+        session.setConfigProperty( HttpTransporter.CONFIG_PROP_PRECONNECT, 3 );
+        newTransporter( httpServer.getHttpUrl() );
+        Thread.sleep( 200L );
+        assertEquals( 0, httpServer.getConnectionCount() );
+    }
+
+    @Test
+    public void testGet_ProcessStateSharedAcrossSessions()
+        throws Exception
+    {
+        session.setConfigProperty( GlobalState.CONFIG_PROP_CACHE_STATE_SCOPE, "process" );
+        newTransporter( httpServer.getHttpUrl() );
+        RecordingTransportListener listener = new RecordingTransportListener();
+        transporter.get( new GetTask( URI.create( "repo/file.txt" ) ).setListener( listener ) );
+        assertEquals( 1, listener.connectedCount );
+
+        session = TestUtils.newSession();
+        session.setConfigProperty( GlobalState.CONFIG_PROP_CACHE_STATE_SCOPE, "process" );
+        newTransporter( httpServer.getHttpUrl() );
+        listener = new RecordingTransportListener();
+        transporter.get( new GetTask( URI.create( "repo/file.txt" ) ).setListener( listener ) );
+        assertEquals( 0, listener.connectedCount );
+    }
+
+    @Test
+    public void testGet_CompressedText()
+        throws Exception
+    {
+        httpServer.setGzip( true );
+        httpServer.setChecksumHeader( HttpServer.ChecksumHeader.NEXUS );
+        RecordingTransportListener listener = new RecordingTransportListener();
+        GetTask task = new GetTask( URI.create( "repo/file.txt" ) ).setListener( listener );
+        transporter.get( task );
+        assertEquals( "test", task.getDataString() );
+        assertEquals( -1L, listener.dataLength );
+        assertEquals( "a94a8fe5ccb19ba61c4c0873d391e987982fbbd3", task.getChecksums().get( "SHA-1" ) );
+        assertEquals( "gzip,deflate", httpServer.getLogEntries().get( 0 ).headers.get( "Accept-Encoding" ) );
+    }
+
+    @Test
+    public void testGet_UncompressedBinary()
+        throws Exception
+    {
+        TestFileUtils.writeString( new File( repoDir, "file.jar" ), "test" );
+        httpServer.setGzip( true );
+        RecordingTransportListener listener = new RecordingTransportListener();
+        GetTask task = new GetTask( URI.create( "repo/file.jar" ) ).setListener( listener );
+        transporter.get( task );
+        assertEquals( "test", task.getDataString() );
+        assertEquals( 4L, listener.dataLength );
+        assertEquals( "identity", httpServer.getLogEntries().get( 0 ).headers.get( "Accept-Encoding" ) );
+    }
+
     @Test
     public void testGet_Unauthenticated()
         throws Exception
@@ -495,6 +601,114 @@ public class HttpTransporterTest
         assertEquals( "resumable", new String( listener.baos.toByteArray(), StandardCharsets.UTF_8 ) );
     }
 
+    private byte[] newSegmentedResource( String name, int length )
+        throws Exception
+    {
+        byte[] bytes = new byte[length];
+        for ( int i = 0; i < length; i++ )
+        {
+            bytes[i] = (byte) ( i * 31 + i / 256 );
+        }
+        File file = new File( repoDir, name );
+        TestFileUtils.writeBytes( file, bytes, 1 );
+        file.setLastModified( ( System.currentTimeMillis() / 1000L - 90L ) * 1000L );
+        session.setConfigProperty( HttpTransporter.CONFIG_PROP_SEGMENTS, 4 );
+        session.setConfigProperty( HttpTransporter.CONFIG_PROP_SEGMENT_THRESHOLD, 1024 );
+        newTransporter( httpServer.getHttpUrl() );
+        return bytes;
+    }
+
+    @Test
+    public void testGet_Segmented()
+        throws Exception
+    {
+        byte[] bytes = newSegmentedResource( "large.bin", 100 * 1024 + 3 );
+        File file = TestFileUtils.createTempFile( "" );
+        RecordingTransportListener listener = new RecordingTransportListener();
+        GetTask task = new GetTask( URI.create( "repo/large.bin" ) ).setDataFile( file ).setListener( listener );
+        transporter.get( task );
+        assertArrayEquals( bytes, TestFileUtils.readBytes( file ) );
+        assertEquals( 1L, listener.startedCount );
+        assertEquals( 0L, listener.dataOffset );
+        assertEquals( bytes.length, listener.dataLength );
+        assertArrayEquals( bytes, listener.baos.toByteArray() );
+        assertFalse( SegmentState.getFile( file ).exists() );
+        int ranges = 0;
+        for ( HttpServer.LogEntry log : httpServer.getLogEntries() )
+        {
+            if ( "GET".equals( log.method ) && log.headers.get( "Range" ) != null )
+            {
+                ranges++;
+            }
+        }
+        assertEquals( 4, ranges );
+    }
+
+    @Test
+    public void testGet_SegmentedResume()
+        throws Exception
+    {
+        byte[] bytes = newSegmentedResource( "large.bin", 8 * 1024 );
+        File file = TestFileUtils.createTempFile( "" );
+        String lastModified = DateUtils.formatDate( new Date( new File( repoDir, "large.bin" ).lastModified() ) );
+        SegmentState state = new SegmentState( file, bytes.length, lastModified, 4 );
+        byte[] partial = new byte[bytes.length];
+        for ( int i = 0; i < state.getSegments(); i++ )
+        {
+            int start = (int) state.getStart( i );
+            System.arraycopy( bytes, start, partial, start, 1000 );
+            state.advance( i, 1000 );
+        }
+        TestFileUtils.writeBytes( file, partial, 1 );
+        state.save();
+
+        RecordingTransportListener listener = new RecordingTransportListener();
+        GetTask task = new GetTask( URI.create( "repo/large.bin" ) ).setDataFile( file, true ).setListener( listener );
+        transporter.get( task );
+        assertArrayEquals( bytes, TestFileUtils.readBytes( file ) );
+        assertArrayEquals( bytes, listener.baos.toByteArray() );
+        assertFalse( SegmentState.getFile( file ).exists() );
+        for ( HttpServer.LogEntry log : httpServer.getLogEntries() )
+        {
+            String range = log.headers.get( "Range" );
+            if ( range != null )
+            {
+                assertFalse( range, range.startsWith( "bytes=0-" ) );
+            }
+        }
+    }
+
+    @Test
+    public void testGet_SegmentedBelowThreshold()
+        throws Exception
+    {
+        newSegmentedResource( "large.bin", 16 );
+        File file = TestFileUtils.createTempFile( "" );
+        GetTask task = new GetTask( URI.create( "repo/large.bin" ) ).setDataFile( file );
+        transporter.get( task );
+        assertEquals( 16L, file.length() );
+        for ( HttpServer.LogEntry log : httpServer.getLogEntries() )
+        {
+            assertNull( log.headers.get( "Range" ) );
+        }
+    }
+
+    @Test
+    public void testGet_SegmentedSkipsProbeOfSmallResources()
+        throws Exception
+    {
+        byte[] bytes = newSegmentedResource( "large.pom", 8 * 1024 );
+        File file = TestFileUtils.createTempFile( "" );
+        GetTask task = new GetTask( URI.create( "repo/large.pom" ) ).setDataFile( file );
+        transporter.get( task );
+        assertArrayEquals( bytes, TestFileUtils.readBytes( file ) );
+        for ( HttpServer.LogEntry log : httpServer.getLogEntries() )
+        {
+            assertEquals( "GET", log.method );
+            assertNull( log.headers.get( "Range" ) );
+        }
+    }
+
     @Test
     public void testGet_Checksums_Nexus()
         throws Exception
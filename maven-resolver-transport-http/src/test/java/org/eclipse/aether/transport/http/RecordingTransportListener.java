@@ -36,6 +36,10 @@ class RecordingTransportListener
 
     public long dataLength;
 
+    public int connectedCount;
+
+    public int startedCountAtConnect = -1;
+
     public int startedCount;
 
     public int progressedCount;
@@ -44,6 +48,13 @@ class RecordingTransportListener
 
     public boolean cancelProgress;
 
+    @Override
+    public void transportConnected( long connectTime )
+    {
+        connectedCount++;
+        startedCountAtConnect = startedCount;
+    }
+
     @Override
     public void transportStarted( long dataOffset, long dataLength )
         throws TransferCancelledException
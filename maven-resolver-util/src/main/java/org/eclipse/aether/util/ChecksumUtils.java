@@ -26,6 +26,8 @@ import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
 import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
@@ -54,23 +56,48 @@ public final class ChecksumUtils
     public static String read( File checksumFile )
         throws IOException
     {
-        String checksum = "";
         try ( BufferedReader br = new BufferedReader( new InputStreamReader(
                 new FileInputStream( checksumFile ), StandardCharsets.UTF_8 ), 512 ) )
         {
-            while ( true )
+            return read( br );
+        }
+    }
+
+    /**
+     * Extracts the checksum from the specified contents of a checksum file.
+     * 
+     * @param checksumContent The contents of the checksum file, must not be {@code null}.
+     * @return The checksum stored in the contents, never {@code null}.
+     * @since 1.7.3
+     */
+    public static String parse( String checksumContent )
+    {
+        try
+        {
+            return read( new BufferedReader( new StringReader( checksumContent ) ) );
+        }
+        catch ( IOException e )
+        {
+            throw new UncheckedIOException( e );
+        }
+    }
+
+    private static String read( BufferedReader br )
+        throws IOException
+    {
+        String checksum = "";
+        while ( true )
+        {
+            String line = br.readLine();
+            if ( line == null )
             {
-                String line = br.readLine();
-                if ( line == null )
-                {
-                    break;
-                }
-                line = line.trim();
-                if ( line.length() > 0 )
-                {
-                    checksum = line;
-                    break;
-                }
+                break;
+            }
+            line = line.trim();
+            if ( line.length() > 0 )
+            {
+                checksum = line;
+                break;
             }
         }
 
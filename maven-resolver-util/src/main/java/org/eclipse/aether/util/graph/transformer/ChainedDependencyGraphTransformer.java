@@ -19,6 +19,8 @@ package org.eclipse.aether.util.graph.transformer;
  * under the License.
  */
 
+import java.util.Map;
+
 import org.eclipse.aether.RepositoryException;
 import org.eclipse.aether.collection.DependencyGraphTransformationContext;
 import org.eclipse.aether.collection.DependencyGraphTransformer;
@@ -27,7 +29,9 @@ import org.eclipse.aether.graph.DependencyNode;
 import static java.util.Objects.requireNonNull;
 
 /**
- * A dependency graph transformer that chains other transformers.
+ * A dependency graph transformer that chains other transformers. If the transformation context provides a
+ * {@link TransformationContextKeys#STATS stats map}, the time spent in each transformer is recorded under the key
+ * {@code <simple class name>.transformTime}.
  */
 public final class ChainedDependencyGraphTransformer
     implements DependencyGraphTransformer
@@ -79,11 +83,38 @@ public final class ChainedDependencyGraphTransformer
     {
         requireNonNull( node, "node cannot be null" );
         requireNonNull( context, "context cannot be null" );
+        @SuppressWarnings( "unchecked" )
+        Map<String, Object> stats = (Map<String, Object>) context.get( TransformationContextKeys.STATS );
         for ( DependencyGraphTransformer transformer : transformers )
         {
-            node = transformer.transformGraph( node, context );
+            if ( stats == null )
+            {
+                node = transformer.transformGraph( node, context );
+            }
+            else
+            {
+                long start = System.nanoTime();
+                node = transformer.transformGraph( node, context );
+                addTime( stats, transformer, System.nanoTime() - start );
+            }
         }
         return node;
     }
 
+    private static void addTime( Map<String, Object> stats, DependencyGraphTransformer transformer, long time )
+    {
+        String name = transformer.getClass().getSimpleName();
+        if ( name.isEmpty() )
+        {
+            name = transformer.getClass().getName();
+        }
+        String key = name + ".transformTime";
+        Object previous = stats.get( key );
+        if ( previous instanceof Long )
+        {
+            time += (Long) previous;
+        }
+        stats.put( key, time );
+    }
+
 }
@@ -45,6 +45,9 @@ import org.eclipse.aether.graph.DependencyNode;
  * using the key {@link TransformationContextKeys#SORTED_CONFLICT_IDS}. In addition, the transformer will store a
  * {@code Collection<Collection<Object>>} using the key {@link TransformationContextKeys#CYCLIC_CONFLICT_IDS} that
  * describes cycles among conflict ids.
+ * <p>
+ * If the conflict ids were calculated by the {@link ConflictMarker}, the transformer walks the compact array-based
+ * graph recorded by the marker instead of the dependency nodes themselves.
  */
 public final class ConflictIdSorter
     implements DependencyGraphTransformer
@@ -68,6 +71,35 @@ public final class ConflictIdSorter
         Map<String, Object> stats = (Map<String, Object>) context.get( TransformationContextKeys.STATS );
         long time1 = System.nanoTime();
 
+        Collection<ConflictId> ids;
+        IndexedDependencyGraph graph = IndexedDependencyGraph.get( context, conflictIds );
+        if ( graph != null )
+        {
+            ids = buildConflictIdDAG( graph );
+        }
+        else
+        {
+            ids = buildConflictIdDAG( node, conflictIds );
+        }
+
+        long time2 = System.nanoTime();
+
+        int cycles = topsortConflictIds( ids, context );
+
+        if ( stats != null )
+        {
+            long time3 = System.nanoTime();
+            stats.put( "ConflictIdSorter.graphTime", time2 - time1 );
+            stats.put( "ConflictIdSorter.topsortTime", time3 - time2 );
+            stats.put( "ConflictIdSorter.conflictIdCount", ids.size() );
+            stats.put( "ConflictIdSorter.conflictIdCycleCount", cycles );
+        }
+
+        return node;
+    }
+
+    private Collection<ConflictId> buildConflictIdDAG( DependencyNode node, Map<?, ?> conflictIds )
+    {
         Map<Object, ConflictId> ids = new LinkedHashMap<>( 256 );
 
         ConflictId id = null;
@@ -82,20 +114,63 @@ public final class ConflictIdSorter
 
         buildConflitIdDAG( ids, node, id, 0, visited, conflictIds );
 
-        long time2 = System.nanoTime();
+        return ids.values();
+    }
 
-        int cycles = topsortConflictIds( ids.values(), context );
+    private Collection<ConflictId> buildConflictIdDAG( IndexedDependencyGraph graph )
+    {
+        // the extra slot collects the nodes without a dependency, i.e. without a conflict id
+        ConflictId[] idsByIndex = new ConflictId[graph.conflictIdKeys.length + 1];
+        List<ConflictId> ids = new ArrayList<>( 256 );
 
-        if ( stats != null )
+        ConflictId id = null;
+        int key = graph.conflictIds[0];
+        if ( key >= 0 )
         {
-            long time3 = System.nanoTime();
-            stats.put( "ConflictIdSorter.graphTime", time2 - time1 );
-            stats.put( "ConflictIdSorter.topsortTime", time3 - time2 );
-            stats.put( "ConflictIdSorter.conflictIdCount", ids.size() );
-            stats.put( "ConflictIdSorter.conflictIdCycleCount", cycles );
+            id = new ConflictId( graph.conflictIdKeys[key], 0 );
+            idsByIndex[key] = id;
+            ids.add( id );
         }
 
-        return node;
+        buildConflictIdDAG( graph, idsByIndex, ids, 0, id, 0, new boolean[graph.nodeCount] );
+
+        return ids;
+    }
+
+    private void buildConflictIdDAG( IndexedDependencyGraph graph, ConflictId[] idsByIndex, List<ConflictId> ids,
+                                     int node, ConflictId id, int depth, boolean[] visited )
+    {
+        if ( visited[node] )
+        {
+            return;
+        }
+        visited[node] = true;
+
+        depth++;
+
+        for ( int child : graph.children[node] )
+        {
+            int key = graph.conflictIds[child];
+            int slot = key >= 0 ? key : graph.conflictIdKeys.length;
+            ConflictId childId = idsByIndex[slot];
+            if ( childId == null )
+            {
+                childId = new ConflictId( key >= 0 ? graph.conflictIdKeys[key] : null, depth );
+                idsByIndex[slot] = childId;
+                ids.add( childId );
+            }
+            else
+            {
+                childId.pullup( depth );
+            }
+
+            if ( id != null )
+            {
+                id.add( childId );
+            }
+
+            buildConflictIdDAG( graph, idsByIndex, ids, child, childId, depth, visited );
+        }
     }
 
     private void buildConflitIdDAG( Map<Object, ConflictId> ids, DependencyNode node, ConflictId id, int depth,
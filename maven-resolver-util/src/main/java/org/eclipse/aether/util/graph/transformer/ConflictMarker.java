@@ -19,11 +19,9 @@ package org.eclipse.aether.util.graph.transformer;
  * under the License.
  */
 
-import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.IdentityHashMap;
 import java.util.Map;
 import java.util.Set;
 import static java.util.Objects.requireNonNull;
@@ -39,7 +37,9 @@ import org.eclipse.aether.graph.DependencyNode;
  * A dependency graph transformer that identifies conflicting dependencies. When this transformer has executed, the
  * transformation context holds a {@code Map<DependencyNode, Object>} where dependency nodes that belong to the same
  * conflict group will have an equal conflict identifier. This map is stored using the key
- * {@link TransformationContextKeys#CONFLICT_IDS}.
+ * {@link TransformationContextKeys#CONFLICT_IDS}. The conflict identifiers are {@link Integer}s and the marker
+ * additionally records a compact array-based view of the graph in the context which allows the
+ * {@link ConflictIdSorter} and the {@link ConflictResolver} to operate on primitive arrays rather than per-node maps.
  */
 public final class ConflictMarker
     implements DependencyGraphTransformer
@@ -60,39 +60,42 @@ public final class ConflictMarker
         Map<String, Object> stats = (Map<String, Object>) context.get( TransformationContextKeys.STATS );
         long time1 = System.nanoTime();
 
-        Map<DependencyNode, Object> nodes = new IdentityHashMap<>( 1024 );
+        IndexedDependencyGraph graph = new IndexedDependencyGraph( node );
         Map<Object, ConflictGroup> groups = new HashMap<>( 1024 );
 
-        analyze( node, nodes, groups, new int[] { 0 } );
+        int conflictIdCount = analyze( graph, groups );
 
         long time2 = System.nanoTime();
 
-        Map<DependencyNode, Object> conflictIds = mark( nodes.keySet(), groups );
+        Map<DependencyNode, Object> conflictIds = mark( graph, groups, conflictIdCount );
 
         context.put( TransformationContextKeys.CONFLICT_IDS, conflictIds );
+        context.put( IndexedDependencyGraph.KEY, graph );
 
         if ( stats != null )
         {
             long time3 = System.nanoTime();
             stats.put( "ConflictMarker.analyzeTime", time2 - time1 );
             stats.put( "ConflictMarker.markTime", time3 - time2 );
-            stats.put( "ConflictMarker.nodeCount", nodes.size() );
+            stats.put( "ConflictMarker.nodeCount", graph.nodeCount );
         }
 
         return node;
     }
 
-    private void analyze( DependencyNode node, Map<DependencyNode, Object> nodes, Map<Object, ConflictGroup> groups,
-                          int[] counter )
+    private int analyze( IndexedDependencyGraph graph, Map<Object, ConflictGroup> groups )
     {
-        if ( nodes.put( node, Boolean.TRUE ) != null )
-        {
-            return;
-        }
+        int counter = 0;
 
-        Set<Object> keys = getKeys( node );
-        if ( !keys.isEmpty() )
+        // the nodes are indexed in pre-order, i.e. this is equivalent to a depth-first walk of the graph
+        for ( int i = 0; i < graph.nodeCount; i++ )
         {
+            Set<Object> keys = getKeys( graph.nodes[i] );
+            if ( keys.isEmpty() )
+            {
+                continue;
+            }
+
             ConflictGroup group = null;
             boolean fixMappings = false;
 
@@ -112,7 +115,7 @@ public final class ConflictMarker
                         }
                         else
                         {
-                            group = new ConflictGroup( newKeys, counter[0]++ );
+                            group = new ConflictGroup( newKeys, counter++ );
                             fixMappings = true;
                         }
                     }
@@ -131,7 +134,7 @@ public final class ConflictMarker
                         }
                         else if ( newKeys != group.keys )
                         {
-                            group = new ConflictGroup( newKeys, counter[0]++ );
+                            group = new ConflictGroup( newKeys, counter++ );
                             fixMappings = true;
                         }
                     }
@@ -140,7 +143,7 @@ public final class ConflictMarker
 
             if ( group == null )
             {
-                group = new ConflictGroup( keys, counter[0]++ );
+                group = new ConflictGroup( keys, counter++ );
                 fixMappings = true;
             }
             if ( fixMappings )
@@ -152,10 +155,7 @@ public final class ConflictMarker
             }
         }
 
-        for ( DependencyNode child : node.getChildren() )
-        {
-            analyze( child, nodes, groups, counter );
-        }
+        return counter;
     }
 
     private Set<Object> merge( Set<Object> keys1, Set<Object> keys2 )
@@ -224,21 +224,26 @@ public final class ConflictMarker
         return keys;
     }
 
-    private Map<DependencyNode, Object> mark( Collection<DependencyNode> nodes, Map<Object, ConflictGroup> groups )
+    private Map<DependencyNode, Object> mark( IndexedDependencyGraph graph, Map<Object, ConflictGroup> groups,
+                                              int conflictIdCount )
     {
-        Map<DependencyNode, Object> conflictIds = new IdentityHashMap<>( nodes.size() + 1 );
+        int[] conflictIds = new int[graph.nodeCount];
 
-        for ( DependencyNode node : nodes )
+        for ( int i = 0; i < graph.nodeCount; i++ )
         {
-            Dependency dependency = node.getDependency();
+            Dependency dependency = graph.nodes[i].getDependency();
             if ( dependency != null )
             {
                 Object key = toKey( dependency.getArtifact() );
-                conflictIds.put( node, groups.get( key ).index );
+                conflictIds[i] = groups.get( key ).index;
+            }
+            else
+            {
+                conflictIds[i] = -1;
             }
         }
 
-        return conflictIds;
+        return graph.setConflictIds( conflictIds, conflictIdCount );
     }
 
     private static Object toKey( Artifact artifact )
@@ -157,7 +157,7 @@ public final class ConflictResolver
             }
         }
 
-        State state = new State( node, conflictIds, sortedConflictIds.size(), context );
+        State state = new State( node, conflictIds, sortedConflictIds, context );
         for ( Iterator<?> it = sortedConflictIds.iterator(); it.hasNext(); )
         {
             Object conflictId = it.next();
@@ -404,17 +404,28 @@ public final class ConflictResolver
         final boolean verbose;
 
         /**
-         * A mapping from conflict id to winner node, helps to recognize nodes that have their effective
-         * scope&optionality set or are leftovers from previous removals.
+         * A mapping from conflict id to its index into the arrays below or {@code null} if the conflict ids are the
+         * dense integers assigned by the {@link ConflictMarker}.
          */
-        final Map<Object, DependencyNode> resolvedIds;
+        final Map<Object, Integer> conflictIdIndices;
 
         /**
-         * The set of conflict ids which could apply to ancestors of nodes with the current conflict id, used to avoid
-         * recursion early on. This is basically a superset of the key set of resolvedIds, the additional ids account
-         * for cyclic dependencies.
+         * A flag per conflict id whether the id has already been resolved, helps to recognize nodes that have their
+         * effective scope&optionality set or are leftovers from previous removals.
          */
-        final Collection<Object> potentialAncestorIds;
+        final boolean[] resolvedIds;
+
+        /**
+         * A mapping from conflict id to winner node, only meaningful for resolved ids.
+         */
+        final DependencyNode[] winners;
+
+        /**
+         * A flag per conflict id whether the id could apply to ancestors of nodes with the current conflict id, used to
+         * avoid recursion early on. This is basically a superset of resolvedIds, the additional ids account for cyclic
+         * dependencies.
+         */
+        final boolean[] potentialAncestorIds;
 
         /**
          * The output from the conflict marker
@@ -491,14 +502,31 @@ public final class ConflictResolver
          */
         final OptionalitySelector optionalitySelector;
 
-        State( DependencyNode root, Map<?, ?> conflictIds, int conflictIdCount,
+        State( DependencyNode root, Map<?, ?> conflictIds, List<?> sortedConflictIds,
                DependencyGraphTransformationContext context )
             throws RepositoryException
         {
             this.conflictIds = conflictIds;
             verbose = ConfigUtils.getBoolean( context.getSession(), false, CONFIG_PROP_VERBOSE );
-            potentialAncestorIds = new HashSet<>( conflictIdCount * 2 );
-            resolvedIds = new HashMap<>( conflictIdCount * 2 );
+            int conflictIdCount;
+            IndexedDependencyGraph graph = IndexedDependencyGraph.get( context, conflictIds );
+            if ( graph != null )
+            {
+                conflictIdIndices = null;
+                conflictIdCount = graph.conflictIdKeys.length;
+            }
+            else
+            {
+                conflictIdIndices = new HashMap<>( sortedConflictIds.size() * 2 );
+                for ( Object conflictId : sortedConflictIds )
+                {
+                    conflictIdIndices.putIfAbsent( conflictId, conflictIdIndices.size() );
+                }
+                conflictIdCount = conflictIdIndices.size();
+            }
+            potentialAncestorIds = new boolean[conflictIdCount];
+            resolvedIds = new boolean[conflictIdCount];
+            winners = new DependencyNode[conflictIdCount];
             items = new ArrayList<>( 256 );
             infos = new IdentityHashMap<>( 64 );
             stack = new IdentityHashMap<>( 64 );
@@ -525,7 +553,14 @@ public final class ConflictResolver
             infos.clear();
             if ( cyclicPredecessors != null )
             {
-                potentialAncestorIds.addAll( cyclicPredecessors );
+                for ( Object predecessor : cyclicPredecessors )
+                {
+                    int index = index( predecessor );
+                    if ( index >= 0 )
+                    {
+                        potentialAncestorIds[index] = true;
+                    }
+                }
             }
         }
 
@@ -549,17 +584,54 @@ public final class ConflictResolver
                     item.depth = previousDepth;
                 }
             }
-            potentialAncestorIds.add( currentId );
+            int index = index( currentId );
+            if ( index >= 0 )
+            {
+                potentialAncestorIds[index] = true;
+            }
         }
 
         void winner()
         {
-            resolvedIds.put( currentId, ( conflictCtx.winner != null ) ? conflictCtx.winner.node : null );
+            int index = index( currentId );
+            if ( index >= 0 )
+            {
+                resolvedIds[index] = true;
+                winners[index] = ( conflictCtx.winner != null ) ? conflictCtx.winner.node : null;
+            }
+        }
+
+        /**
+         * Gets the array index of the specified conflict id.
+         *
+         * @param conflictId The conflict id, may be {@code null}.
+         * @return The array index or {@code -1} if the conflict id is unknown.
+         */
+        int index( Object conflictId )
+        {
+            if ( conflictIdIndices == null )
+            {
+                if ( conflictId instanceof Integer )
+                {
+                    int index = (Integer) conflictId;
+                    return ( index >= 0 && index < resolvedIds.length ) ? index : -1;
+                }
+                return -1;
+            }
+            Integer index = ( conflictId != null ) ? conflictIdIndices.get( conflictId ) : null;
+            return ( index != null ) ? index : -1;
+        }
+
+        boolean resolved( Object conflictId )
+        {
+            int index = index( conflictId );
+            return index >= 0 && resolvedIds[index];
         }
 
         boolean loser( DependencyNode node, Object conflictId )
         {
-            DependencyNode winner = resolvedIds.get( conflictId );
+            int index = index( conflictId );
+            DependencyNode winner = ( index >= 0 ) ? winners[index] : null;
             return winner != null && winner != node;
         }
 
@@ -577,9 +649,13 @@ public final class ConflictResolver
                     throw new RepositoryException( "missing conflict id for node " + node );
                 }
             }
-            else if ( !potentialAncestorIds.contains( conflictId ) )
+            else
             {
-                return false;
+                int index = index( conflictId );
+                if ( index < 0 || !potentialAncestorIds[index] )
+                {
+                    return false;
+                }
             }
 
             List<DependencyNode> graphNode = node.getChildren();
@@ -693,7 +769,7 @@ public final class ConflictResolver
             throws RepositoryException
         {
             if ( ( node.getManagedBits() & DependencyNode.MANAGED_SCOPE ) != 0
-                || ( conflictId != null && resolvedIds.containsKey( conflictId ) ) )
+                || ( conflictId != null && resolved( conflictId ) ) )
             {
                 return scope( node.getDependency() );
             }
@@ -724,7 +800,7 @@ public final class ConflictResolver
             Dependency dep = node.getDependency();
             boolean optional = ( dep != null ) && dep.isOptional();
             if ( optional || ( node.getManagedBits() & DependencyNode.MANAGED_OPTIONAL ) != 0
-                || ( conflictId != null && resolvedIds.containsKey( conflictId ) ) )
+                || ( conflictId != null && resolved( conflictId ) ) )
             {
                 return optional;
             }
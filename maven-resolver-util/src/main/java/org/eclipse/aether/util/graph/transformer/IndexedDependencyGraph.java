@@ -0,0 +1,172 @@
+package org.eclipse.aether.util.graph.transformer;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.aether.collection.DependencyGraphTransformationContext;
+import org.eclipse.aether.graph.DependencyNode;
+
+/**
+ * A compact, array-based view of a dependency graph that is shared among the conflict transformers. Nodes are numbered
+ * {@code 0..N-1} in pre-order (the root being {@code 0}), children are stored as {@code int} arrays and conflict ids
+ * are dense {@code int}s. The boxed conflict ids handed out via {@link TransformationContextKeys#CONFLICT_IDS} are
+ * canonical {@link Integer} instances whose value equals the dense conflict id, so consumers that only see the public
+ * map can still map them back to array indices.
+ * <p>
+ * The view is a snapshot of the graph structure at the time it was built, it is only valid for as long as the
+ * conflict id map it was published with is the current one in the transformation context. The view does not keep that
+ * map reachable, the identity map used to number the nodes is handed over to the context as the public map.
+ */
+final class IndexedDependencyGraph
+{
+
+    /**
+     * The key in the graph transformation context under which the indexed graph is stored.
+     */
+    static final Object KEY = IndexedDependencyGraph.class.getName();
+
+    private static final int[] NO_CHILDREN = {};
+
+    DependencyNode[] nodes;
+
+    int[][] children;
+
+    int nodeCount;
+
+    /**
+     * The conflict id of each node, {@code -1} for nodes without a dependency.
+     */
+    int[] conflictIds;
+
+    /**
+     * The canonical boxed conflict ids, indexed by conflict id.
+     */
+    Integer[] conflictIdKeys;
+
+    /**
+     * The node to index mapping used while numbering the nodes, becomes the public conflict id map.
+     */
+    private Map<DependencyNode, Object> indices;
+
+    private WeakReference<Map<?, ?>> conflictIdMap;
+
+    IndexedDependencyGraph( DependencyNode root )
+    {
+        nodes = new DependencyNode[256];
+        children = new int[256][];
+        indices = new IdentityHashMap<>( 1024 );
+        index( root );
+    }
+
+    /**
+     * Gets the indexed graph from the specified context, provided it matches the conflict ids currently in use.
+     *
+     * @param context The graph transformation context, must not be {@code null}.
+     * @param conflictIds The conflict ids currently in use, may be {@code null}.
+     * @return The indexed graph or {@code null} if none is available or it is out of sync with the conflict ids.
+     */
+    static IndexedDependencyGraph get( DependencyGraphTransformationContext context, Map<?, ?> conflictIds )
+    {
+        Object graph = context.get( KEY );
+        if ( conflictIds != null && graph instanceof IndexedDependencyGraph
+            && ( (IndexedDependencyGraph) graph ).isPublishedWith( conflictIds ) )
+        {
+            return (IndexedDependencyGraph) graph;
+        }
+        return null;
+    }
+
+    private boolean isPublishedWith( Map<?, ?> conflictIds )
+    {
+        return conflictIdMap != null && conflictIdMap.get() == conflictIds;
+    }
+
+    private int index( DependencyNode node )
+    {
+        Object existing = indices.get( node );
+        if ( existing != null )
+        {
+            return (Integer) existing;
+        }
+
+        int index = nodeCount++;
+        if ( index >= nodes.length )
+        {
+            int capacity = nodes.length + nodes.length / 2;
+            nodes = Arrays.copyOf( nodes, capacity );
+            children = Arrays.copyOf( children, capacity );
+        }
+        nodes[index] = node;
+        // temporarily holds the node index, replaced by the conflict id once those are assigned
+        indices.put( node, index );
+
+        List<DependencyNode> childNodes = node.getChildren();
+        int[] childIndices = childNodes.isEmpty() ? NO_CHILDREN : new int[childNodes.size()];
+        children[index] = childIndices;
+        int i = 0;
+        for ( DependencyNode child : childNodes )
+        {
+            childIndices[i++] = index( child );
+        }
+
+        return index;
+    }
+
+    /**
+     * Assigns the conflict ids to the nodes and turns the node indices into the public conflict id map.
+     *
+     * @param conflictIds The conflict id per node index, {@code -1} for nodes without a dependency.
+     * @param conflictIdCount The number of distinct conflict ids.
+     * @return The public node to conflict id mapping, uses reference equality for the keys.
+     */
+    Map<DependencyNode, Object> setConflictIds( int[] conflictIds, int conflictIdCount )
+    {
+        this.conflictIds = conflictIds;
+        conflictIdKeys = new Integer[conflictIdCount];
+        for ( int i = 0; i < conflictIdCount; i++ )
+        {
+            conflictIdKeys[i] = i;
+        }
+        Map<DependencyNode, Object> map = indices;
+        indices = null;
+        for ( Iterator<Map.Entry<DependencyNode, Object>> it = map.entrySet().iterator(); it.hasNext(); )
+        {
+            Map.Entry<DependencyNode, Object> entry = it.next();
+            int id = conflictIds[(Integer) entry.getValue()];
+            if ( id < 0 )
+            {
+                it.remove();
+            }
+            else
+            {
+                entry.setValue( conflictIdKeys[id] );
+            }
+        }
+        conflictIdMap = new WeakReference<>( map );
+        return map;
+    }
+
+}
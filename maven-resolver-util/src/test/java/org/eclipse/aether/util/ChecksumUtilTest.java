@@ -201,6 +201,16 @@ public class ChecksumUtilTest
         assertTrue( "ChecksumUtils leaks file handles (cannot delete checksum.empty)", file.delete() );
     }
 
+    @Test
+    public void testParse()
+    {
+        assertEquals( "", ChecksumUtils.parse( "" ) );
+        assertEquals( "da39a3ee5e6b4b0d3255bfef95601890afd80709",
+                      ChecksumUtils.parse( "\n  da39a3ee5e6b4b0d3255bfef95601890afd80709  file.txt\n" ) );
+        assertEquals( "da39a3ee5e6b4b0d3255bfef95601890afd80709",
+                      ChecksumUtils.parse( "SHA1(file.txt)= da39a3ee5e6b4b0d3255bfef95601890afd80709" ) );
+    }
+
     @Test
     public void testToHexString()
     {
@@ -22,13 +22,18 @@ package org.eclipse.aether.util.graph.transformer;
 import static org.junit.Assert.*;
 
 import java.util.Collection;
+import java.util.IdentityHashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Queue;
 
 import org.eclipse.aether.collection.DependencyGraphTransformer;
+import org.eclipse.aether.graph.DefaultDependencyNode;
+import org.eclipse.aether.graph.Dependency;
 import org.eclipse.aether.graph.DependencyNode;
 import org.eclipse.aether.internal.test.util.DependencyGraphParser;
+import org.eclipse.aether.internal.test.util.TestUtils;
 import org.eclipse.aether.util.graph.transformer.ConflictIdSorter;
 import org.eclipse.aether.util.graph.transformer.TransformationContextKeys;
 import org.junit.Test;
@@ -126,4 +131,49 @@ public class ConflictIdSorterTest
         expectCycle( false );
     }
 
+    @Test
+    public void testIndexedGraphMatchesNodeWalk()
+        throws Exception
+    {
+        DependencyNode node = parseResource( "cycles.txt" );
+
+        context = TestUtils.newTransformationContext( session );
+        new ConflictMarker().transformGraph( node, context );
+        Map<?, ?> conflictIds = (Map<?, ?>) context.get( TransformationContextKeys.CONFLICT_IDS );
+        assertNotNull( IndexedDependencyGraph.get( context, conflictIds ) );
+        new ConflictIdSorter().transformGraph( node, context );
+        Object indexedSorted = context.get( TransformationContextKeys.SORTED_CONFLICT_IDS );
+        Object indexedCycles = context.get( TransformationContextKeys.CYCLIC_CONFLICT_IDS );
+
+        context = TestUtils.newTransformationContext( session );
+        context.put( TransformationContextKeys.CONFLICT_IDS, new IdentityHashMap<>( conflictIds ) );
+        new ConflictIdSorter().transformGraph( node, context );
+
+        assertEquals( context.get( TransformationContextKeys.SORTED_CONFLICT_IDS ), indexedSorted );
+        assertEquals( context.get( TransformationContextKeys.CYCLIC_CONFLICT_IDS ), indexedCycles );
+    }
+
+    @Test
+    public void testIndexedGraphWithChildWithoutDependency()
+        throws Exception
+    {
+        DependencyNode node = parseResource( "simple.txt" );
+        DependencyNode child = new DefaultDependencyNode( (Dependency) null );
+        child.setChildren( new LinkedList<>( node.getChildren() ) );
+        node.getChildren().add( child );
+
+        context = TestUtils.newTransformationContext( session );
+        new ConflictMarker().transformGraph( node, context );
+        Map<?, ?> conflictIds = (Map<?, ?>) context.get( TransformationContextKeys.CONFLICT_IDS );
+        assertNotNull( IndexedDependencyGraph.get( context, conflictIds ) );
+        new ConflictIdSorter().transformGraph( node, context );
+        Object indexedSorted = context.get( TransformationContextKeys.SORTED_CONFLICT_IDS );
+
+        context = TestUtils.newTransformationContext( session );
+        context.put( TransformationContextKeys.CONFLICT_IDS, new IdentityHashMap<>( conflictIds ) );
+        new ConflictIdSorter().transformGraph( node, context );
+
+        assertEquals( context.get( TransformationContextKeys.SORTED_CONFLICT_IDS ), indexedSorted );
+    }
+
 }
@@ -119,4 +119,26 @@ public class ConflictMarkerTest
         assertSame( ids.get( root.getChildren().get( 1 ) ), ids.get( root.getChildren().get( 2 ) ) );
     }
 
+    @Test
+    public void testIndexedGraph()
+        throws Exception
+    {
+        DependencyNode root = parseResource( "relocation3.txt" );
+
+        assertSame( root, transform( root ) );
+
+        Map<?, ?> ids = (Map<?, ?>) context.get( TransformationContextKeys.CONFLICT_IDS );
+        IndexedDependencyGraph graph = IndexedDependencyGraph.get( context, ids );
+        assertNotNull( graph );
+
+        assertEquals( 4, graph.nodeCount );
+        assertSame( root, graph.nodes[0] );
+        assertArrayEquals( new int[] { 1, 2, 3 }, graph.children[0] );
+        assertEquals( -1, graph.conflictIds[0] );
+        for ( int i = 1; i < graph.nodeCount; i++ )
+        {
+            assertSame( graph.conflictIdKeys[graph.conflictIds[i]], ids.get( graph.nodes[i] ) );
+        }
+    }
+
 }